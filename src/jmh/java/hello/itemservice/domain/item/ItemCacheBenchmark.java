@@ -0,0 +1,159 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Zipf 분포(소수의 상품에 조회가 몰림)로 findById 를 호출할 때 CachingItemStore 유무 비교
+ * - cacheSize=0 이면 캐시 없이 저장소를 바로 조회한다.
+ * - missCost 는 캐시를 거치지 않은 조회 한 번에 더하는 CPU 비용(Blackhole.consumeCPU 토큰)이다. 원격 저장소 흉내
+ * 적중률은 반복(iteration)이 끝날 때 출력한다.
+ * 실행: ./gradlew jmh -PjmhIncludes=ItemCacheBenchmark
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class ItemCacheBenchmark {
+
+    private static final int KEYS = 1 << 20;
+
+    @Param({"0", "1000", "10000"})
+    int cacheSize;
+
+    @Param({"0.8", "1.1"})
+    double skew;
+
+    @Param({"0", "1000"})
+    int missCost;
+
+    @Param({"100000"})
+    int storeSize;
+
+    ItemRepository itemRepository;
+    CachingItemStore cache;
+    long[] keys;
+
+    @Setup
+    public void setUp() {
+        ItemStore store = new CostlyItemStore(new MapItemStore(), missCost);
+        if (cacheSize > 0) {
+            cache = new CachingItemStore(store, cacheSize, Long.MAX_VALUE);
+            store = cache;
+        }
+        itemRepository = new ItemRepository(store, false);
+        for (int i = 0; i < storeSize; i++) {
+            itemRepository.save(new Item("item" + i, 1000 + i % 999000, i % 9999));
+        }
+        keys = zipf(storeSize, skew, KEYS, new Random(42));
+    }
+
+    @TearDown(Level.Iteration)
+    public void printHitRatio() {
+        if (cache != null) {
+            System.out.printf("%n hitRatio=%.3f size=%d evictions=%d%n",
+                    cache.hitRatio(), cache.size(), cache.getEvictionCount());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next = new Random().nextInt(KEYS);
+    }
+
+    @Benchmark
+    public Item findById(Cursor cursor) {
+        long id = keys[cursor.next];
+        cursor.next = (cursor.next + 1) & (KEYS - 1);
+        return itemRepository.findById(id);
+    }
+
+    /**
+     * 1 ~ n 중 순위 k 가 1 / k^skew 에 비례하는 확률로 뽑히는 id 를 count 개 만든다. (순위와 id 는 섞는다)
+     */
+    static long[] zipf(int n, double skew, int count, Random random) {
+        double[] cumulative = new double[n];
+        double sum = 0;
+        for (int k = 1; k <= n; k++) {
+            sum += 1 / Math.pow(k, skew);
+            cumulative[k - 1] = sum;
+        }
+
+        long[] idOfRank = new long[n];
+        for (int i = 0; i < n; i++) {
+            idOfRank[i] = i + 1;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long tmp = idOfRank[i];
+            idOfRank[i] = idOfRank[j];
+            idOfRank[j] = tmp;
+        }
+
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            keys[i] = idOfRank[rank < 0 ? -rank - 1 : rank];
+        }
+        return keys;
+    }
+
+    /**
+     * get 마다 missCost 만큼 CPU 를 쓰고 delegate 에 위임하는 저장소
+     */
+    static class CostlyItemStore implements ItemStore {
+
+        private final ItemStore delegate;
+        private final int cost;
+
+        CostlyItemStore(ItemStore delegate, int cost) {
+            this.delegate = delegate;
+            this.cost = cost;
+        }
+
+        @Override
+        public void put(Item item) {
+            delegate.put(item);
+        }
+
+        @Override
+        public Item get(Long id) {
+            Blackhole.consumeCPU(cost);
+            return delegate.get(id);
+        }
+
+        @Override
+        public List<Item> findAll() {
+            return delegate.findAll();
+        }
+
+        @Override
+        public List<Item> findRange(int offset, int limit) {
+            return delegate.findRange(offset, limit);
+        }
+
+        @Override
+        public List<Item> findAfter(Long afterId, int limit) {
+            return delegate.findAfter(afterId, limit);
+        }
+
+        @Override
+        public Item update(Long id, Item updateParam, Long expectedVersion) {
+            return delegate.update(id, updateParam, expectedVersion);
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+        }
+    }
+}
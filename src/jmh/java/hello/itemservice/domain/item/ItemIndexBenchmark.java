@@ -0,0 +1,52 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * 보조 인덱스 조회와 전체 탐색(item.index.enabled=false) 비교
+ * 실행: ./gradlew jmh -PjmhIncludes=ItemIndexBenchmark
+ */
+@State(Scope.Benchmark)
+public class ItemIndexBenchmark {
+
+    @Param({"true", "false"})
+    boolean indexEnabled;
+
+    @Param({"100000", "1000000"})
+    int storeSize;
+
+    ItemRepository itemRepository;
+    ItemSearchCond priceBand;
+    ItemSearchCond namePrefix;
+
+    @Setup
+    public void setUp() {
+        itemRepository = new ItemRepository(new MapItemStore(), indexEnabled);
+        for (int i = 0; i < storeSize; i++) {
+            itemRepository.save(new Item("item" + i, 1000 + i % 999000, i % 9999));
+        }
+
+        priceBand = new ItemSearchCond();
+        priceBand.setMinPrice(500000);
+        priceBand.setMaxPrice(500100);
+
+        namePrefix = new ItemSearchCond();
+        namePrefix.setItemName("item9999");
+    }
+
+    @Benchmark
+    public List<Item> priceBand() {
+        return itemRepository.search(priceBand, 20);
+    }
+
+    @Benchmark
+    public List<Item> namePrefix() {
+        return itemRepository.search(namePrefix, 20);
+    }
+}
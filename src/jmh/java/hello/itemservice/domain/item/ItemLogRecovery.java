@@ -0,0 +1,75 @@
+package hello.itemservice.domain.item;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 상품 N 개를 변경 로그 저장소에 쓴 뒤, 로그만으로 복구하는 시간과 스냅샷으로 시작하는 시간을 잰다.
+ * 시작 시간에는 ItemRepository 의 인덱스 재구성까지 포함한다.
+ * 실행: ./gradlew itemLogRecovery
+ */
+public class ItemLogRecovery {
+
+    private static final int DISTINCT_NAMES = 10_000;
+    private static final int BATCH = 1000;
+
+    public static void main(String[] args) throws IOException {
+        for (String arg : args) {
+            measure(Integer.parseInt(arg));
+        }
+    }
+
+    private static void measure(int count) throws IOException {
+        Path dir = Files.createTempDirectory("item-log-recovery");
+        try {
+            //쓰기: 닫지 않고 두어서 스냅샷 없이 로그만 남긴다.
+            long started = System.nanoTime();
+            LogItemStore writer = new LogItemStore(new MapItemStore(), dir, true, 0);
+            ItemRepository itemRepository = new ItemRepository(writer);
+            List<Item> batch = new ArrayList<>(BATCH);
+            for (int i = 0; i < count; i++) {
+                batch.add(new Item("item" + (i % DISTINCT_NAMES), 10000 + i % 1000, i % 9999));
+                if (batch.size() == BATCH) {
+                    itemRepository.saveAll(batch);
+                    batch = new ArrayList<>(BATCH);
+                }
+            }
+            itemRepository.saveAll(batch);
+            report("write(saveAll x" + BATCH + ")", count, started);
+
+            //로그 전체 재생
+            started = System.nanoTime();
+            LogItemStore replayed = new LogItemStore(new MapItemStore(), dir, true, 0);
+            report("replay log", count, started);
+            started = System.nanoTime();
+            new ItemRepository(replayed);
+            report("rebuild index", count, started);
+            replayed.close();
+
+            //스냅샷으로 시작
+            started = System.nanoTime();
+            LogItemStore fromSnapshot = new LogItemStore(new MapItemStore(), dir, true, 0);
+            ItemRepository repository = new ItemRepository(fromSnapshot);
+            report("startup(snapshot+index)", count, started);
+            if (repository.findAll().size() != count) {
+                throw new IllegalStateException("복구된 상품 수가 다릅니다.");
+            }
+            fromSnapshot.close();
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static void report(String name, int count, long startedNanos) {
+        long elapsedMillis = (System.nanoTime() - startedNanos) / 1_000_000;
+        System.out.printf("%-24s items=%,d elapsed=%,d ms (%,.0f items/s)%n",
+                name, count, elapsedMillis, count * 1000.0 / Math.max(elapsedMillis, 1));
+    }
+}
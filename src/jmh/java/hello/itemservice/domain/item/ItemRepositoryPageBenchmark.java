@@ -0,0 +1,50 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * 저장소 크기가 커져도 페이지 조회 비용은 일정해야 한다. (findAll 과 비교)
+ * 실행: ./gradlew jmh -PjmhIncludes=ItemRepositoryPageBenchmark
+ */
+@State(Scope.Benchmark)
+public class ItemRepositoryPageBenchmark {
+
+    @Param({"map", "columnar"})
+    String storeType;
+
+    @Param({"1000", "100000", "1000000"})
+    int storeSize;
+
+    ItemRepository itemRepository;
+    Long middleCursor;
+
+    @Setup
+    public void setUp() {
+        itemRepository = new ItemRepository("map".equals(storeType) ? new MapItemStore() : new ColumnarItemStore());
+        for (int i = 0; i < storeSize; i++) {
+            itemRepository.save(new Item("item" + i, 10000, 10));
+        }
+        middleCursor = (long) storeSize / 2;
+    }
+
+    @Benchmark
+    public List<Item> findAll() {
+        return itemRepository.findAll();
+    }
+
+    @Benchmark
+    public ItemPage firstPage() {
+        return itemRepository.findPage(null, 20);
+    }
+
+    @Benchmark
+    public ItemPage middlePage() {
+        return itemRepository.findPage(middleCursor, 20);
+    }
+}
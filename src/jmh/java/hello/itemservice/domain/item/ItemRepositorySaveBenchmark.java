@@ -0,0 +1,52 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * 스레드 수에 따른 ItemRepository.save 처리량 비교 (ConcurrentHashMap + AtomicLong 시퀀스)
+ * 저장소가 계속 커지지 않도록 반복(iteration)마다 비운다.
+ * 실행: ./gradlew jmh -PjmhIncludes=ItemRepositorySaveBenchmark
+ */
+@State(Scope.Benchmark)
+public class ItemRepositorySaveBenchmark {
+
+    ItemRepository itemRepository = new ItemRepository();
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        itemRepository.clearStore();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Item save1() {
+        return save();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Item save2() {
+        return save();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Item save4() {
+        return save();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Item save8() {
+        return save();
+    }
+
+    private Item save() {
+        return itemRepository.save(new Item("item", 10000, 10));
+    }
+}
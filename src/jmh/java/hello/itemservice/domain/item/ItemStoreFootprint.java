@@ -0,0 +1,45 @@
+package hello.itemservice.domain.item;
+
+/**
+ * 저장소 구현체별로 상품 N 개를 담았을 때의 힙 사용량을 비교한다.
+ * 상품명은 10,000 종류를 반복해서 사용한다. 보조 인덱스는 끄고 저장소만 잰다.
+ * 실행: ./gradlew itemStoreFootprint
+ */
+public class ItemStoreFootprint {
+
+    private static final int DISTINCT_NAMES = 10_000;
+
+    public static void main(String[] args) {
+        for (String arg : args) {
+            int count = Integer.parseInt(arg);
+            measure("map", count, new MapItemStore());
+            measure("columnar", count, new ColumnarItemStore());
+        }
+    }
+
+    private static void measure(String name, int count, ItemStore store) {
+        long before = usedHeap();
+
+        ItemRepository itemRepository = new ItemRepository(store, false);
+        for (int i = 0; i < count; i++) {
+            itemRepository.save(new Item("item" + (i % DISTINCT_NAMES), 10000 + i % 1000, i % 9999));
+        }
+
+        long after = usedHeap();
+        System.out.printf("%-8s items=%,d used=%,d bytes (%.1f bytes/item)%n",
+                name, count, after - before, (double) (after - before) / count);
+
+        // 측정이 끝날 때까지 저장소가 수거되지 않도록 유지
+        if (itemRepository.findById(1L) == null) {
+            throw new IllegalStateException();
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
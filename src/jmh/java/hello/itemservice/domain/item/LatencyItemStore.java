@@ -0,0 +1,72 @@
+package hello.itemservice.domain.item;
+
+import java.util.List;
+
+/**
+ * 원격 저장소처럼 호출마다 latencyMillis 만큼 스레드를 막은 뒤 delegate 에 위임하는 부하 테스트용 저장소
+ */
+public class LatencyItemStore implements ItemStore {
+
+    private final ItemStore delegate;
+    private final long latencyMillis;
+
+    public LatencyItemStore(ItemStore delegate, long latencyMillis) {
+        this.delegate = delegate;
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public void put(Item item) {
+        sleep();
+        delegate.put(item);
+    }
+
+    @Override
+    public void putAll(List<Item> items) {
+        sleep();
+        delegate.putAll(items);
+    }
+
+    @Override
+    public Item get(Long id) {
+        sleep();
+        return delegate.get(id);
+    }
+
+    @Override
+    public List<Item> findAll() {
+        sleep();
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Item> findRange(int offset, int limit) {
+        sleep();
+        return delegate.findRange(offset, limit);
+    }
+
+    @Override
+    public List<Item> findAfter(Long afterId, int limit) {
+        sleep();
+        return delegate.findAfter(afterId, limit);
+    }
+
+    @Override
+    public Item update(Long id, Item updateParam, Long expectedVersion) {
+        sleep();
+        return delegate.update(id, updateParam, expectedVersion);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
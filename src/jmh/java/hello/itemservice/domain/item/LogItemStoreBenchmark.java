@@ -0,0 +1,65 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * 변경 로그 저장소의 쓰기 처리량
+ * 스레드가 많을수록 한 번의 fsync 에 여러 레코드가 묶이므로 fsync=true 에서도 처리량이 늘어난다.
+ * 실행: ./gradlew jmh -PjmhIncludes=LogItemStoreBenchmark
+ */
+@State(Scope.Benchmark)
+public class LogItemStoreBenchmark {
+
+    @Param({"true", "false"})
+    boolean fsync;
+
+    Path dir;
+    LogItemStore store;
+    ItemRepository itemRepository;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("item-log-bench");
+        store = new LogItemStore(new MapItemStore(), dir, fsync, 1_000_000);
+        itemRepository = new ItemRepository(store);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Item save1() {
+        return itemRepository.save(new Item("itemA", 10000, 10));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Item save8() {
+        return itemRepository.save(new Item("itemA", 10000, 10));
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Item save32() {
+        return itemRepository.save(new Item("itemA", 10000, 10));
+    }
+}
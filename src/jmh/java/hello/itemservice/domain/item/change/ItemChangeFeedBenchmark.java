@@ -0,0 +1,81 @@
+package hello.itemservice.domain.item.change;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemStore;
+import hello.itemservice.domain.item.MapItemStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ItemRepository.save 에 변경 이벤트 발행이 더하는 지연 시간 (feed=none 이 기준)
+ * - sink 는 받은 개수만 센다. 전달 스레드가 따라오지 못하면 drop 은 버린 개수가, block 은 기다린 시간이 늘어난다.
+ * - 반복(iteration)마다 저장소를 비우고, 끝날 때 버린 개수와 지연(lag)을 출력한다.
+ * 실행: ./gradlew jmh -PjmhIncludes=ItemChangeFeedBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+public class ItemChangeFeedBenchmark {
+
+    @Param({"none", "drop", "block"})
+    String feed;
+
+    @Param({"2"})
+    int stripes;
+
+    ItemRepository itemRepository;
+    ItemChangeFeed changeFeed;
+    final LongAdder received = new LongAdder();
+
+    @Setup
+    public void setUp() {
+        ItemStore store = new MapItemStore();
+        if (!feed.equals("none")) {
+            ItemChangeSink countingSink = changes -> received.add(changes.size());
+            changeFeed = new ItemChangeFeed(List.of(countingSink), stripes, 8192, 256,
+                    feed.equals("drop") ? ItemChangeFeed.Overflow.DROP : ItemChangeFeed.Overflow.BLOCK);
+            store = new ChangeFeedItemStore(store, changeFeed);
+        }
+        itemRepository = new ItemRepository(store, false);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        if (changeFeed != null) {
+            System.out.printf("%n received=%,d dropped=%,d blocked=%,d lag=%,d%n", received.sum(),
+                    changeFeed.getDroppedCount(), changeFeed.getBlockedCount(), changeFeed.getLag());
+        }
+        itemRepository.clearStore();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (changeFeed != null) {
+            changeFeed.close();
+        }
+    }
+
+    @Benchmark
+    public Item save() {
+        return itemRepository.save(new Item("item", 10000, 10));
+    }
+}
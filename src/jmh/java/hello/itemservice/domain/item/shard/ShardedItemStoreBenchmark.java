@@ -0,0 +1,68 @@
+package hello.itemservice.domain.item.shard;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemStore;
+import hello.itemservice.domain.item.MapItemStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 동시 저장 처리량을 shard 수별로 비교한다. (shards=0 은 MapItemStore 하나와 전역 sequence)
+ * 인덱스는 끄고 저장소와 id 발급만 잰다. 반복(iteration)마다 저장소를 비운다.
+ * 스레드 수를 바꿔 보려면: ./gradlew jmh -PjmhIncludes=ShardedItemStoreBenchmark (또는 JMH 의 -t 옵션)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+public class ShardedItemStoreBenchmark {
+
+    @Param({"0", "1", "2", "4", "8"})
+    int shards;
+
+    @Param({"1024"})
+    int blockSize;
+
+    ItemRepository itemRepository;
+
+    @Setup
+    public void setUp() {
+        ItemStore store = new MapItemStore();
+        if (shards > 0) {
+            List<ItemStore> stores = new ArrayList<>();
+            for (int i = 0; i < shards; i++) {
+                stores.add(new MapItemStore());
+            }
+            store = new ShardedItemStore(stores, new BlockShardRouter(shards, blockSize));
+        }
+        itemRepository = new ItemRepository(store, false);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        itemRepository.clearStore();
+    }
+
+    @Benchmark
+    public Item save() {
+        return itemRepository.save(new Item("item", 10000, 10));
+    }
+}
@@ -0,0 +1,64 @@
+package hello.itemservice.message;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.FieldError;
+
+import java.util.Locale;
+
+/**
+ * 여러 스레드에서 동시에 오류 메시지를 만들 때 ResourceBundleMessageSource 와 PrecompiledMessageSource 비교
+ * 실행: ./gradlew jmh -PjmhIncludes=MessageSourceBenchmark
+ */
+@State(Scope.Benchmark)
+@Threads(8)
+public class MessageSourceBenchmark {
+
+    @Param({"resource-bundle", "precompiled"})
+    String source;
+
+    @Param({"ko_KR", "en"})
+    String localeTag;
+
+    MessageSource messageSource;
+    Locale locale;
+    Object[] rangeArgs = {1000, 1000000};
+    FieldError rangeError = new FieldError("item", "price", 100, false,
+            new String[]{"range.item.price", "range.price", "range.java.lang.Integer", "range"},
+            new Object[]{1000, 1000000}, null);
+
+    @Setup
+    public void setUp() {
+        String[] basenames = {"messages", "errors"};
+        if ("precompiled".equals(source)) {
+            messageSource = new PrecompiledMessageSource(basenames, true, getClass().getClassLoader());
+        } else {
+            ResourceBundleMessageSource resourceBundleMessageSource = new ResourceBundleMessageSource();
+            resourceBundleMessageSource.setBasenames(basenames);
+            resourceBundleMessageSource.setDefaultEncoding("UTF-8");
+            messageSource = resourceBundleMessageSource;
+        }
+        locale = Locale.forLanguageTag(localeTag.replace('_', '-'));
+    }
+
+    @Benchmark
+    public String rangeItemPrice() {
+        return messageSource.getMessage("range.item.price", rangeArgs, locale);
+    }
+
+    @Benchmark
+    public String fieldError() {
+        return messageSource.getMessage(rangeError, locale);
+    }
+
+    @Benchmark
+    public String label() {
+        return messageSource.getMessage("label.item.price", null, locale);
+    }
+}
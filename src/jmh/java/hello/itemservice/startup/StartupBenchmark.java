@@ -0,0 +1,139 @@
+package hello.itemservice.startup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 애플리케이션을 새 JVM 으로 반복 실행해서 두 가지 시간을 잰다.
+ * - 준비 완료: 프로세스 시작부터 "Started ItemServiceApplication" 로그까지
+ * - 첫 응답: 프로세스 시작부터 /validation/v3/items 가 처음 200 을 돌려줄 때까지
+ * 기본 설정, fast-startup 프로필, fast-startup + CDS 아카이브(있을 때만)를 비교한다.
+ * 실행: ./gradlew startupBenchmark (CDS 포함: ./gradlew cdsArchive startupBenchmark)
+ */
+public class StartupBenchmark {
+
+    private static final String MAIN_CLASS = "hello.itemservice.ItemServiceApplication";
+    private static final String READY_LOG = "Started ItemServiceApplication";
+    private static final String FIRST_REQUEST = "/validation/v3/items";
+    private static final long TIMEOUT_MILLIS = 60_000;
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        String classpath = System.getProperty("startup.classpath");
+        Path cdsArchive = Paths.get(System.getProperty("startup.cds-archive", "build/cds/app.jsa"));
+
+        measure("default", runs, classpath, List.of());
+        measure("fast-startup", runs, classpath, List.of("-Dspring.profiles.active=fast-startup"));
+        if (Files.exists(cdsArchive)) {
+            measure("fast-startup+cds", runs, classpath, List.of("-Dspring.profiles.active=fast-startup",
+                    "-Xshare:auto", "-XX:SharedArchiveFile=" + cdsArchive));
+        } else {
+            System.out.println("CDS 아카이브가 없어 건너뜁니다: " + cdsArchive + " (./gradlew cdsArchive)");
+        }
+    }
+
+    private static void measure(String name, int runs, String classpath, List<String> jvmArgs) throws Exception {
+        run(classpath, jvmArgs); //디스크 캐시 워밍업, 결과는 버린다.
+        List<Long> ready = new ArrayList<>();
+        List<Long> firstResponse = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            long[] result = run(classpath, jvmArgs);
+            ready.add(result[0]);
+            firstResponse.add(result[1]);
+        }
+        System.out.printf("%-18s ready: %s / first response: %s%n", name, summary(ready), summary(firstResponse));
+    }
+
+    /**
+     * @return {준비 완료 ms, 첫 응답 ms}
+     */
+    private static long[] run(String classpath, List<String> jvmArgs) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.addAll(Arrays.asList("-cp", classpath, MAIN_CLASS, "--server.port=" + port));
+
+        long startedAt = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try {
+            CompletableFuture<Long> ready = CompletableFuture.supplyAsync(() -> waitForLog(process, startedAt));
+            long firstResponse = waitForResponse(process, port, startedAt);
+            return new long[]{ready.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS), firstResponse};
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static long waitForLog(Process process, long startedAt) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            long readyMillis = -1;
+            while ((line = reader.readLine()) != null) {
+                if (readyMillis < 0 && line.contains(READY_LOG)) {
+                    readyMillis = elapsedMillis(startedAt);
+                }
+            }
+            //프로세스가 끝날 때까지 출력을 계속 읽어야 파이프가 막히지 않는다.
+            return readyMillis;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long waitForResponse(Process process, int port, long startedAt) throws Exception {
+        URL url = new URL("http://localhost:" + port + FIRST_REQUEST);
+        while (elapsedMillis(startedAt) < TIMEOUT_MILLIS) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("애플리케이션이 종료되었습니다. exit=" + process.exitValue());
+            }
+            try {
+                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+                connection.setConnectTimeout(100);
+                if (connection.getResponseCode() == 200) {
+                    connection.getInputStream().readAllBytes();
+                    return elapsedMillis(startedAt);
+                }
+            } catch (IOException e) {
+                //아직 포트가 열리지 않음
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("첫 응답 대기 시간 초과");
+    }
+
+    private static String summary(List<Long> millis) {
+        List<Long> sorted = new ArrayList<>(millis);
+        Collections.sort(sorted);
+        return String.format("median=%,d ms min=%,d ms max=%,d ms",
+                sorted.get(sorted.size() / 2), sorted.get(0), sorted.get(sorted.size() - 1));
+    }
+
+    private static long elapsedMillis(long startedAt) {
+        return (System.nanoTime() - startedAt) / 1_000_000;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package hello.itemservice.web.api;
+
+import hello.itemservice.ItemServiceApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * JSON API 와 V3 HTML 화면의 초당 요청 처리량 비교 (MockMvc 로 네트워크를 제외하고 측정)
+ * 실행: ./gradlew jmh -PjmhIncludes=ApiVsHtmlBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+public class ApiVsHtmlBenchmark {
+
+    static final String INVALID_JSON = "{\"itemName\":\"\",\"price\":10,\"quantity\":10000}";
+
+    ConfigurableApplicationContext context;
+    MockMvc mockMvc;
+
+    @Setup
+    public void setUp() {
+        context = SpringApplication.run(ItemServiceApplication.class, "--server.port=0", "--logging.level.root=warn");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult apiList() throws Exception {
+        return mockMvc.perform(get("/api/items")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult htmlList() throws Exception {
+        return mockMvc.perform(get("/validation/v3/items")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult apiDetail() throws Exception {
+        return mockMvc.perform(get("/api/items/1")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult htmlDetail() throws Exception {
+        return mockMvc.perform(get("/validation/v3/items/1")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult apiInvalidAdd() throws Exception {
+        return mockMvc.perform(post("/api/items").contentType(MediaType.APPLICATION_JSON).content(INVALID_JSON)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult htmlInvalidAdd() throws Exception {
+        return mockMvc.perform(post("/validation/v3/items/add")
+                .param("itemName", "")
+                .param("price", "10")
+                .param("quantity", "10000")).andReturn();
+    }
+}
@@ -0,0 +1,149 @@
+package hello.itemservice.web.async;
+
+import hello.itemservice.ItemServiceApplication;
+import hello.itemservice.domain.item.ItemStore;
+import hello.itemservice.domain.item.LatencyItemStore;
+import hello.itemservice.domain.item.MapItemStore;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 저장소 호출마다 지연이 있는 상태(LatencyItemStore)에서 톰캣 스레드 수를 적게 두고,
+ * 동기 실행과 비동기 실행(handler.async.executor=platform, virtual)의 처리량과 응답 시간을 비교한다.
+ * virtual 은 Java 21 이상에서 실행할 때만 측정한다.
+ * 실행: ./gradlew asyncHandlerLoadTest  (Java 21 로 실행: -PloadTestJava=21)
+ * 인자: 저장소 지연(ms) 동시 사용자 수 측정 시간(초) 톰캣 스레드 수
+ */
+public class AsyncHandlerLoadTest {
+
+    private static final String PATH = "/validation/v3/items/1";
+
+    public static void main(String[] args) throws Exception {
+        long latencyMillis = args.length > 0 ? Long.parseLong(args[0]) : 20;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int tomcatThreads = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+
+        System.out.printf("latency=%dms concurrency=%d duration=%ds tomcatThreads=%d java=%s%n",
+                latencyMillis, concurrency, seconds, tomcatThreads, Runtime.version());
+        run("sync", latencyMillis, concurrency, seconds, tomcatThreads, "--handler.async.enabled=false");
+        run("async(platform)", latencyMillis, concurrency, seconds, tomcatThreads,
+                "--handler.async.enabled=true", "--handler.async.executor=platform", "--handler.async.threads=" + concurrency);
+        if (Runtime.version().feature() >= 21) {
+            run("async(virtual)", latencyMillis, concurrency, seconds, tomcatThreads,
+                    "--handler.async.enabled=true", "--handler.async.executor=virtual");
+        }
+    }
+
+    private static void run(String mode, long latencyMillis, int concurrency, int seconds, int tomcatThreads,
+                            String... modeArgs) throws Exception {
+        List<String> appArgs = new ArrayList<>(List.of("--server.port=0", "--logging.level.root=warn",
+                "--server.tomcat.threads.max=" + tomcatThreads, "--page.cache.enabled=false",
+                "--item.store=latency")); //ItemStoreConfig 의 저장소 대신 아래에서 등록한 LatencyItemStore 사용
+        appArgs.addAll(Arrays.asList(modeArgs));
+        ItemStore store = new LatencyItemStore(new MapItemStore(), latencyMillis);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ItemServiceApplication.class)
+                .initializers(ctx -> ctx.getBeanFactory().registerSingleton("itemStore", store))
+                .run(appArgs.toArray(new String[0]));
+
+        try {
+            URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + PATH);
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+
+            //워밍업 후 측정
+            load(client, request, concurrency, Math.max(1, seconds / 5));
+            long started = System.nanoTime();
+            Result result = load(client, request, concurrency, seconds);
+            double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+            long[] latencies = result.sortedLatencies();
+            System.out.printf("%-16s requests=%,d errors=%,d throughput=%,.0f req/s p50=%.1fms p99=%.1fms max=%.1fms%n",
+                    mode, latencies.length, result.errors, latencies.length / elapsedSeconds,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 1.0));
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Result load(HttpClient client, HttpRequest request, int concurrency, int seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        ExecutorService users = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(users.submit(() -> {
+                    Result result = new Result();
+                    while (System.nanoTime() < deadline) {
+                        long startedAt = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 200) {
+                                result.add(System.nanoTime() - startedAt);
+                            } else {
+                                result.errors++;
+                            }
+                        } catch (Exception e) {
+                            result.errors++;
+                        }
+                    }
+                    return result;
+                }));
+            }
+
+            Result total = new Result();
+            for (Future<Result> future : futures) {
+                total.merge(future.get());
+            }
+            return total;
+        } finally {
+            users.shutdownNow();
+        }
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+
+    private static final class Result {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void add(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        void merge(Result other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.latencies[i]);
+            }
+            errors += other.errors;
+        }
+
+        long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
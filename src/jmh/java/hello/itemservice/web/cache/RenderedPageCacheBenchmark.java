@@ -0,0 +1,86 @@
+package hello.itemservice.web.cache;
+
+import hello.itemservice.ItemServiceApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.DefaultMockMvcBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * 렌더링 결과 캐시를 켜고 끈 상태에서 상품 목록, 상세 화면의 응답 시간 비교 (MockMvc 로 네트워크를 제외하고 측정)
+ * 끝나면 캐시 적중률을 출력한다.
+ * 실행: ./gradlew jmh -PjmhIncludes=RenderedPageCacheBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RenderedPageCacheBenchmark {
+
+    @Param({"true", "false"})
+    boolean cacheEnabled;
+
+    ConfigurableApplicationContext context;
+    RenderedPageCacheFilter filter;
+    MockMvc mockMvc;
+    String detailEtag;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = SpringApplication.run(ItemServiceApplication.class, "--server.port=0", "--logging.level.root=warn",
+                "--page.cache.enabled=" + cacheEnabled);
+        DefaultMockMvcBuilder builder = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context);
+        filter = context.getBeanProvider(RenderedPageCacheFilter.class).getIfAvailable();
+        if (filter != null) {
+            builder.addFilters(filter);
+        }
+        mockMvc = builder.build();
+        detailEtag = mockMvc.perform(get("/validation/v3/items/1")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (filter != null) {
+            long hits = filter.getHitCount();
+            long total = hits + filter.getMissCount();
+            System.out.printf("%npage cache hit=%d miss=%d notModified=%d hitRate=%.2f%%%n",
+                    hits, filter.getMissCount(), filter.getNotModifiedCount(), total == 0 ? 0 : 100.0 * hits / total);
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult list() throws Exception {
+        return mockMvc.perform(get("/validation/v3/items")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult detail() throws Exception {
+        return mockMvc.perform(get("/validation/v3/items/1")).andReturn();
+    }
+
+    /**
+     * 캐시를 끄면 ETag 가 없으므로 detail 과 같다.
+     */
+    @Benchmark
+    public MvcResult notModified() throws Exception {
+        return mockMvc.perform(get("/validation/v3/items/1").header(HttpHeaders.IF_NONE_MATCH, String.valueOf(detailEtag)))
+                .andReturn();
+    }
+}
@@ -0,0 +1,217 @@
+package hello.itemservice.web.load;
+
+import hello.itemservice.ItemServiceApplication;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 내장 톰캣을 같은 프로세스에서 띄우고 V1, V2, V3 상품 화면에 LoadMix 비율로 요청을 보내서
+ * 시나리오별 처리량(rps)과 p50, p99 응답 시간을 잰다.
+ * - record: 결과를 기준값 파일로 저장한다.
+ * - check: 기준값 파일과 비교해서 threshold 넘게 나빠진 시나리오가 있으면 종료 코드 1 (기준값 파일이 없어도 실패한다)
+ * 예상과 다른 상태 코드(오류 입력인데 302 등)도 오류로 세고, 오류가 있으면 check 는 실패한다.
+ * 실행: ./gradlew itemLoadTest  (기준값 다시 저장: -PloadTestRecord, 빌드 check 에 포함: -PloadTestGate)
+ * 인자: record|check 기준값 파일 측정 시간(초) 동시 사용자 수 허용 비율(%)
+ */
+public class ItemLoadTest {
+
+    private static final int SEED_ITEMS = 1000;
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "check";
+        Path baselineFile = Path.of(args.length > 1 ? args[1] : "loadtest/baseline.properties");
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int concurrency = args.length > 3 ? Integer.parseInt(args[3]) : 32;
+        double threshold = (args.length > 4 ? Integer.parseInt(args[4]) : 20) / 100.0;
+
+        System.out.printf("mode=%s baseline=%s duration=%ds concurrency=%d threshold=%.0f%% java=%s%n",
+                mode, baselineFile, seconds, concurrency, threshold * 100, Runtime.version());
+
+        //기준값 없이 check 하면 비교 대상이 없으므로, 측정하기 전에 실패시킨다.
+        boolean record = "record".equals(mode);
+        if (!record && !Files.exists(baselineFile)) {
+            System.out.println("baseline not found: " + baselineFile + " (record it first with -PloadTestRecord)");
+            System.exit(1);
+        }
+
+        Map<String, Summary> summaries = run(seconds, concurrency);
+        print(summaries);
+
+        long errors = summaries.values().stream().mapToLong(summary -> summary.errors).sum();
+        if (record) {
+            LoadBaseline.write(baselineFile, summaries);
+            System.out.println("baseline saved: " + baselineFile);
+            System.exit(errors == 0 ? 0 : 1);
+        }
+
+        List<String> regressions = LoadBaseline.regressions(LoadBaseline.read(baselineFile), summaries, threshold);
+        regressions.forEach(regression -> System.out.println("REGRESSION " + regression));
+        if (errors > 0) {
+            System.out.println("unexpected responses: " + errors);
+        }
+        System.exit(regressions.isEmpty() && errors == 0 ? 0 : 1);
+    }
+
+    private static Map<String, Summary> run(int seconds, int concurrency) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ItemServiceApplication.class)
+                .run("--server.port=0", "--logging.level.root=warn");
+        try {
+            ItemRepository itemRepository = context.getBean(ItemRepository.class);
+            List<Item> seed = new ArrayList<>(SEED_ITEMS);
+            for (int i = 0; i < SEED_ITEMS; i++) {
+                seed.add(new Item("seed" + i, 10000 + i, 10));
+            }
+            itemRepository.saveAll(seed);
+            long[] itemIds = seed.stream().mapToLong(Item::getId).toArray();
+
+            URI base = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            List<LoadMix.Scenario> scenarios = LoadMix.scenarios();
+
+            //워밍업 후 측정
+            load(client, base, scenarios, itemIds, concurrency, Math.max(1, seconds / 5));
+            long started = System.nanoTime();
+            Stats[] stats = load(client, base, scenarios, itemIds, concurrency, seconds);
+            double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+            Map<String, Summary> summaries = new LinkedHashMap<>();
+            Stats total = new Stats();
+            for (int i = 0; i < scenarios.size(); i++) {
+                summaries.put(scenarios.get(i).name, stats[i].summary(elapsedSeconds));
+                total.merge(stats[i]);
+            }
+            summaries.put("total", total.summary(elapsedSeconds));
+            return summaries;
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Stats[] load(HttpClient client, URI base, List<LoadMix.Scenario> scenarios, long[] itemIds,
+                                int concurrency, int seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        int totalWeight = LoadMix.totalWeight(scenarios);
+        ExecutorService users = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Stats[]>> futures = new ArrayList<>();
+            for (int u = 0; u < concurrency; u++) {
+                Random random = new Random(u);
+                futures.add(users.submit(() -> {
+                    Stats[] stats = newStats(scenarios.size());
+                    while (System.nanoTime() < deadline) {
+                        int index = LoadMix.pick(scenarios, totalWeight, random);
+                        LoadMix.Scenario scenario = scenarios.get(index);
+                        long itemId = itemIds[random.nextInt(itemIds.length)];
+                        long startedAt = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(scenario.request.build(base, itemId),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == scenario.expectedStatus) {
+                                stats[index].add(System.nanoTime() - startedAt);
+                            } else {
+                                stats[index].errors++;
+                            }
+                        } catch (Exception e) {
+                            stats[index].errors++;
+                        }
+                    }
+                    return stats;
+                }));
+            }
+
+            Stats[] total = newStats(scenarios.size());
+            for (Future<Stats[]> future : futures) {
+                Stats[] stats = future.get();
+                for (int i = 0; i < stats.length; i++) {
+                    total[i].merge(stats[i]);
+                }
+            }
+            return total;
+        } finally {
+            users.shutdownNow();
+        }
+    }
+
+    private static void print(Map<String, Summary> summaries) {
+        System.out.printf("%-26s %10s %8s %10s %9s %9s%n", "scenario", "requests", "errors", "rps", "p50(ms)", "p99(ms)");
+        summaries.forEach((name, summary) -> System.out.printf("%-26s %,10d %,8d %,10.1f %9.2f %9.2f%n",
+                name, summary.requests, summary.errors, summary.rps, summary.p50, summary.p99));
+    }
+
+    private static Stats[] newStats(int size) {
+        Stats[] stats = new Stats[size];
+        for (int i = 0; i < size; i++) {
+            stats[i] = new Stats();
+        }
+        return stats;
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+
+    static final class Summary {
+
+        final long requests;
+        final long errors;
+        final double rps;
+        final double p50;
+        final double p99;
+
+        Summary(long requests, long errors, double rps, double p50, double p99) {
+            this.requests = requests;
+            this.errors = errors;
+            this.rps = rps;
+            this.p50 = p50;
+            this.p99 = p99;
+        }
+    }
+
+    private static final class Stats {
+
+        private long[] latencies = new long[256];
+        private int count;
+        private long errors;
+
+        void add(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        void merge(Stats other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.latencies[i]);
+            }
+            errors += other.errors;
+        }
+
+        Summary summary(double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Summary(count, errors, count / elapsedSeconds, percentile(sorted, 0.50), percentile(sorted, 0.99));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package hello.itemservice.web.load;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * 부하 테스트 결과를 기준값 파일(properties)로 저장하고, 새 결과와 비교한다.
+ * 키: 시나리오 이름 + ".rps" / ".p50" / ".p99" (p50, p99 는 ms)
+ */
+final class LoadBaseline {
+
+    private LoadBaseline() {
+    }
+
+    static void write(Path file, Map<String, ItemLoadTest.Summary> summaries) throws IOException {
+        Map<String, String> values = new TreeMap<>();
+        summaries.forEach((name, summary) -> {
+            values.put(name + ".rps", format(summary.rps));
+            values.put(name + ".p50", format(summary.p50));
+            values.put(name + ".p99", format(summary.p99));
+        });
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("#ItemLoadTest 기준값 (java=" + Runtime.version() + ", cpus=" + Runtime.getRuntime().availableProcessors() + ")\n");
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+            }
+        }
+    }
+
+    static Properties read(Path file) throws IOException {
+        Properties baseline = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            baseline.load(reader);
+        }
+        return baseline;
+    }
+
+    /**
+     * 처리량이 기준보다 threshold 비율 넘게 줄었거나, p99 가 기준보다 threshold 비율 넘게 늘어난 시나리오 목록
+     * 기준값에 없는 시나리오는 비교하지 않는다.
+     */
+    static List<String> regressions(Properties baseline, Map<String, ItemLoadTest.Summary> summaries, double threshold) {
+        List<String> regressions = new ArrayList<>();
+        summaries.forEach((name, summary) -> {
+            String rps = baseline.getProperty(name + ".rps");
+            if (rps != null && summary.rps < Double.parseDouble(rps) * (1 - threshold)) {
+                regressions.add(String.format("%s rps %s -> %s", name, rps, format(summary.rps)));
+            }
+            String p99 = baseline.getProperty(name + ".p99");
+            if (p99 != null && summary.p99 > Double.parseDouble(p99) * (1 + threshold)) {
+                regressions.add(String.format("%s p99 %sms -> %sms", name, p99, format(summary.p99)));
+            }
+        });
+        return regressions;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
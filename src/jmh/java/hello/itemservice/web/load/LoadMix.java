@@ -0,0 +1,144 @@
+package hello.itemservice.web.load;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * ItemLoadTest 가 보내는 요청 구성 (V1, V2, V3 마다 같은 비율)
+ * - 목록(첫 페이지, 커서 다음 페이지), 상세, 정상 등록, 수정
+ * - errors.properties 의 코드마다 하나씩 걸리는 잘못된 등록과 타입 오류(가격에 문자)
+ * 이름(v3.add.Range 등)은 기준값 파일의 키로 쓰이므로 바꾸면 기준값을 다시 저장해야 한다.
+ */
+final class LoadMix {
+
+    static final int LIST = 20;
+    static final int DETAIL = 20;
+    static final int ADD = 10;
+    static final int EDIT = 8;
+    static final int INVALID = 2;
+
+    private LoadMix() {
+    }
+
+    static List<Scenario> scenarios() {
+        List<Scenario> scenarios = new ArrayList<>();
+        for (int version = 1; version <= 3; version++) {
+            String v = "v" + version;
+            String items = "/validation/" + v + "/items";
+
+            scenarios.add(get(v + ".list", LIST, (base, id) -> base.resolve(items)));
+            scenarios.add(get(v + ".list.next", LIST / 2, (base, id) -> base.resolve(items + "?after=" + id)));
+            scenarios.add(get(v + ".detail", DETAIL, (base, id) -> base.resolve(items + "/" + id)));
+            scenarios.add(post(v + ".add", ADD, 302, items + "/add", false, "loadItem", "10000", "10"));
+            scenarios.add(post(v + ".edit", EDIT, 302, items + "/{id}/edit", true, "loadItem", "20000", "20"));
+        }
+
+        //V1: 오류 메시지를 직접 만든다. BindingResult 가 없어서 타입 오류는 400
+        addInvalid(scenarios, "v1", "itemName", "", "10000", "10");
+        addInvalid(scenarios, "v1", "price", "loadItem", "100", "10");
+        addInvalid(scenarios, "v1", "quantity", "loadItem", "10000", "10000");
+        addInvalid(scenarios, "v1", "globalError", "loadItem", "1000", "1");
+        scenarios.add(post("v1.add.typeMismatch", INVALID, 400, "/validation/v1/items/add", false, "loadItem", "abc", "10"));
+
+        //V2: ItemValidator 의 오류 코드
+        addInvalid(scenarios, "v2", "required", "", "10000", "10");
+        addInvalid(scenarios, "v2", "range", "loadItem", "100", "10");
+        addInvalid(scenarios, "v2", "max", "loadItem", "10000", "10000");
+        addInvalid(scenarios, "v2", "totalPriceMin", "loadItem", "1000", "1");
+        addInvalid(scenarios, "v2", "typeMismatch", "loadItem", "abc", "10");
+
+        //V3: Bean Validation 오류 코드
+        addInvalid(scenarios, "v3", "NotBlank", "", "10000", "10");
+        addInvalid(scenarios, "v3", "NotNull", "loadItem", "", "10");
+        addInvalid(scenarios, "v3", "Range", "loadItem", "100", "10");
+        addInvalid(scenarios, "v3", "Max", "loadItem", "10000", "10000");
+        addInvalid(scenarios, "v3", "totalPriceMin", "loadItem", "1000", "1");
+        addInvalid(scenarios, "v3", "typeMismatch", "loadItem", "abc", "10");
+        scenarios.add(new Scenario("v3.edit.versionConflict", INVALID, 200, (base, id) ->
+                form(base.resolve("/validation/v3/items/" + id + "/edit"),
+                        "id", String.valueOf(id), "itemName", "loadItem", "price", "20000", "quantity", "20", "version", "0")));
+        return scenarios;
+    }
+
+    /**
+     * weight 비율로 시나리오 하나를 골라 그 위치를 돌려준다.
+     */
+    static int pick(List<Scenario> scenarios, int totalWeight, Random random) {
+        int r = random.nextInt(totalWeight);
+        for (int i = 0; i < scenarios.size(); i++) {
+            r -= scenarios.get(i).weight;
+            if (r < 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("weight 합계가 맞지 않습니다. " + totalWeight);
+    }
+
+    static int totalWeight(List<Scenario> scenarios) {
+        return scenarios.stream().mapToInt(scenario -> scenario.weight).sum();
+    }
+
+    private static void addInvalid(List<Scenario> scenarios, String v, String code,
+                                   String itemName, String price, String quantity) {
+        scenarios.add(post(v + ".add." + code, INVALID, 200, "/validation/" + v + "/items/add", false, itemName, price, quantity));
+    }
+
+    private static Scenario get(String name, int weight, UriFactory uri) {
+        return new Scenario(name, weight, 200, (base, id) -> HttpRequest.newBuilder(uri.build(base, id)).GET().build());
+    }
+
+    /**
+     * path 의 {id} 는 요청마다 고른 상품 id 로 바뀐다. withId 면 폼에 id 도 넣는다. (V3 수정 폼은 id 필수)
+     */
+    private static Scenario post(String name, int weight, int expectedStatus, String path, boolean withId,
+                                 String itemName, String price, String quantity) {
+        return new Scenario(name, weight, expectedStatus, (base, id) -> {
+            URI uri = base.resolve(path.replace("{id}", String.valueOf(id)));
+            return !withId
+                    ? form(uri, "itemName", itemName, "price", price, "quantity", quantity)
+                    : form(uri, "id", String.valueOf(id), "itemName", itemName, "price", price, "quantity", quantity);
+        });
+    }
+
+    private static HttpRequest form(URI uri, String... keyValues) {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            if (body.length() > 0) {
+                body.append('&');
+            }
+            body.append(keyValues[i]).append('=').append(URLEncoder.encode(keyValues[i + 1], StandardCharsets.UTF_8));
+        }
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    interface UriFactory {
+        URI build(URI base, long itemId);
+    }
+
+    interface RequestFactory {
+        HttpRequest build(URI base, long itemId);
+    }
+
+    static final class Scenario {
+
+        final String name;
+        final int weight;
+        final int expectedStatus;
+        final RequestFactory request;
+
+        Scenario(String name, int weight, int expectedStatus, RequestFactory request) {
+            this.name = name;
+            this.weight = weight;
+            this.expectedStatus = expectedStatus;
+            this.request = request;
+        }
+    }
+}
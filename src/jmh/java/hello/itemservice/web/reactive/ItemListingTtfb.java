@@ -0,0 +1,169 @@
+package hello.itemservice.web.reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.ItemServiceApplication;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품 N 개에서 목록 응답의 첫 바이트까지 시간(TTFB), 전체 시간, 응답 크기, 요청 중 늘어난 힙 최대치를 비교한다.
+ * - 서블릿 V3 HTML 은 페이지(100 개)만 그리므로 한 페이지 기준, JSON API 는 커서로 전체 페이지를 따라간다.
+ * - 서블릿 V3 HTML 전체(/all)는 전체 목록을 먼저 만드는 경우(list)와 커서로 읽으면서 그리는 경우(stream)를 비교한다.
+ * - 리액티브 V3 는 전체 상품을 한 응답으로 흘려보낸다. (HTML, JSON Lines, SSE)
+ * 힙은 1ms 마다 사용량을 읽은 값이라 대략적인 값이고, 같은 JVM 의 클라이언트 버퍼도 포함된다.
+ * 실행: ./gradlew itemListingTtfb
+ */
+public class ItemListingTtfb {
+
+    private static final int RUNS = 3;
+    private static final int SEED_BATCH = 1000;
+
+    private static final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        ConfigurableApplicationContext context = SpringApplication.run(ItemServiceApplication.class,
+                "--server.port=0", "--logging.level.root=warn", "--page.cache.enabled=false");
+        try {
+            seed(context.getBean(ItemRepository.class), count);
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            System.out.printf("items=%,d java=%s%n", count, Runtime.version());
+
+            measure("servlet v3 html (1 page)", () -> fetch(base + "/validation/v3/items?size=100", "text/html"));
+            measure("servlet v3 html all (list)",
+                    () -> fetch(base + "/validation/v3/items/all?stream=false", "text/html"));
+            measure("servlet v3 html all (stream)", () -> fetch(base + "/validation/v3/items/all", "text/html"));
+            measure("servlet api json (pages)", () -> fetchAllPages(base + "/api/items?size=100"));
+            measure("reactive v3 html", () -> fetch(base + "/reactive/v3/items", "text/html"));
+            measure("reactive v3 ndjson", () -> fetch(base + "/reactive/v3/items/stream", "application/x-ndjson"));
+            measure("reactive v3 sse", () -> fetch(base + "/reactive/v3/items/stream", "text/event-stream"));
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void seed(ItemRepository itemRepository, int count) {
+        List<Item> batch = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < count; i++) {
+            batch.add(new Item("item" + i, 10000 + i % 1000, i % 9999));
+            if (batch.size() == SEED_BATCH) {
+                itemRepository.saveAll(batch);
+                batch = new ArrayList<>(SEED_BATCH);
+            }
+        }
+        itemRepository.saveAll(batch);
+    }
+
+    private static void measure(String name, Fetch fetch) throws Exception {
+        fetch.run(); //워밍업
+        Timing best = null;
+        for (int i = 0; i < RUNS; i++) {
+            System.gc();
+            HeapSampler sampler = new HeapSampler();
+            sampler.start();
+            Timing timing = fetch.run();
+            timing.peakHeapBytes = sampler.stopAndGetPeakDelta();
+            if (best == null || timing.totalNanos < best.totalNanos) {
+                best = timing;
+            }
+        }
+        System.out.printf("%-30s ttfb=%8.2fms total=%9.2fms bytes=%,12d peakHeap=+%,.1fMB%n",
+                name, best.ttfbNanos / 1e6, best.totalNanos / 1e6, best.bytes, best.peakHeapBytes / 1048576.0);
+    }
+
+    private static Timing fetch(String url, String accept) throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).header("Accept", accept).GET().build();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        Timing timing = new Timing();
+        byte[] buffer = new byte[8192];
+        try (InputStream body = response.body()) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                if (timing.bytes == 0) {
+                    timing.ttfbNanos = System.nanoTime() - started;
+                }
+                timing.bytes += read;
+            }
+        }
+        timing.totalNanos = System.nanoTime() - started;
+        return timing;
+    }
+
+    private static Timing fetchAllPages(String url) throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        Timing total = null;
+        String next = url;
+        while (next != null) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(next)).GET().build();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (total == null) {
+                total = new Timing();
+                total.ttfbNanos = System.nanoTime() - started;
+            }
+            total.bytes += response.body().length;
+            JsonNode cursor = objectMapper.readTree(response.body()).get("nextCursor");
+            next = cursor == null || cursor.isNull() ? null : url + "&after=" + cursor.asLong();
+        }
+        total.totalNanos = System.nanoTime() - started;
+        return total;
+    }
+
+    private interface Fetch {
+        Timing run() throws Exception;
+    }
+
+    private static final class Timing {
+        private long ttfbNanos;
+        private long totalNanos;
+        private long bytes;
+        private long peakHeapBytes;
+    }
+
+    private static final class HeapSampler extends Thread {
+
+        private final long baseline = memory.getHeapMemoryUsage().getUsed();
+        private final AtomicLong peak = new AtomicLong(baseline);
+        private final AtomicBoolean running = new AtomicBoolean(true);
+
+        HeapSampler() {
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (running.get()) {
+                peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        long stopAndGetPeakDelta() throws InterruptedException {
+            running.set(false);
+            join();
+            return peak.get() - baseline;
+        }
+    }
+}
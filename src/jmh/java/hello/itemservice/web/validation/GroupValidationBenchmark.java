@@ -0,0 +1,82 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 그룹 검증(Item + SaveCheck)과 폼 클래스 검증(ItemSaveForm)의 비용 비교 (gc 프로파일러로 할당량도 함께 측정)
+ * - formClass, group: CompiledBeanValidator 로 미리 만든 검사 목록 사용
+ * - beanValidationFormClass, beanValidationGroup: 매번 Hibernate Validator 로 검증
+ *   (그룹 검증은 요청마다 그룹 순서와 그룹별 제약 메타데이터를 찾는다)
+ * 실행: ./gradlew jmh -PjmhIncludes=GroupValidationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GroupValidationBenchmark {
+
+    @Param({"valid", "invalid"})
+    String input;
+
+    CompiledBeanValidator compiledValidator;
+    SpringValidatorAdapter beanValidator;
+
+    Item item;
+    ItemSaveForm saveForm;
+
+    @Setup
+    public void setUp() {
+        javax.validation.Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        compiledValidator = CompiledBeanValidator.compile(validator, CompiledValidatorConfig.TARGETS);
+        beanValidator = new SpringValidatorAdapter(validator);
+
+        item = "valid".equals(input) ? new Item("itemA", 10000, 10) : new Item("", 100, 10000);
+        saveForm = new ItemSaveForm();
+        saveForm.setItemName(item.getItemName());
+        saveForm.setPrice(item.getPrice());
+        saveForm.setQuantity(item.getQuantity());
+    }
+
+    @Benchmark
+    public BindingResult formClass() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(saveForm, "item");
+        compiledValidator.validate(saveForm, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult group() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        compiledValidator.validate(item, bindingResult, SaveCheck.class);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult beanValidationFormClass() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(saveForm, "item");
+        beanValidator.validate(saveForm, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult beanValidationGroup() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        beanValidator.validate(item, bindingResult, SaveCheck.class);
+        return bindingResult;
+    }
+}
@@ -0,0 +1,192 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.metrics.ValidationMetrics;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.ui.Model;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검증 방식별 비용 비교 (gc 프로파일러로 할당량도 함께 측정)
+ * - v1: 컨트롤러의 Map 기반 검증 (public 핸들러인 edit 를 호출하므로 valid 입력은 저장소 수정 비용이 포함된다)
+ * - v2: ItemValidator + BeanPropertyBindingResult
+ * - v3: Bean Validation(ItemSaveForm) + 컨트롤러마다 복사되어 있던 int 글로벌 오류 검증
+ * - v3Compiled: v3 와 같은 제약 조건과 @TotalPriceMin 을 CompiledBeanValidator 로 한 번에 검증
+ * - inlineTotalPrice, totalPriceRule: 글로벌 오류 검증만 비교 (int 곱셈 vs TotalPriceRule 의 long 곱셈)
+ * - v2FastPath, v3FastPath: FastPathValidator 로 먼저 확인 (valid 면 Errors 를 건드리지 않는다)
+ * - fastPathCheck: BindingResult 없이 값 비교만 (valid 입력의 할당량 0 확인용)
+ * - *WithMessages: 오류 메시지까지 MessageSource 로 해석
+ * 실행: ./gradlew jmh -PjmhIncludes=ValidationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ValidationBenchmark {
+
+    @Param({"valid", "invalid", "globalError"})
+    String input;
+
+    ValidationItemControllerV1 controllerV1;
+    Long v1ItemId;
+    ItemValidator itemValidator;
+    SpringValidatorAdapter beanValidator;
+    CompiledBeanValidator compiledValidator;
+    TotalPriceRule totalPriceRule;
+    FastPathValidator v2FastPathValidator;
+    FastPathValidator v3FastPathValidator;
+    MessageSource messageSource;
+
+    Item item;
+    ItemSaveForm saveForm;
+
+    @Setup
+    public void setUp() {
+        ItemRepository itemRepository = new ItemRepository();
+        v1ItemId = itemRepository.save(new Item("itemA", 10000, 10)).getId();
+        controllerV1 = new ValidationItemControllerV1(itemRepository,
+                new DefaultListableBeanFactory().getBeanProvider(ValidationMetrics.class));
+        itemValidator = new ItemValidator();
+        javax.validation.Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        beanValidator = new SpringValidatorAdapter(validator);
+        compiledValidator = CompiledBeanValidator.compile(validator, ItemSaveForm.class);
+        totalPriceRule = TotalPriceRule.of(ItemSaveForm.class);
+        v2FastPathValidator = new FastPathValidator(itemValidator, compiledValidator);
+        v3FastPathValidator = new FastPathValidator(itemValidator,
+                CompiledBeanValidator.withBeanValidation(validator, ItemSaveForm.class));
+
+        ResourceBundleMessageSource resourceBundleMessageSource = new ResourceBundleMessageSource();
+        resourceBundleMessageSource.setBasenames("messages", "errors");
+        resourceBundleMessageSource.setDefaultEncoding("UTF-8");
+        messageSource = resourceBundleMessageSource;
+
+        if ("valid".equals(input)) {
+            item = new Item("itemA", 10000, 10);
+        } else if ("globalError".equals(input)) {
+            item = new Item("itemA", 1000, 1);
+        } else {
+            item = new Item("", 100, 10000);
+        }
+        saveForm = new ItemSaveForm();
+        saveForm.setItemName(item.getItemName());
+        saveForm.setPrice(item.getPrice());
+        saveForm.setQuantity(item.getQuantity());
+    }
+
+    @Benchmark
+    public Model v1() {
+        Model model = new ExtendedModelMap();
+        controllerV1.edit(v1ItemId, item, model);
+        return model;
+    }
+
+    @Benchmark
+    public BindingResult v2() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        itemValidator.validate(item, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult v3() {
+        BindingResult bindingResult = v3(beanValidator);
+
+        //ValidationItemControllerV3.addItem 에 있던 글로벌 오류 검증
+        Integer resultPrice = inlineTotalPrice();
+        if (resultPrice != null) {
+            bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
+        }
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult v3Compiled() {
+        return v3(compiledValidator);
+    }
+
+    @Benchmark
+    public BindingResult v2FastPath() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        v2FastPathValidator.validate(item, bindingResult);
+        return bindingResult;
+    }
+
+    /**
+     * 오류 경로는 v3 와 같은 Bean Validation 과 TotalPriceRule 로 채운다.
+     */
+    @Benchmark
+    public BindingResult v3FastPath() {
+        return v3(v3FastPathValidator);
+    }
+
+    @Benchmark
+    public boolean fastPathCheck() {
+        return FastPathValidator.passes(saveForm);
+    }
+
+    /**
+     * 규칙을 어기면 현재 합계, 아니면 null (예전 int 계산)
+     */
+    @Benchmark
+    public Integer inlineTotalPrice() {
+        if (saveForm.getPrice() != null && saveForm.getQuantity() != null) {
+            int resultPrice = saveForm.getPrice() * saveForm.getQuantity();
+            if (resultPrice < 10000) {
+                return resultPrice;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Long totalPriceRule() {
+        return totalPriceRule.violation(saveForm);
+    }
+
+    private BindingResult v3(org.springframework.validation.Validator formValidator) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(saveForm, "item");
+        formValidator.validate(saveForm, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public void v2WithMessages(Blackhole blackhole) {
+        resolveMessages(v2(), blackhole);
+    }
+
+    @Benchmark
+    public void v3WithMessages(Blackhole blackhole) {
+        resolveMessages(v3(), blackhole);
+    }
+
+    @Benchmark
+    public void v3CompiledWithMessages(Blackhole blackhole) {
+        resolveMessages(v3Compiled(), blackhole);
+    }
+
+    private void resolveMessages(BindingResult bindingResult, Blackhole blackhole) {
+        for (ObjectError error : bindingResult.getAllErrors()) {
+            blackhole.consume(messageSource.getMessage(error, Locale.KOREA));
+        }
+    }
+}
@@ -3,21 +3,28 @@ package hello.itemservice;
 import hello.itemservice.domain.item.Item;
 import hello.itemservice.domain.item.ItemRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
 
 @Component
+@ConditionalOnProperty(name = "item.shard.server.enabled", havingValue = "false", matchIfMissing = true) //다른 인스턴스의 shard 로 쓰일 때는 넣지 않는다.
+@Lazy(false) //spring.main.lazy-initialization=true 여도 시작할 때 저장소를 준비한다.
 @RequiredArgsConstructor
 public class TestDataInit {
 
     private final ItemRepository itemRepository;
 
     /**
-     * 테스트용 데이터 추가
+     * 테스트용 데이터 추가 (저장소에서 복구한 상품이 있으면 추가하지 않는다)
      */
     @PostConstruct
     public void init() {
+        if (!itemRepository.findPage(null, 1).getItems().isEmpty()) {
+            return;
+        }
         itemRepository.save(new Item("itemA", 10000, 10));
         itemRepository.save(new Item("itemB", 20000, 20));
     }
@@ -0,0 +1,393 @@
+package hello.itemservice.domain.item;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 자주 조회되는 상품을 메모리에 두는 get 캐시 (나머지 메서드는 delegate 에 그대로 위임한다)
+ * - 퇴출: W-TinyLFU. 새 상품은 작은 window(LRU)에 들어가고, window 에서 밀려난 상품은 FrequencySketch 로 추정한
+ *   조회 빈도가 main(SLRU: probation, protected)의 퇴출 후보보다 높을 때만 main 에 남는다. 한 번 훑고 지나가는 조회가
+ *   인기 상품을 밀어내지 않는다.
+ * - 크기: 상품 수(maxEntries)와 대략적인 메모리(maxBytes)를 둘 다 넘지 않게 한다.
+ * - 조회 결과는 ItemSnapshot 이라 여러 요청이 같은 객체를 나눠 써도 값이 바뀌지 않는다.
+ * - put, putAll, update 는 해당 상품을, clear 는 전부를 캐시에서 지운다. 저장소를 읽는 사이에 쓰기가 있었으면
+ *   읽은 값은 돌려주기만 하고 캐시에 넣지 않는다.
+ * 적중한 조회는 ConcurrentHashMap 에서 락 없이 읽고, 접근 기록(LRU 순서, 빈도)은 락을 바로 얻을 때만 남긴다.
+ */
+public class CachingItemStore implements ItemStore, Closeable {
+
+    private static final int WINDOW_PERCENT = 1;
+    private static final int PROTECTED_PERCENT = 80;
+    //Item, 필드 객체, 노드, 맵 항목의 대략적인 크기 (이름 문자는 2 바이트로 따로 더한다)
+    private static final int ENTRY_BYTES = 240;
+
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+    private static final byte REMOVED = 3;
+
+    private final ItemStore delegate;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final int windowMax;
+    private final int protectedMax;
+
+    private final ConcurrentHashMap<Long, Node> nodes = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    //아래 필드는 lock 안에서만 바꾼다.
+    private final FrequencySketch sketch;
+    private final Queue window = new Queue();
+    private final Queue probation = new Queue();
+    private final Queue protectedQueue = new Queue();
+    private int size;
+    private long weight;
+
+    //쓰기마다 증가한다. 저장소를 읽기 전후 값이 다르면 읽은 값을 캐시하지 않는다.
+    private final AtomicLong writes = new AtomicLong();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public CachingItemStore(ItemStore delegate, int maxEntries, long maxBytes) {
+        if (maxEntries <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException("maxEntries, maxBytes 는 0 보다 커야 합니다.");
+        }
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.windowMax = Math.max(1, maxEntries * WINDOW_PERCENT / 100);
+        this.protectedMax = (maxEntries - windowMax) * PROTECTED_PERCENT / 100;
+        this.sketch = new FrequencySketch(maxEntries);
+    }
+
+    @Override
+    public boolean assignIds(List<Item> items) {
+        return delegate.assignIds(items);
+    }
+
+    @Override
+    public Item get(Long id) {
+        if (id == null) {
+            return delegate.get(null);
+        }
+
+        Node node = nodes.get(id);
+        if (node != null) {
+            hitCount.increment();
+            if (lock.tryLock()) {
+                try {
+                    sketch.increment(id);
+                    onAccess(node);
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return node.item;
+        }
+
+        missCount.increment();
+        long generation = writes.get();
+        Item item = delegate.get(id);
+        if (item == null) {
+            return null;
+        }
+        ItemSnapshot snapshot = ItemSnapshot.of(item);
+        lock.lock();
+        try {
+            sketch.increment(id);
+            if (writes.get() == generation && !nodes.containsKey(id)) {
+                insert(new Node(id, snapshot, weigh(snapshot)));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return snapshot;
+    }
+
+    @Override
+    public void put(Item item) {
+        delegate.put(item);
+        invalidate(item.getId());
+    }
+
+    @Override
+    public void putAll(List<Item> items) {
+        delegate.putAll(items);
+        writes.incrementAndGet();
+        lock.lock();
+        try {
+            for (Item item : items) {
+                Node node = nodes.get(item.getId());
+                if (node != null) {
+                    remove(node);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Item update(Long id, Item updateParam, Long expectedVersion) {
+        Item updated = delegate.update(id, updateParam, expectedVersion);
+        if (updated != null) {
+            invalidate(id);
+        }
+        return updated;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        writes.incrementAndGet();
+        lock.lock();
+        try {
+            nodes.clear();
+            window.clear();
+            probation.clear();
+            protectedQueue.clear();
+            size = 0;
+            weight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Long maxId() {
+        return delegate.maxId();
+    }
+
+    @Override
+    public List<Item> findRange(int offset, int limit) {
+        return delegate.findRange(offset, limit);
+    }
+
+    @Override
+    public List<Item> findAfter(Long afterId, int limit) {
+        return delegate.findAfter(afterId, limit);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable) {
+            ((Closeable) delegate).close();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public double hitRatio() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * 캐시된 상품이 차지하는 대략적인 바이트
+     */
+    public long weightedSize() {
+        lock.lock();
+        try {
+            return weight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 쓰기 세대를 먼저 올리고 지워서, 쓰기 전에 읽어 둔 값이 뒤늦게 캐시에 들어가지 않게 한다.
+     */
+    private void invalidate(Long id) {
+        writes.incrementAndGet();
+        lock.lock();
+        try {
+            Node node = nodes.get(id);
+            if (node != null) {
+                remove(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void insert(Node node) {
+        nodes.put(node.id, node);
+        node.queue = WINDOW;
+        window.addFirst(node);
+        size++;
+        weight += node.weight;
+
+        Node candidate = null;
+        if (window.size > windowMax) {
+            candidate = window.removeLast();
+            candidate.queue = PROBATION;
+            probation.addFirst(candidate);
+        }
+        evict(candidate);
+    }
+
+    /**
+     * 한도를 넘은 동안 퇴출한다. window 에서 막 넘어온 candidate 가 있으면 probation 의 가장 오래된 상품과
+     * 조회 빈도를 비교해서 낮은 쪽을 내보낸다.
+     */
+    private void evict(Node candidate) {
+        while (size > maxEntries || weight > maxBytes) {
+            Node victim = probation.peekLast();
+            if (candidate != null && candidate.queue == PROBATION && victim != null && victim != candidate) {
+                if (sketch.frequency(candidate.id) > sketch.frequency(victim.id)) {
+                    remove(victim);
+                } else {
+                    remove(candidate);
+                    candidate = null;
+                }
+            } else {
+                if (victim == null) {
+                    victim = protectedQueue.peekLast() != null ? protectedQueue.peekLast() : window.peekLast();
+                }
+                remove(victim);
+            }
+            evictionCount.increment();
+        }
+    }
+
+    private void onAccess(Node node) {
+        switch (node.queue) {
+            case WINDOW:
+                window.moveToFirst(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protectedQueue.addFirst(node);
+                if (protectedQueue.size > protectedMax) {
+                    Node demoted = protectedQueue.removeLast();
+                    demoted.queue = PROBATION;
+                    probation.addFirst(demoted);
+                }
+                break;
+            case PROTECTED:
+                protectedQueue.moveToFirst(node);
+                break;
+            default:
+                //이미 지워진 노드
+        }
+    }
+
+    private void remove(Node node) {
+        queueOf(node).remove(node);
+        node.queue = REMOVED;
+        nodes.remove(node.id, node);
+        size--;
+        weight -= node.weight;
+    }
+
+    private Queue queueOf(Node node) {
+        switch (node.queue) {
+            case WINDOW:
+                return window;
+            case PROBATION:
+                return probation;
+            case PROTECTED:
+                return protectedQueue;
+            default:
+                throw new IllegalStateException("이미 지워진 노드입니다. id=" + node.id);
+        }
+    }
+
+    private static int weigh(Item item) {
+        String itemName = item.getItemName();
+        return ENTRY_BYTES + (itemName == null ? 0 : itemName.length() * 2);
+    }
+
+    private static final class Node {
+        final Long id;
+        final ItemSnapshot item;
+        final int weight;
+        byte queue;
+        Node prev;
+        Node next;
+
+        Node(Long id, ItemSnapshot item, int weight) {
+            this.id = id;
+            this.item = item;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * 앞쪽이 최근에 접근한 노드인 이중 연결 리스트
+     */
+    private static final class Queue {
+        final Node head = new Node(null, null, 0);
+        int size;
+
+        Queue() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        void addFirst(Node node) {
+            node.prev = head;
+            node.next = head.next;
+            head.next.prev = node;
+            head.next = node;
+            size++;
+        }
+
+        void remove(Node node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        void moveToFirst(Node node) {
+            remove(node);
+            addFirst(node);
+        }
+
+        Node peekLast() {
+            return head.prev == head ? null : head.prev;
+        }
+
+        Node removeLast() {
+            Node last = peekLast();
+            if (last != null) {
+                remove(last);
+            }
+            return last;
+        }
+
+        void clear() {
+            head.prev = head;
+            head.next = head;
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package hello.itemservice.domain.item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 가격, 수량을 int 배열에 나눠 담는 컬럼형 저장소
+ * - id 는 시퀀스로 발급되므로 (id - baseId) 를 배열 위치로 사용하고 따로 저장하지 않는다.
+ *   동시에 저장하면 큰 id 가 먼저 들어올 수 있으므로, baseId 보다 작은 id 가 오면 배열을 앞쪽으로 늘린다.
+ * - 상품명은 사전(dictionary)에 한 번만 저장하고 컬럼에는 코드만 담는다.
+ * - Item 은 조회할 때만 새로 만들어서 돌려준다. (돌려받은 Item 을 수정해도 저장소에는 반영되지 않는다)
+ * - 수정은 쓰기 락 안에서 version 을 확인하고 모든 컬럼을 한 번에 바꾸므로, 조회 시 중간 상태가 보이지 않는다.
+ */
+public class ColumnarItemStore implements ItemStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NULL_NAME = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long baseId = -1;
+    private int[] names = new int[INITIAL_CAPACITY];
+    private int[] prices = new int[INITIAL_CAPACITY];
+    private int[] quantities = new int[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private final BitSet present = new BitSet();
+    private final BitSet nullPrices = new BitSet();
+    private final BitSet nullQuantities = new BitSet();
+
+    private final Map<String, Integer> nameCodes = new HashMap<>();
+    private final List<String> nameDictionary = new ArrayList<>();
+
+    @Override
+    public void put(Item item) {
+        lock.writeLock().lock();
+        try {
+            Long id = item.getId();
+            if (id == null) {
+                throw new IllegalArgumentException("id 가 없는 상품은 저장할 수 없습니다.");
+            }
+            if (baseId < 0) {
+                baseId = id;
+            } else if (id < baseId) {
+                moveBaseTo(id);
+            }
+            int slot = slotOf(id);
+            if (slot < 0) {
+                throw new IllegalArgumentException("id 가 저장소 범위를 벗어났습니다. id=" + item.getId());
+            }
+            ensureCapacity(slot + 1);
+            write(slot, item);
+            present.set(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 락을 한 번만 잡고 모두 저장한다.
+     */
+    @Override
+    public void putAll(List<Item> items) {
+        lock.writeLock().lock();
+        try {
+            items.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Item get(Long id) {
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(id);
+            if (slot < 0 || !present.get(slot)) {
+                return null;
+            }
+            return read(slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> findAll() {
+        lock.readLock().lock();
+        try {
+            List<Item> result = new ArrayList<>(present.cardinality());
+            for (int slot = present.nextSetBit(0); slot >= 0; slot = present.nextSetBit(slot + 1)) {
+                result.add(read(slot));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Long maxId() {
+        lock.readLock().lock();
+        try {
+            int last = present.length() - 1;
+            return last < 0 ? null : baseId + last;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> findRange(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            int slot = present.nextSetBit(0);
+            for (int i = 0; i < offset && slot >= 0; i++) {
+                slot = present.nextSetBit(slot + 1);
+            }
+            return readFrom(slot, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> findAfter(Long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            if (afterId == null || afterId < baseId) {
+                return readFrom(present.nextSetBit(0), limit);
+            }
+            int slot = slotOf(afterId);
+            return slot < 0 ? new ArrayList<>() : readFrom(present.nextSetBit(slot + 1), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Item update(Long id, Item updateParam, Long expectedVersion) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(id);
+            if (slot < 0 || !present.get(slot)) {
+                return null;
+            }
+            if (expectedVersion != null && expectedVersion != versions[slot]) {
+                return null;
+            }
+            long nextVersion = versions[slot] + 1;
+            write(slot, updateParam);
+            versions[slot] = nextVersion;
+            return read(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            baseId = -1;
+            names = new int[INITIAL_CAPACITY];
+            prices = new int[INITIAL_CAPACITY];
+            quantities = new int[INITIAL_CAPACITY];
+            versions = new long[INITIAL_CAPACITY];
+            present.clear();
+            nullPrices.clear();
+            nullQuantities.clear();
+            nameCodes.clear();
+            nameDictionary.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<Item> readFrom(int slot, int limit) {
+        List<Item> result = new ArrayList<>(limit);
+        for (; slot >= 0 && result.size() < limit; slot = present.nextSetBit(slot + 1)) {
+            result.add(read(slot));
+        }
+        return result;
+    }
+
+    private int slotOf(Long id) {
+        if (id == null || baseId < 0) {
+            return -1;
+        }
+        long slot = id - baseId;
+        return slot < 0 || slot >= Integer.MAX_VALUE ? -1 : (int) slot;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= prices.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, prices.length + (prices.length >> 1));
+        names = Arrays.copyOf(names, newCapacity);
+        prices = Arrays.copyOf(prices, newCapacity);
+        quantities = Arrays.copyOf(quantities, newCapacity);
+        versions = Arrays.copyOf(versions, newCapacity);
+    }
+
+    /**
+     * baseId 를 newBaseId 로 낮추고 기존 컬럼을 그만큼 뒤로 옮긴다.
+     */
+    private void moveBaseTo(long newBaseId) {
+        long shift = baseId - newBaseId;
+        if (shift + prices.length >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("id 가 저장소 범위를 벗어났습니다. id=" + newBaseId);
+        }
+        int offset = (int) shift;
+        names = shifted(names, offset);
+        prices = shifted(prices, offset);
+        quantities = shifted(quantities, offset);
+        long[] movedVersions = new long[versions.length + offset];
+        System.arraycopy(versions, 0, movedVersions, offset, versions.length);
+        versions = movedVersions;
+        shift(present, offset);
+        shift(nullPrices, offset);
+        shift(nullQuantities, offset);
+        baseId = newBaseId;
+    }
+
+    private static int[] shifted(int[] column, int offset) {
+        int[] moved = new int[column.length + offset];
+        System.arraycopy(column, 0, moved, offset, column.length);
+        return moved;
+    }
+
+    private static void shift(BitSet bits, int offset) {
+        BitSet copy = (BitSet) bits.clone();
+        bits.clear();
+        for (int i = copy.nextSetBit(0); i >= 0; i = copy.nextSetBit(i + 1)) {
+            bits.set(i + offset);
+        }
+    }
+
+    private void write(int slot, Item item) {
+        names[slot] = encodeName(item.getItemName());
+        prices[slot] = item.getPrice() == null ? 0 : item.getPrice();
+        nullPrices.set(slot, item.getPrice() == null);
+        quantities[slot] = item.getQuantity() == null ? 0 : item.getQuantity();
+        nullQuantities.set(slot, item.getQuantity() == null);
+        versions[slot] = item.getVersion() == null ? 0 : item.getVersion();
+    }
+
+    private Item read(int slot) {
+        int nameCode = names[slot];
+        Item item = new Item(
+                nameCode == NULL_NAME ? null : nameDictionary.get(nameCode),
+                nullPrices.get(slot) ? null : prices[slot],
+                nullQuantities.get(slot) ? null : quantities[slot]);
+        item.setId(baseId + slot);
+        item.setVersion(versions[slot]);
+        return item;
+    }
+
+    private int encodeName(String itemName) {
+        if (itemName == null) {
+            return NULL_NAME;
+        }
+        return nameCodes.computeIfAbsent(itemName, name -> {
+            nameDictionary.add(name);
+            return nameDictionary.size() - 1;
+        });
+    }
+}
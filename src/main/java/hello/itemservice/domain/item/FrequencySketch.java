@@ -0,0 +1,70 @@
+package hello.itemservice.domain.item;
+
+/**
+ * id 별 최근 조회 빈도를 대략 세는 Count-Min Sketch (CachingItemStore 의 입장 심사용)
+ * - 카운터 4 개 중 최솟값이 추정치이고, 카운터는 15 에서 멈춘다.
+ * - 기록이 sampleSize 번 쌓이면 모든 카운터를 절반으로 줄여서 예전 인기 상품이 계속 남지 않게 한다.
+ * 스레드에 안전하지 않다. (CachingItemStore 의 락 안에서만 사용한다)
+ */
+final class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    private final byte[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int maxEntries) {
+        int capacity = Math.min(Math.max(maxEntries, 16), 1 << 26);
+        int width = Integer.highestOneBit(capacity * 4 - 1) << 1;
+        this.table = new byte[width];
+        this.mask = width - 1;
+        this.sampleSize = capacity * 10;
+    }
+
+    int frequency(long key) {
+        long hash = spread(key);
+        int min = MAX_COUNT;
+        for (int i = 0; i < DEPTH; i++) {
+            min = Math.min(min, table[index(hash, i)]);
+        }
+        return min;
+    }
+
+    void increment(long key) {
+        long hash = spread(key);
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = index(hash, i);
+            if (table[index] < MAX_COUNT) {
+                table[index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] >>>= 1;
+        }
+        additions /= 2;
+    }
+
+    private int index(long hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & mask;
+    }
+
+    private static long spread(long key) {
+        long x = key * 0x9E3779B97F4A7C15L;
+        return x ^ (x >>> 31);
+    }
+}
@@ -1,15 +1,35 @@
 package hello.itemservice.domain.item;
 
 import lombok.Data;
+import org.hibernate.validator.constraints.Range;
 
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+/**
+ * 검증 애노테이션은 그룹(SaveCheck, UpdateCheck)을 지정했을 때만 적용된다. (기본 그룹에는 제약 조건이 없다)
+ */
 @Data
+@TotalPriceMin(10000)
 public class Item {
 
+    @NotNull(groups = UpdateCheck.class)
     private Long id;
+
+    @NotBlank(groups = {SaveCheck.class, UpdateCheck.class})
     private String itemName;
+
+    @NotNull(groups = {SaveCheck.class, UpdateCheck.class})
+    @Range(min = 1000, max = 1000000, groups = {SaveCheck.class, UpdateCheck.class})
     private Integer price;
+
+    @NotNull(groups = {SaveCheck.class, UpdateCheck.class})
+    @Max(value = 9999, groups = {SaveCheck.class})
     private Integer quantity;
 
+    private Long version; //저장소에 저장될 때 1, 수정될 때마다 1 씩 증가
+
     public Item() {
     }
 
@@ -18,4 +38,4 @@ public class Item {
         this.price = price;
         this.quantity = quantity;
     }
-}
\ No newline at end of file
+}
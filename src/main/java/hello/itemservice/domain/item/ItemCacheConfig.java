@@ -0,0 +1,80 @@
+package hello.itemservice.domain.item;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+/**
+ * item.cache.enabled=true 면 item.store 로 고른 저장소를 CachingItemStore 로 감싼다. (findById, search 의 상품 조회 캐시)
+ * 조회: /actuator/metrics/item.cache (result=hit, miss), item.cache.evictions, item.cache.hit.ratio,
+ * item.cache.size, item.cache.weight
+ */
+@Configuration
+@ConditionalOnProperty(name = "item.cache.enabled", havingValue = "true")
+public class ItemCacheConfig {
+
+    /**
+     * 다른 ItemStore 데코레이터(ChangeFeedItemStore 등)보다 나중에(바깥에) 감싸서 ItemStore 빈이 항상 CachingItemStore 가 되게 한다.
+     */
+    public static final int POST_PROCESSOR_ORDER = Ordered.LOWEST_PRECEDENCE - 100;
+
+    @Bean
+    public static ItemCachePostProcessor itemCachePostProcessor(Environment environment) {
+        int maxEntries = environment.getProperty("item.cache.max-entries", Integer.class, 10000);
+        long maxBytes = environment.getProperty("item.cache.max-bytes", Long.class, 16L * 1024 * 1024);
+        return new ItemCachePostProcessor(maxEntries, maxBytes);
+    }
+
+    @Bean
+    public MeterBinder itemCacheMetrics(ItemStore itemStore) {
+        return registry -> {
+            if (!(itemStore instanceof CachingItemStore)) {
+                return;
+            }
+            CachingItemStore cache = (CachingItemStore) itemStore;
+            FunctionCounter.builder("item.cache", cache, CachingItemStore::getHitCount)
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("item.cache", cache, CachingItemStore::getMissCount)
+                    .tag("result", "miss").register(registry);
+            FunctionCounter.builder("item.cache.evictions", cache, CachingItemStore::getEvictionCount)
+                    .register(registry);
+            Gauge.builder("item.cache.hit.ratio", cache, CachingItemStore::hitRatio).register(registry);
+            Gauge.builder("item.cache.size", cache, CachingItemStore::size).register(registry);
+            Gauge.builder("item.cache.weight", cache, CachingItemStore::weightedSize)
+                    .baseUnit("bytes").register(registry);
+        };
+    }
+
+    /**
+     * 순서(Ordered)를 가지려면 빈 타입에 드러나야 하므로 익명 클래스 대신 이름을 붙인다.
+     */
+    static final class ItemCachePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final int maxEntries;
+        private final long maxBytes;
+
+        ItemCachePostProcessor(int maxEntries, long maxBytes) {
+            this.maxEntries = maxEntries;
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof ItemStore) || bean instanceof CachingItemStore) {
+                return bean;
+            }
+            return new CachingItemStore((ItemStore) bean, maxEntries, maxBytes);
+        }
+
+        @Override
+        public int getOrder() {
+            return POST_PROCESSOR_ORDER;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package hello.itemservice.domain.item;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 전체 상품을 id 순으로 batchSize 개씩 findPage 로 읽으면서 하나씩 돌려주는 Iterator
+ * 현재 페이지를 다 꺼낸 뒤에 다음 페이지를 읽으므로, 상품 수와 관계없이 한 페이지만 메모리에 둔다.
+ */
+final class ItemCursor implements Iterator<Item> {
+
+    private final ItemRepository itemRepository;
+    private final int batchSize;
+    private Iterator<Item> batch = Collections.emptyIterator();
+    private Long after;
+    private boolean last;
+
+    ItemCursor(ItemRepository itemRepository, int batchSize) {
+        this.itemRepository = itemRepository;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!batch.hasNext()) {
+            if (last) {
+                return false;
+            }
+            ItemPage page = itemRepository.findPage(after, batchSize);
+            batch = page.getItems().iterator();
+            after = page.getNextCursor();
+            last = after == null;
+        }
+        return true;
+    }
+
+    @Override
+    public Item next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return batch.next();
+    }
+}
@@ -0,0 +1,221 @@
+package hello.itemservice.domain.item;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * price, quantity, itemName 보조 인덱스
+ * - 값과 id 를 묶은 항목을 정렬된 집합에 담아서 범위 조회, 접두어 조회를 한다.
+ * - 수정 시 예전 값을 지우기 위해 id 별로 마지막으로 인덱싱한 값을 기억한다.
+ * - 같은 상품에 대한 저장과 수정은 id 로 나눈 락으로 직렬화해서 저장소와 인덱스 순서를 맞춘다.
+ *   저장소 쓰기와 인덱스 갱신을 같은 락 안에서 하므로, 저장 직후의 수정이 먼저 인덱싱되고 저장한 값이 그 위에 덮이는 일이 없다.
+ *   여러 상품을 한 번에 저장할 때는 관련된 락을 모두 잡는다. (항상 번호 순으로 잡으므로 교착되지 않는다)
+ */
+public class ItemIndex {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final NavigableSet<Entry<Integer>> priceIndex = new ConcurrentSkipListSet<>();
+    private final NavigableSet<Entry<Integer>> quantityIndex = new ConcurrentSkipListSet<>();
+    private final NavigableSet<Entry<String>> nameIndex = new ConcurrentSkipListSet<>();
+    private final Map<Long, Item> indexed = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    public ItemIndex() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * 이미 저장소에 있는 상품을 인덱싱한다. (저장소를 새로 읽어 인덱스를 만들 때)
+     */
+    public void add(Item item) {
+        add(item, () -> {
+        });
+    }
+
+    /**
+     * 저장소 쓰기(storePut)와 인덱스 갱신을 update 와 같은 락 안에서 수행한다.
+     */
+    public void add(Item item, Runnable storePut) {
+        ReentrantLock lock = locks[stripeOf(item.getId())];
+        lock.lock();
+        try {
+            storePut.run();
+            remove(item.getId());
+            insert(item.getId(), item);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * add 와 같지만 items 의 락을 모두 잡고 storePut 을 한 번만 실행한다.
+     */
+    public void addAll(List<Item> items, Runnable storePut) {
+        boolean[] stripes = new boolean[LOCK_STRIPES];
+        for (Item item : items) {
+            stripes[stripeOf(item.getId())] = true;
+        }
+        lockAll(stripes);
+        try {
+            storePut.run();
+            for (Item item : items) {
+                remove(item.getId());
+                insert(item.getId(), item);
+            }
+        } finally {
+            unlockAll(stripes);
+        }
+    }
+
+    /**
+     * 저장소 수정(storeUpdate)과 인덱스 갱신을 같은 락 안에서 수행한다.
+     * storeUpdate 가 null 을 돌려주면(수정 실패) 인덱스는 그대로 둔다.
+     */
+    public Item update(Long id, Supplier<Item> storeUpdate) {
+        ReentrantLock lock = locks[stripeOf(id)];
+        lock.lock();
+        try {
+            Item updated = storeUpdate.get();
+            if (updated != null && remove(id)) {
+                insert(id, updated);
+            }
+            return updated;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 가격 순으로 id 를 돌려준다. (필요한 만큼만 읽을 수 있도록 Stream 으로 반환)
+     */
+    public Stream<Long> findByPriceBetween(int min, int max) {
+        if (min > max) {
+            return Stream.empty();
+        }
+        return ids(priceIndex.subSet(Entry.lower(min), true, Entry.upper(max), true));
+    }
+
+    public Stream<Long> findByQuantityBetween(int min, int max) {
+        if (min > max) {
+            return Stream.empty();
+        }
+        return ids(quantityIndex.subSet(Entry.lower(min), true, Entry.upper(max), true));
+    }
+
+    public Stream<Long> findByItemNamePrefix(String prefix) {
+        return ids(nameIndex.subSet(Entry.lower(prefix), true, Entry.upper(prefix + Character.MAX_VALUE), true));
+    }
+
+    public void clear() {
+        priceIndex.clear();
+        quantityIndex.clear();
+        nameIndex.clear();
+        indexed.clear();
+    }
+
+    private void insert(Long id, Item item) {
+        Item keys = new Item(item.getItemName(), item.getPrice(), item.getQuantity());
+        indexed.put(id, keys);
+        if (keys.getPrice() != null) {
+            priceIndex.add(new Entry<>(keys.getPrice(), id));
+        }
+        if (keys.getQuantity() != null) {
+            quantityIndex.add(new Entry<>(keys.getQuantity(), id));
+        }
+        if (keys.getItemName() != null) {
+            nameIndex.add(new Entry<>(keys.getItemName(), id));
+        }
+    }
+
+    private boolean remove(Long id) {
+        Item keys = indexed.remove(id);
+        if (keys == null) {
+            return false;
+        }
+        if (keys.getPrice() != null) {
+            priceIndex.remove(new Entry<>(keys.getPrice(), id));
+        }
+        if (keys.getQuantity() != null) {
+            quantityIndex.remove(new Entry<>(keys.getQuantity(), id));
+        }
+        if (keys.getItemName() != null) {
+            nameIndex.remove(new Entry<>(keys.getItemName(), id));
+        }
+        return true;
+    }
+
+    private static int stripeOf(Long id) {
+        return (int) Math.floorMod(id, (long) LOCK_STRIPES);
+    }
+
+    private void lockAll(boolean[] stripes) {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            if (stripes[i]) {
+                locks[i].lock();
+            }
+        }
+    }
+
+    private void unlockAll(boolean[] stripes) {
+        for (int i = LOCK_STRIPES - 1; i >= 0; i--) {
+            if (stripes[i]) {
+                locks[i].unlock();
+            }
+        }
+    }
+
+    private static Stream<Long> ids(NavigableSet<? extends Entry<?>> entries) {
+        return entries.stream().map(entry -> entry.id);
+    }
+
+    /**
+     * (값, id) 순으로 정렬되는 인덱스 항목
+     */
+    private static final class Entry<K extends Comparable<K>> implements Comparable<Entry<K>> {
+
+        private final K key;
+        private final long id;
+
+        Entry(K key, long id) {
+            this.key = key;
+            this.id = id;
+        }
+
+        static <K extends Comparable<K>> Entry<K> lower(K key) {
+            return new Entry<>(key, Long.MIN_VALUE);
+        }
+
+        static <K extends Comparable<K>> Entry<K> upper(K key) {
+            return new Entry<>(key, Long.MAX_VALUE);
+        }
+
+        @Override
+        public int compareTo(Entry<K> other) {
+            int result = key.compareTo(other.key);
+            return result != 0 ? result : Long.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?> other = (Entry<?>) o;
+            return id == other.id && key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * key.hashCode() + Long.hashCode(id);
+        }
+    }
+}
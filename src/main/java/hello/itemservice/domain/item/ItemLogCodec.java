@@ -0,0 +1,239 @@
+package hello.itemservice.domain.item;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * LogItemStore 의 로그 레코드와 스냅샷 파일 형식
+ * - 로그 파일: [int SEGMENT_MAGIC][int 형식 버전][로그 레코드]...
+ * - 로그 레코드: [int 길이][int CRC32][type][id][상품 값]  (CLEAR 는 type 만)
+ * - 스냅샷: [int SNAPSHOT_MAGIC][int 형식 버전][long 이어서 읽을 로그 번호][int 개수][id][상품 값]...[long CRC32]
+ * - 상품 값: [int 이름 길이(null 이면 -1)][UTF-8 이름][byte null 여부][int 가격][byte null 여부][int 수량][long version]
+ * UPDATE 레코드에도 수정된 뒤의 상품 값과 version 이 그대로 담기므로, 재생할 때는 PUT 과 똑같이 덮어쓴다.
+ * 형식 버전 1 (헤더가 없는 로그 파일, LEGACY_SNAPSHOT_MAGIC 스냅샷)은 상품 값에 version 이 없고, 읽을 때 version 을 1 로 둔다.
+ */
+final class ItemLogCodec {
+
+    static final byte PUT = 1;
+    static final byte UPDATE = 2;
+    static final byte CLEAR = 3;
+
+    static final int FORMAT_VERSION = 2;
+    private static final int LEGACY_FORMAT_VERSION = 1;
+    private static final int SEGMENT_MAGIC = 0x49544D4C; //"ITML"
+    private static final int SNAPSHOT_MAGIC = 0x49544D56; //"ITMV"
+    private static final int LEGACY_SNAPSHOT_MAGIC = 0x49544D53; //"ITMS", 형식 버전 1
+    private static final int RECORD_HEADER = 8;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    private ItemLogCodec() {
+    }
+
+    static ByteBuffer encodeRecord(byte type, Long id, Item item) {
+        byte[] name = nameBytes(item);
+        int payloadLength = type == CLEAR ? 1 : 1 + Long.BYTES + itemLength(name);
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER + payloadLength);
+        buffer.position(RECORD_HEADER);
+        buffer.put(type);
+        if (type != CLEAR) {
+            buffer.putLong(id);
+            putItem(buffer, name, item);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), RECORD_HEADER, payloadLength);
+        buffer.putInt(0, payloadLength);
+        buffer.putInt(4, (int) crc.getValue());
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * 새 로그 파일의 맨 앞에 쓰는 헤더
+     */
+    static ByteBuffer segmentHeader() {
+        ByteBuffer header = ByteBuffer.allocate(2 * Integer.BYTES);
+        header.putInt(SEGMENT_MAGIC).putInt(FORMAT_VERSION);
+        header.flip();
+        return header;
+    }
+
+    /**
+     * 로그를 처음부터 적용한다. 잘리거나 깨진 레코드를 만나면 그 앞까지만 적용하고 false 를 돌려준다.
+     * 헤더가 없으면 형식 버전 1 로 읽는다.
+     * @throws IOException 이 코드가 읽을 수 없는 형식 버전
+     */
+    static boolean replay(ByteBuffer log, ItemStore store) throws IOException {
+        int formatVersion = LEGACY_FORMAT_VERSION;
+        if (log.remaining() >= 2 * Integer.BYTES && log.getInt(log.position()) == SEGMENT_MAGIC) {
+            log.getInt();
+            formatVersion = checkFormatVersion(log.getInt(), "로그");
+        }
+        CRC32 crc = new CRC32();
+        while (log.remaining() >= RECORD_HEADER) {
+            int length = log.getInt();
+            int checksum = log.getInt();
+            if (length <= 0 || length > log.remaining()) {
+                return false;
+            }
+
+            ByteBuffer payload = log.slice();
+            payload.limit(length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                return false;
+            }
+            log.position(log.position() + length);
+
+            byte type = payload.get();
+            if (type == CLEAR) {
+                store.clear();
+                continue;
+            }
+            long id = payload.getLong();
+            store.put(getItem(payload, formatVersion, id));
+        }
+        return !log.hasRemaining();
+    }
+
+    /**
+     * 임시 파일에 모두 쓰고 fsync 한 뒤 이름을 바꿔서, 스냅샷 파일은 항상 완전한 상태로만 보이게 한다.
+     */
+    static void writeSnapshot(Path file, List<Item> items, long nextSegment) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+            buffer.putInt(SNAPSHOT_MAGIC).putInt(FORMAT_VERSION).putLong(nextSegment).putInt(items.size());
+            for (Item item : items) {
+                byte[] name = nameBytes(item);
+                int length = Long.BYTES + itemLength(name);
+                if (buffer.remaining() < length) {
+                    flush(channel, buffer, crc);
+                }
+                if (buffer.remaining() < length) {
+                    throw new IOException("상품 하나가 스냅샷 버퍼보다 큽니다. id=" + item.getId());
+                }
+                buffer.putLong(item.getId());
+                putItem(buffer, name, item);
+            }
+            flush(channel, buffer, crc);
+            buffer.putLong(crc.getValue());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 스냅샷을 메모리 매핑해서 store 에 적재하고, 이어서 읽을 로그 번호를 돌려준다.
+     * LEGACY_SNAPSHOT_MAGIC 이면 형식 버전 1 로 읽는다.
+     */
+    static long readSnapshot(Path file, ItemStore store) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int magic = buffer.remaining() < Integer.BYTES ? 0 : buffer.getInt();
+            int formatVersion;
+            if (magic == SNAPSHOT_MAGIC && buffer.remaining() >= Integer.BYTES) {
+                formatVersion = checkFormatVersion(buffer.getInt(), "스냅샷");
+            } else if (magic == LEGACY_SNAPSHOT_MAGIC) {
+                formatVersion = LEGACY_FORMAT_VERSION;
+            } else {
+                throw new IOException("스냅샷 파일 형식이 올바르지 않습니다. " + file);
+            }
+            if (buffer.remaining() < Long.BYTES + Integer.BYTES + Long.BYTES) {
+                throw new IOException("스냅샷 파일 형식이 올바르지 않습니다. " + file);
+            }
+
+            ByteBuffer body = buffer.duplicate();
+            body.position(0).limit(buffer.capacity() - Long.BYTES);
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            if (crc.getValue() != buffer.getLong(buffer.capacity() - Long.BYTES)) {
+                throw new IOException("스냅샷 파일이 손상되었습니다. " + file);
+            }
+
+            long nextSegment = buffer.getLong();
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                long id = buffer.getLong();
+                store.put(getItem(buffer, formatVersion, id));
+            }
+            return nextSegment;
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer, CRC32 crc) throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static byte[] nameBytes(Item item) {
+        return item == null || item.getItemName() == null ? null : item.getItemName().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int itemLength(byte[] name) {
+        return Integer.BYTES + (name == null ? 0 : name.length) + 2 * (1 + Integer.BYTES) + Long.BYTES;
+    }
+
+    private static void putItem(ByteBuffer buffer, byte[] name, Item item) {
+        if (name == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(name.length).put(name);
+        }
+        putNullableInt(buffer, item.getPrice());
+        putNullableInt(buffer, item.getQuantity());
+        buffer.putLong(item.getVersion() == null ? 0 : item.getVersion());
+    }
+
+    private static int checkFormatVersion(int formatVersion, String kind) throws IOException {
+        if (formatVersion < LEGACY_FORMAT_VERSION || formatVersion > FORMAT_VERSION) {
+            throw new IOException(kind + " 파일 형식 버전 " + formatVersion + " 은 읽을 수 없습니다. (지원: "
+                    + LEGACY_FORMAT_VERSION + " ~ " + FORMAT_VERSION + ")");
+        }
+        return formatVersion;
+    }
+
+    private static Item getItem(ByteBuffer buffer, int formatVersion, long id) {
+        int nameLength = buffer.getInt();
+        String name = null;
+        if (nameLength >= 0) {
+            byte[] bytes = new byte[nameLength];
+            buffer.get(bytes);
+            name = new String(bytes, StandardCharsets.UTF_8);
+        }
+        Integer price = getNullableInt(buffer);
+        Integer quantity = getNullableInt(buffer);
+        long version = formatVersion == LEGACY_FORMAT_VERSION ? 1L : buffer.getLong();
+        return new ItemSnapshot(id, name, price, quantity, version);
+    }
+
+    private static void putNullableInt(ByteBuffer buffer, Integer value) {
+        buffer.put((byte) (value == null ? 0 : 1)).putInt(value == null ? 0 : value);
+    }
+
+    private static Integer getNullableInt(ByteBuffer buffer) {
+        boolean present = buffer.get() == 1;
+        int value = buffer.getInt();
+        return present ? value : null;
+    }
+}
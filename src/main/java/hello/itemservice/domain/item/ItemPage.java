@@ -0,0 +1,21 @@
+package hello.itemservice.domain.item;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 커서(keyset) 기반 상품 목록 한 페이지
+ * nextCursor 는 다음 페이지 조회에 사용할 마지막 상품 id 이고, 마지막 페이지면 null 이다.
+ */
+@Getter
+public class ItemPage {
+
+    private final List<Item> items;
+    private final Long nextCursor;
+
+    public ItemPage(List<Item> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+}
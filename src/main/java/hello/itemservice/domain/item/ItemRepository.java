@@ -1,41 +1,291 @@
 package hello.itemservice.domain.item;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 public class ItemRepository {
 
-    private static final Map<Long, Item> store = new HashMap<>(); //static
-    private static long sequence = 0L; //static
+    public static final int MAX_PAGE_SIZE = 100;
 
+    private final ItemStore store;
+    private final ItemIndex itemIndex; //item.index.enabled=false 면 null, 조회 시 전체 탐색
+    private final AtomicLong sequence = new AtomicLong(); //id 중복 방지
+    private volatile boolean sequenceRecovered; //sequence 를 저장소의 가장 큰 id 뒤로 옮겼는지
+    private final AtomicLong storeVersion = new AtomicLong(); //저장, 수정, 삭제마다 증가 (목록 화면 캐시 확인용)
+
+    public ItemRepository() {
+        this(new MapItemStore());
+    }
+
+    public ItemRepository(ItemStore store) {
+        this(store, true);
+    }
+
+    @Autowired
+    public ItemRepository(ItemStore store, @Value("${item.index.enabled:false}") boolean indexEnabled) {
+        this.store = store;
+        this.itemIndex = indexEnabled ? new ItemIndex() : null;
+        recoverExisting();
+    }
+
+    /**
+     * 저장소에 이미 상품이 있으면(item.store=log 로 복구된 경우) 인덱스를 다시 만든다.
+     * id 는 처음 발급할 때 저장소의 가장 큰 id(maxId) 뒤부터 이어서 발급한다. (nextIds)
+     */
+    private void recoverExisting() {
+        if (itemIndex != null) {
+            store.findAll().forEach(itemIndex::add);
+        }
+    }
+
+    /**
+     * count 개의 연속된 id 를 발급하고 첫 id 를 돌려준다.
+     * 저장소가 id 를 발급하면(item.store=sharded) 호출되지 않으므로, 그때는 다른 인스턴스 shard 에 maxId 를 묻지 않는다.
+     */
+    private long nextIds(int count) {
+        if (!sequenceRecovered) {
+            recoverSequence();
+        }
+        return sequence.getAndAdd(count) + 1;
+    }
+
+    private synchronized void recoverSequence() {
+        if (sequenceRecovered) {
+            return;
+        }
+        Long lastId = store.maxId();
+        if (lastId != null) {
+            sequence.accumulateAndGet(lastId, Math::max);
+        }
+        sequenceRecovered = true;
+    }
+
+    /**
+     * 저장소에는 item 의 사본(ItemSnapshot)을 저장하고, id 와 version 을 채운 item 을 돌려준다.
+     * 돌려받은 item 을 나중에 수정해도 저장된 상품은 바뀌지 않는다. (saveAll, putAll 도 같다)
+     */
     public Item save(Item item) {
-        item.setId(++sequence);
-        store.put(item.getId(), item);
+        if (!store.assignIds(List.of(item))) {
+            item.setId(nextIds(1));
+        }
+        item.setVersion(1L);
+        Item stored = ItemSnapshot.of(item);
+        if (itemIndex == null) {
+            store.put(stored);
+        } else {
+            itemIndex.add(stored, () -> store.put(stored));
+        }
+        storeVersion.incrementAndGet();
         return item;
     }
 
+    /**
+     * 여러 상품을 한 번에 저장한다. id 는 연속된 구간으로 한 번에 발급한다. (저장소가 id 를 발급하면 저장소를 따른다)
+     */
+    public List<Item> saveAll(List<Item> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        if (!store.assignIds(items)) {
+            long firstId = nextIds(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                items.get(i).setId(firstId + i);
+            }
+        }
+        List<Item> stored = new ArrayList<>(items.size());
+        for (Item item : items) {
+            item.setVersion(1L);
+            stored.add(ItemSnapshot.of(item));
+        }
+        putAndIndex(stored);
+        storeVersion.incrementAndGet();
+        return items;
+    }
+
+    /**
+     * id, version 이 이미 정해진 상품을 그대로 저장한다. (다른 인스턴스의 shard 로 쓰일 때, web.shard.ShardItemController)
+     * 인덱스와 변경 횟수는 save 와 똑같이 갱신하고, 이 인스턴스에서 발급할 id 는 받은 id 뒤로 옮긴다.
+     */
+    public void putAll(List<Item> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        List<Item> stored = new ArrayList<>(items.size());
+        for (Item item : items) {
+            stored.add(ItemSnapshot.of(item));
+        }
+        putAndIndex(stored);
+        long lastId = 0;
+        for (Item item : stored) {
+            lastId = Math.max(lastId, item.getId());
+        }
+        sequence.accumulateAndGet(lastId, Math::max);
+        storeVersion.incrementAndGet();
+    }
+
+    /**
+     * 저장소 쓰기와 인덱스 갱신을 update 와 같은 id 별 락 안에서 한다. (ItemIndex 참고)
+     */
+    private void putAndIndex(List<Item> items) {
+        if (itemIndex == null) {
+            store.putAll(items);
+        } else {
+            itemIndex.addAll(items, () -> store.putAll(items));
+        }
+    }
+
     public Item findById(Long id) {
         return store.get(id);
     }
 
     public List<Item> findAll() {
-        return new ArrayList<>(store.values());
+        return store.findAll();
+    }
+
+    /**
+     * id 순으로 offset 번째부터 limit 개 조회
+     */
+    public List<Item> findAll(int offset, int limit) {
+        return store.findRange(Math.max(offset, 0), pageSize(limit));
     }
 
+    /**
+     * id 가 after 보다 큰 상품을 size 개 조회 (after 가 null 이면 처음부터)
+     * 한 개를 더 읽어서 다음 페이지가 있는지 판단한다.
+     */
+    public ItemPage findPage(Long after, int size) {
+        int pageSize = pageSize(size);
+        List<Item> items = store.findAfter(after, pageSize + 1);
+        if (items.size() <= pageSize) {
+            return new ItemPage(items, null);
+        }
+        items = items.subList(0, pageSize);
+        return new ItemPage(items, items.get(pageSize - 1).getId());
+    }
+
+    /**
+     * 전체 상품을 id 순으로 batchSize 개씩 나눠 읽는 Iterable (반복할 때마다 처음부터 읽는다)
+     * 목록을 미리 만들지 않으므로 상품이 많아도 한 페이지 만큼만 메모리에 둔다.
+     */
+    public Iterable<Item> cursor(int batchSize) {
+        return () -> new ItemCursor(this, batchSize);
+    }
+
+    public List<Item> findByPriceBetween(int minPrice, int maxPrice, int limit) {
+        ItemSearchCond cond = new ItemSearchCond();
+        cond.setMinPrice(minPrice);
+        cond.setMaxPrice(maxPrice);
+        return search(cond, limit);
+    }
+
+    public List<Item> findByQuantityBetween(int minQuantity, int maxQuantity, int limit) {
+        ItemSearchCond cond = new ItemSearchCond();
+        cond.setMinQuantity(minQuantity);
+        cond.setMaxQuantity(maxQuantity);
+        return search(cond, limit);
+    }
+
+    public List<Item> findByItemNamePrefix(String prefix, int limit) {
+        ItemSearchCond cond = new ItemSearchCond();
+        cond.setItemName(prefix);
+        return search(cond, limit);
+    }
+
+    /**
+     * 상품명 접두어 > 가격 > 수량 순으로 인덱스 하나를 골라 후보를 찾고, 나머지 조건은 후보에 대해 확인한다.
+     * 인덱스를 쓸 수 없으면 전체를 탐색한다.
+     */
+    public List<Item> search(ItemSearchCond cond, int limit) {
+        int size = pageSize(limit);
+        if (itemIndex == null || cond.isEmpty()) {
+            return scan(cond, size);
+        }
+
+        Stream<Long> candidates;
+        if (StringUtils.hasText(cond.getItemName())) {
+            candidates = itemIndex.findByItemNamePrefix(cond.getItemName());
+        } else if (cond.getMinPrice() != null || cond.getMaxPrice() != null) {
+            candidates = itemIndex.findByPriceBetween(orMin(cond.getMinPrice()), orMax(cond.getMaxPrice()));
+        } else {
+            candidates = itemIndex.findByQuantityBetween(orMin(cond.getMinQuantity()), orMax(cond.getMaxQuantity()));
+        }
+
+        return candidates
+                .map(store::get)
+                .filter(item -> item != null && cond.matches(item))
+                .limit(size)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 마지막 수정이 반영된다. (다른 수정과 겹치면 저장소가 다시 시도한다)
+     */
     public void update(Long itemId, Item updateParam) {
-        Item findItem = findById(itemId);
-        findItem.setItemName(updateParam.getItemName());
-        findItem.setPrice(updateParam.getPrice());
-        findItem.setQuantity(updateParam.getQuantity());
+        update(itemId, updateParam, null);
+    }
+
+    /**
+     * 현재 version 이 expectedVersion 과 같을 때만 수정한다. (expectedVersion 이 null 이면 확인하지 않는다)
+     * 저장된 Item 은 바뀌지 않고 version 이 1 증가한 새 Item 으로 교체된다.
+     * @return 수정된 Item, 상품이 없거나 다른 수정이 먼저 반영되었으면 null
+     */
+    public Item update(Long itemId, Item updateParam, Long expectedVersion) {
+        Item updated = itemIndex == null
+                ? store.update(itemId, updateParam, expectedVersion)
+                : itemIndex.update(itemId, () -> store.update(itemId, updateParam, expectedVersion));
+        if (updated != null) {
+            storeVersion.incrementAndGet();
+        }
+        return updated;
+    }
+
+    /**
+     * 저장소 전체의 변경 횟수. 값이 같으면 그 사이 저장, 수정된 상품이 없다.
+     */
+    public long getStoreVersion() {
+        return storeVersion.get();
     }
 
     public void clearStore() {
         store.clear();
+        if (itemIndex != null) {
+            itemIndex.clear();
+        }
+        storeVersion.incrementAndGet();
+    }
+
+    private List<Item> scan(ItemSearchCond cond, int size) {
+        List<Item> result = new ArrayList<>();
+        for (Item item : store.findAll()) {
+            if (result.size() >= size) {
+                break;
+            }
+            if (cond.matches(item)) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    private int pageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
+    private static int orMin(Integer value) {
+        return value == null ? Integer.MIN_VALUE : value;
+    }
+
+    private static int orMax(Integer value) {
+        return value == null ? Integer.MAX_VALUE : value;
     }
 
 }
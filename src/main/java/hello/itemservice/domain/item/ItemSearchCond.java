@@ -0,0 +1,41 @@
+package hello.itemservice.domain.item;
+
+import lombok.Data;
+import org.springframework.util.StringUtils;
+
+/**
+ * 상품 목록 필터 조건 (비어 있는 값은 조건에서 제외)
+ */
+@Data
+public class ItemSearchCond {
+
+    private String itemName;
+    private Integer minPrice;
+    private Integer maxPrice;
+    private Integer minQuantity;
+    private Integer maxQuantity;
+
+    public boolean isEmpty() {
+        return !StringUtils.hasText(itemName)
+                && minPrice == null && maxPrice == null
+                && minQuantity == null && maxQuantity == null;
+    }
+
+    public boolean matches(Item item) {
+        if (StringUtils.hasText(itemName)
+                && (item.getItemName() == null || !item.getItemName().startsWith(itemName))) {
+            return false;
+        }
+        return inRange(item.getPrice(), minPrice, maxPrice)
+                && inRange(item.getQuantity(), minQuantity, maxQuantity);
+    }
+
+    private static boolean inRange(Integer value, Integer min, Integer max) {
+        if (min == null && max == null) {
+            return true;
+        }
+        return value != null
+                && (min == null || value >= min)
+                && (max == null || value <= max);
+    }
+}
@@ -0,0 +1,55 @@
+package hello.itemservice.domain.item;
+
+/**
+ * 값을 바꿀 수 없는 Item 사본. 저장소에는 이 사본만 들어간다. (ItemStore 참고)
+ * ItemRepository 가 저장할 때 호출한 쪽의 Item 을 복사하고, 저장소는 수정할 때 새 ItemSnapshot 으로 교체한다.
+ * 그래서 저장소가 돌려준 Item 을 여러 요청, 캐시(CachingItemStore), 스냅샷(LogItemStore)이 복사하지 않고 나눠 써도 값이 바뀌지 않는다.
+ * setter 를 호출하면 UnsupportedOperationException (equals, hashCode 는 Item 과 같다)
+ */
+public final class ItemSnapshot extends Item {
+
+    ItemSnapshot(Item item) {
+        this(item.getId(), item.getItemName(), item.getPrice(), item.getQuantity(), item.getVersion());
+    }
+
+    ItemSnapshot(Long id, String itemName, Integer price, Integer quantity, Long version) {
+        super.setId(id);
+        super.setItemName(itemName);
+        super.setPrice(price);
+        super.setQuantity(quantity);
+        super.setVersion(version);
+    }
+
+    static ItemSnapshot of(Item item) {
+        return item instanceof ItemSnapshot ? (ItemSnapshot) item : new ItemSnapshot(item);
+    }
+
+    @Override
+    public void setId(Long id) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setItemName(String itemName) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setPrice(Integer price) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setQuantity(Integer quantity) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setVersion(Long version) {
+        throw readOnly();
+    }
+
+    private UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("저장된 상품은 수정할 수 없습니다. id=" + getId());
+    }
+}
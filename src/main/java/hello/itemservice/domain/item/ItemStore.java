@@ -0,0 +1,59 @@
+package hello.itemservice.domain.item;
+
+import java.util.List;
+
+/**
+ * ItemRepository 가 실제로 데이터를 보관하는 저장소
+ * item.store 프로퍼티로 구현체를 선택한다. (ItemStoreConfig 참고)
+ * 저장된 Item 은 바뀌지 않는다.
+ * - put, putAll 로 받는 Item 은 ItemRepository 가 복사한 ItemSnapshot 이므로 저장소는 그대로 보관해도 된다.
+ * - 저장소가 새로 만드는 Item(update 결과, 파일에서 읽은 상품)도 ItemSnapshot 으로 만든다.
+ * - 그래서 조회 결과를 호출한 쪽이 수정할 수 없고, 저장소와 데코레이터는 보관한 Item 을 복사하지 않고 나눠 줄 수 있다.
+ */
+public interface ItemStore {
+
+    void put(Item item);
+
+    default void putAll(List<Item> items) {
+        items.forEach(this::put);
+    }
+
+    /**
+     * 저장소가 새 상품의 id 를 직접 발급하면 items 에 순서대로 커지는 id 를 넣고 true 를 돌려준다. (연속이 아닐 수 있다)
+     * false 면 ItemRepository 가 자체 sequence 로 발급한다.
+     */
+    default boolean assignIds(List<Item> items) {
+        return false;
+    }
+
+    Item get(Long id);
+
+    List<Item> findAll();
+
+    /**
+     * 가장 큰 id (비어 있으면 null). 기본 구현은 전체를 읽으므로 더 싸게 구할 수 있는 저장소는 재정의한다.
+     */
+    default Long maxId() {
+        List<Item> items = findAll();
+        return items.isEmpty() ? null : items.get(items.size() - 1).getId();
+    }
+
+    /**
+     * id 순으로 offset 번째부터 limit 개
+     */
+    List<Item> findRange(int offset, int limit);
+
+    /**
+     * id 순으로 afterId 다음부터 limit 개 (afterId 가 null 이면 처음부터)
+     */
+    List<Item> findAfter(Long afterId, int limit);
+
+    /**
+     * 저장된 Item 을 수정하지 않고 updateParam 값과 version + 1 을 가진 새 Item 으로 교체한다.
+     * expectedVersion 이 null 이 아니면 현재 version 과 같을 때만 교체한다.
+     * @return 교체된 Item (상품이 없거나 version 이 다르면 null)
+     */
+    Item update(Long id, Item updateParam, Long expectedVersion);
+
+    void clear();
+}
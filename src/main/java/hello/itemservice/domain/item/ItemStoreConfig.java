@@ -0,0 +1,67 @@
+package hello.itemservice.domain.item;
+
+import hello.itemservice.domain.item.shard.BlockShardRouter;
+import hello.itemservice.domain.item.shard.RemoteItemStore;
+import hello.itemservice.domain.item.shard.ShardedItemStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * item.store=map (기본) | columnar | log | sharded
+ */
+@Configuration
+public class ItemStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "item.store", havingValue = "map", matchIfMissing = true)
+    public ItemStore mapItemStore() {
+        return new MapItemStore();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "item.store", havingValue = "columnar")
+    public ItemStore columnarItemStore() {
+        return new ColumnarItemStore();
+    }
+
+    /**
+     * 메모리 저장소(MapItemStore) 앞에 변경 로그를 두어 재시작해도 상품이 유지된다.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "item.store", havingValue = "log")
+    public ItemStore logItemStore(@Value("${item.store.log.dir:./data/items}") String dir,
+                                  @Value("${item.store.log.fsync:true}") boolean fsync,
+                                  @Value("${item.store.log.snapshot-every:100000}") long snapshotEvery) {
+        return new LogItemStore(new MapItemStore(), Paths.get(dir), fsync, snapshotEvery);
+    }
+
+    /**
+     * 상품을 id 블록 단위로 여러 shard 에 나눠 보관한다.
+     * 이 프로세스의 MapItemStore item.store.shards 개 뒤에 item.store.shard.remotes 의 다른 인스턴스들을 shard 로 붙인다.
+     * 다른 인스턴스에는 item.shard.token 을 담아 요청한다.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "item.store", havingValue = "sharded")
+    public ItemStore shardedItemStore(@Value("${item.store.shards:4}") int localShards,
+                                      @Value("${item.store.shard.block-size:1024}") int blockSize,
+                                      @Value("${item.store.shard.remotes:}") String[] remotes,
+                                      @Value("${item.shard.token:}") String token) {
+        List<ItemStore> shards = new ArrayList<>();
+        for (int i = 0; i < localShards; i++) {
+            shards.add(new MapItemStore());
+        }
+        if (remotes.length > 0 && token.isBlank()) {
+            throw new IllegalStateException("item.store.shard.remotes 를 쓰려면 item.shard.token 이 필요합니다.");
+        }
+        for (String remote : remotes) {
+            shards.add(new RemoteItemStore(remote.trim(), token));
+        }
+        return new ShardedItemStore(shards, new BlockShardRouter(shards.size(), blockSize));
+    }
+}
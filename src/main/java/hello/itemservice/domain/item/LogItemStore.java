@@ -0,0 +1,539 @@
+package hello.itemservice.domain.item;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 변경 내용을 로그 파일(write-ahead log)에 남기고 재시작할 때 복구하는 저장소
+ * - 저장, 수정은 로그 레코드를 큐에 넣고 기다린다. 기록 스레드 하나가 큐에 쌓인 레코드를 모아서 한 번에 쓰고 한 번만 fsync 한 뒤(group commit),
+ *   그 순서대로 메모리 저장소(delegate)에 반영하고 기다리던 요청을 깨운다. 디스크에 기록하지 못한 변경은 메모리에도 반영되지 않는다.
+ * - 수정은 큐에 넣을 때 version 을 확인해야 하므로, 기록은 했지만 아직 반영하지 않은 값(unapplied)을 delegate 보다 먼저 본다.
+ * - snapshotEvery 개를 기록할 때마다 새 로그 파일로 넘어가면서 전체 상품을 스냅샷 파일로 저장하고, 스냅샷에 포함된 이전 로그는 지운다.
+ * - 시작할 때 스냅샷을 메모리 매핑으로 읽고, 그 뒤의 로그만 다시 적용한다.
+ * 로그 레코드에는 상품의 전체 값이 들어 있어서 같은 레코드를 두 번 적용해도 결과가 같다.
+ * 기록에 실패한 배치는 로그 파일에서 잘라낸다. 잘라내지 못하거나 메모리 반영 중에 오류가 나면 로그와 메모리가 어긋났을 수 있으므로
+ * 실패 상태로 바꾸고, 그 뒤의 변경은 모두 거절한다. (조회는 계속 된다)
+ */
+@Slf4j
+public class LogItemStore implements ItemStore, Closeable {
+
+    static final String SNAPSHOT_FILE = "snapshot.dat";
+    private static final String SEGMENT_PREFIX = "log-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final int MAX_BATCH = 4096;
+    private static final long AWAIT_TIMEOUT_SECONDS = 60;
+
+    static final SegmentOpener FILE_SEGMENT = path -> FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+    private final ItemStore delegate;
+    private final Path directory;
+    private final boolean fsync;
+    private final long snapshotEvery;
+    private final SegmentOpener segmentOpener;
+
+    private final Object appendLock = new Object();
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Pending closeSignal = new Pending(null, null, false);
+    private final Map<Long, Item> unapplied = new HashMap<>(); //appendLock, 큐에 넣었지만 아직 delegate 에 반영하지 않은 값
+    private int unappliedClears; //appendLock
+    private final Thread writer;
+    private final ExecutorService snapshotExecutor;
+
+    private volatile boolean closed;
+    private volatile Throwable failure; //기록 스레드가 설정한다. 설정되면 새 변경을 거절한다.
+    private long segment; //appendLock
+    private FileChannel channel; //기록 스레드만 사용
+    private long recordsSinceSnapshot; //기록 스레드만 사용
+
+    /**
+     * @param fsync         false 면 운영체제 버퍼에 쓴 뒤 fsync 없이 반영한다. (프로세스 종료에는 안전, 운영체제, 전원 장애에는 최근 기록 유실 가능)
+     * @param snapshotEvery 스냅샷을 만드는 기록 건수 간격 (0 이하면 닫을 때만 만든다)
+     */
+    public LogItemStore(ItemStore delegate, Path directory, boolean fsync, long snapshotEvery) {
+        this(delegate, directory, fsync, snapshotEvery, FILE_SEGMENT);
+    }
+
+    LogItemStore(ItemStore delegate, Path directory, boolean fsync, long snapshotEvery, SegmentOpener segmentOpener) {
+        this.delegate = delegate;
+        this.directory = directory;
+        this.fsync = fsync;
+        this.snapshotEvery = snapshotEvery;
+        this.segmentOpener = segmentOpener;
+        try {
+            Files.createDirectories(directory);
+            this.segment = recover();
+            this.channel = openSegment(segment);
+        } catch (IOException e) {
+            throw new UncheckedIOException("상품 로그를 열 수 없습니다. " + directory, e);
+        }
+
+        this.snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "item-snapshot"));
+        this.writer = daemon(this::writeLoop, "item-log-writer");
+        this.writer.start();
+    }
+
+    @Override
+    public void put(Item item) {
+        putAll(List.of(item));
+    }
+
+    @Override
+    public void putAll(List<Item> items) {
+        List<ByteBuffer> records = new ArrayList<>(items.size());
+        for (Item item : items) {
+            records.add(ItemLogCodec.encodeRecord(ItemLogCodec.PUT, item.getId(), item));
+        }
+        List<Pending> pendings = new ArrayList<>(items.size());
+        synchronized (appendLock) {
+            checkOpen();
+            for (int i = 0; i < items.size(); i++) {
+                Item item = items.get(i);
+                unapplied.put(item.getId(), item);
+                pendings.add(enqueue(new Pending(records.get(i), item, false)));
+            }
+        }
+        pendings.forEach(Pending::await);
+    }
+
+    @Override
+    public Item get(Long id) {
+        return delegate.get(id);
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Long maxId() {
+        return delegate.maxId();
+    }
+
+    @Override
+    public List<Item> findRange(int offset, int limit) {
+        return delegate.findRange(offset, limit);
+    }
+
+    @Override
+    public List<Item> findAfter(Long afterId, int limit) {
+        return delegate.findAfter(afterId, limit);
+    }
+
+    /**
+     * 마지막으로 큐에 넣은 값을 기준으로 version 을 확인하고, 수정된 값(version 포함)을 기록한 뒤 반영한다.
+     */
+    @Override
+    public Item update(Long id, Item updateParam, Long expectedVersion) {
+        Item next;
+        Pending pending;
+        synchronized (appendLock) {
+            checkOpen();
+            Item current = latest(id);
+            if (current == null) {
+                return null;
+            }
+            long currentVersion = current.getVersion() == null ? 0 : current.getVersion();
+            if (expectedVersion != null && expectedVersion != currentVersion) {
+                return null;
+            }
+            next = new ItemSnapshot(id, updateParam.getItemName(), updateParam.getPrice(),
+                    updateParam.getQuantity(), currentVersion + 1);
+            unapplied.put(id, next);
+            pending = enqueue(new Pending(ItemLogCodec.encodeRecord(ItemLogCodec.UPDATE, id, next), next, false));
+        }
+        pending.await();
+        return next;
+    }
+
+    @Override
+    public void clear() {
+        Pending pending;
+        synchronized (appendLock) {
+            checkOpen();
+            unapplied.clear();
+            unappliedClears++;
+            pending = enqueue(new Pending(ItemLogCodec.encodeRecord(ItemLogCodec.CLEAR, null, null), null, true));
+        }
+        pending.await();
+    }
+
+    /**
+     * 남은 로그를 모두 기록하고 스냅샷을 만든 뒤 닫는다. 다음 시작은 스냅샷만 읽으면 된다.
+     */
+    @Override
+    public void close() {
+        synchronized (appendLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(closeSignal);
+        }
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(AWAIT_TIMEOUT_SECONDS));
+            snapshotExecutor.shutdown();
+            snapshotExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * appendLock 안에서 호출한다. 큐 순서가 곧 로그 순서이자 delegate 에 반영되는 순서다.
+     */
+    private Pending enqueue(Pending pending) {
+        queue.add(pending);
+        return pending;
+    }
+
+    /**
+     * appendLock 안에서 호출한다. 아직 반영되지 않은 변경까지 포함한 현재 값
+     */
+    private Item latest(Long id) {
+        Item pending = unapplied.get(id);
+        if (pending != null) {
+            return pending;
+        }
+        return unappliedClears > 0 ? null : delegate.get(id);
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("상품 로그가 닫혔습니다.");
+        }
+        Throwable cause = failure;
+        if (cause != null) {
+            throw new IllegalStateException("상품 로그 기록에 실패해서 더 이상 변경할 수 없습니다.", cause);
+        }
+    }
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>();
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                continue; //close 신호를 받을 때까지는 멈추지 않는다.
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+
+            int closeAt = batch.indexOf(closeSignal);
+            if (closeAt >= 0) {
+                running = false;
+                batch.remove(closeAt);
+            }
+            try {
+                writeBatch(batch);
+            } catch (RuntimeException e) {
+                //예상하지 못한 오류로 기록 스레드가 멈추면 기다리는 요청이 깨어나지 못하므로, 배치만 실패시키고 계속 돈다.
+                fail(e);
+                batch.forEach(pending -> pending.done.completeExceptionally(e));
+            }
+            recordsSinceSnapshot += batch.size();
+            batch.clear();
+
+            if (running && snapshotEvery > 0 && recordsSinceSnapshot >= snapshotEvery) {
+                snapshotQuietly();
+            }
+        }
+        snapshotQuietly();
+        closeQuietly(channel);
+    }
+
+    private void writeBatch(List<Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Throwable failed = failure;
+        if (failed != null) {
+            completeExceptionally(batch, failed);
+            return;
+        }
+        ByteBuffer[] records = new ByteBuffer[batch.size()];
+        long remaining = 0;
+        for (int i = 0; i < records.length; i++) {
+            records[i] = batch.get(i).record;
+            remaining += records[i].remaining();
+        }
+        long start = -1;
+        try {
+            start = channel.size();
+            while (remaining > 0) {
+                remaining -= channel.write(records);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            log.error("상품 로그 기록 실패 segment={}", segment, e);
+            discardFrom(start, e);
+            completeExceptionally(batch, e);
+            return;
+        }
+        try {
+            for (Pending pending : batch) {
+                if (pending.clear) {
+                    delegate.clear();
+                } else {
+                    delegate.put(pending.item);
+                }
+            }
+        } catch (RuntimeException e) {
+            //로그에는 기록했지만 메모리에는 일부만 반영했으므로 둘이 어긋났다.
+            fail(e);
+            completeExceptionally(batch, e);
+            return;
+        }
+        forget(batch);
+        batch.forEach(pending -> pending.done.complete(null));
+    }
+
+    /**
+     * 실패한 배치를 로그 파일에서 잘라낸다. (기록 모드가 APPEND 이므로 다음 기록은 잘라낸 위치부터 이어진다)
+     * - 일부만 쓰인 레코드가 남으면 복구가 거기서 멈춰서, 그 뒤에 성공한 기록까지 잃는다.
+     * - 모두 쓰였는데 fsync 만 실패했다면, 실패를 알린 변경이 복구할 때 되살아난다.
+     * 잘라내지도 못하면 로그를 믿을 수 없으므로 실패 상태로 바꾼다.
+     */
+    private void discardFrom(long start, IOException cause) {
+        if (start < 0) {
+            fail(cause);
+            return;
+        }
+        try {
+            channel.truncate(start);
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            e.addSuppressed(cause);
+            fail(e);
+        }
+    }
+
+    private void fail(Throwable cause) {
+        if (failure == null) {
+            log.error("상품 로그를 실패 상태로 바꿉니다. 이후 변경은 거절합니다. segment={}", segment, cause);
+            failure = cause;
+        }
+    }
+
+    private void completeExceptionally(List<Pending> batch, Throwable cause) {
+        forget(batch);
+        batch.forEach(pending -> pending.done.completeExceptionally(cause));
+    }
+
+    /**
+     * 반영했거나(기록 성공) 버린(기록 실패) 변경을 unapplied 에서 지운다. 그 뒤에 같은 id 로 큐에 들어온 값은 남긴다.
+     */
+    private void forget(List<Pending> batch) {
+        synchronized (appendLock) {
+            for (Pending pending : batch) {
+                if (pending.clear) {
+                    unappliedClears--;
+                } else if (unapplied.get(pending.item.getId()) == pending.item) {
+                    unapplied.remove(pending.item.getId());
+                }
+            }
+        }
+    }
+
+    /**
+     * 스냅샷은 다음 기회에 다시 만들 수 있으므로, 실패해도 기록 스레드는 계속 돈다.
+     */
+    private void snapshotQuietly() {
+        try {
+            rollAndSnapshot();
+        } catch (RuntimeException e) {
+            log.error("상품 스냅샷을 만들지 못했습니다. segment={}", segment, e);
+        }
+    }
+
+    /**
+     * 새 로그 파일로 넘어가고, 그 시점의 상품 목록을 스냅샷 스레드로 넘긴다.
+     * delegate 는 기록 스레드만 바꾸므로, 이 목록은 이전 로그 파일까지 기록된 내용과 정확히 같다.
+     */
+    private void rollAndSnapshot() {
+        recordsSinceSnapshot = 0;
+        List<Item> items = delegate.findAll(); //저장된 Item 은 ItemSnapshot 이라 바뀌지 않으므로 복사하지 않아도 된다.
+        long nextSegment;
+        synchronized (appendLock) {
+            nextSegment = segment + 1;
+            segment = nextSegment;
+        }
+
+        FileChannel previous = channel;
+        try {
+            channel = openSegment(nextSegment);
+        } catch (IOException e) {
+            log.error("새 상품 로그를 열 수 없습니다. segment={}", nextSegment, e);
+            synchronized (appendLock) {
+                segment = nextSegment - 1;
+            }
+            return;
+        }
+        closeQuietly(previous);
+
+        snapshotExecutor.execute(() -> {
+            try {
+                ItemLogCodec.writeSnapshot(directory.resolve(SNAPSHOT_FILE), items, nextSegment);
+                for (long old : segments().keySet()) {
+                    if (old < nextSegment) {
+                        Files.deleteIfExists(segmentPath(old));
+                    }
+                }
+                log.info("상품 스냅샷 저장 items={} nextSegment={}", items.size(), nextSegment);
+            } catch (IOException e) {
+                log.error("상품 스냅샷 저장 실패 nextSegment={}", nextSegment, e);
+            }
+        });
+    }
+
+    /**
+     * 스냅샷을 읽고 그 뒤의 로그를 순서대로 적용한 뒤, 새로 쓸 로그 번호를 돌려준다.
+     * 깨진 레코드(기록 도중 종료 등)를 만나면 그 로그 파일의 나머지는 버린다.
+     */
+    private long recover() throws IOException {
+        long startedAt = System.nanoTime();
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        long fromSegment = Files.exists(snapshot) ? ItemLogCodec.readSnapshot(snapshot, delegate) : 0;
+
+        long nextSegment = fromSegment;
+        int replayed = 0;
+        for (Long number : segments().keySet()) {
+            nextSegment = Math.max(nextSegment, number + 1);
+            if (number < fromSegment) {
+                continue;
+            }
+            try (FileChannel segmentChannel = FileChannel.open(segmentPath(number), StandardOpenOption.READ)) {
+                boolean clean = ItemLogCodec.replay(
+                        segmentChannel.map(FileChannel.MapMode.READ_ONLY, 0, segmentChannel.size()), delegate);
+                if (!clean) {
+                    log.warn("상품 로그 끝부분이 손상되어 무시합니다. {}", segmentPath(number));
+                }
+            }
+            replayed++;
+        }
+        log.info("상품 저장소 복구 snapshot={} replayedSegments={} elapsed={}ms",
+                Files.exists(snapshot), replayed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return nextSegment;
+    }
+
+    private TreeMap<Long, Path> segments() throws IOException {
+        TreeMap<Long, Path> segments = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String number = name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length());
+                try {
+                    segments.put(Long.parseLong(number), file);
+                } catch (NumberFormatException e) {
+                    log.warn("알 수 없는 로그 파일을 건너뜁니다. {}", file);
+                }
+            }
+        }
+        return segments;
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * 새 파일이면 형식 버전 헤더부터 쓴다.
+     */
+    private FileChannel openSegment(long number) throws IOException {
+        FileChannel segmentChannel = segmentOpener.open(segmentPath(number));
+        try {
+            if (segmentChannel.size() == 0) {
+                ByteBuffer header = ItemLogCodec.segmentHeader();
+                while (header.hasRemaining()) {
+                    segmentChannel.write(header);
+                }
+            }
+        } catch (IOException e) {
+            closeQuietly(segmentChannel);
+            throw e;
+        }
+        return segmentChannel;
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("상품 로그 파일을 닫지 못했습니다.", e);
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * 로그 파일을 쓰기(APPEND)용으로 연다. 테스트에서 기록 실패를 흉내 낼 때 바꾼다.
+     */
+    interface SegmentOpener {
+
+        FileChannel open(Path path) throws IOException;
+    }
+
+    private static final class Pending {
+
+        private final ByteBuffer record;
+        private final Item item; //기록한 뒤 delegate 에 넣을 값 (CLEAR 면 null)
+        private final boolean clear;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Pending(ByteBuffer record, Item item, boolean clear) {
+            this.record = record;
+            this.item = item;
+            this.clear = clear;
+        }
+
+        /**
+         * 기록 스레드가 멈춰도 영원히 기다리지 않는다. 시간이 지나면 결과를 알 수 없다는 뜻으로 IllegalStateException
+         */
+        void await() {
+            try {
+                done.get(AWAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw new UncheckedIOException("상품 로그를 기록하지 못했습니다.", (IOException) e.getCause());
+                }
+                throw new IllegalStateException("상품 로그를 기록하지 못했습니다.", e.getCause());
+            } catch (TimeoutException e) {
+                throw new IllegalStateException("상품 로그 기록을 기다리다 시간이 초과되었습니다. (반영 여부를 알 수 없습니다)", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("상품 로그 기록을 기다리다 중단되었습니다. (반영 여부를 알 수 없습니다)", e);
+            }
+        }
+    }
+}
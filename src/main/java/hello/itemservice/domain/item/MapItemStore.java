@@ -0,0 +1,95 @@
+package hello.itemservice.domain.item;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Item 객체를 그대로 보관하는 기본 저장소
+ * id 순으로 정렬되어 있어 커서(keyset) 조회를 바로 할 수 있다.
+ * 저장된 Item 은 수정하지 않고 교체만 하므로, 조회 중인 Item 이 중간 상태로 보이는 일이 없다.
+ */
+public class MapItemStore implements ItemStore {
+
+    private final ConcurrentNavigableMap<Long, Item> store = new ConcurrentSkipListMap<>();
+
+    @Override
+    public void put(Item item) {
+        store.put(item.getId(), item);
+    }
+
+    @Override
+    public Item get(Long id) {
+        return store.get(id);
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return new ArrayList<>(store.values());
+    }
+
+    @Override
+    public Long maxId() {
+        Map.Entry<Long, Item> last = store.lastEntry();
+        return last == null ? null : last.getKey();
+    }
+
+    @Override
+    public List<Item> findRange(int offset, int limit) {
+        List<Item> result = new ArrayList<>(limit);
+        int index = 0;
+        for (Item item : store.values()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (index++ >= offset) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Item> findAfter(Long afterId, int limit) {
+        Collection<Item> items = afterId == null ? store.values() : store.tailMap(afterId, false).values();
+        List<Item> result = new ArrayList<>(limit);
+        for (Item item : items) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(item);
+        }
+        return result;
+    }
+
+    /**
+     * 읽은 Item 이 그대로 있을 때만 교체(compare-and-swap)하고, 그 사이 다른 수정이 있었으면
+     * expectedVersion 이 없을 때는 다시 시도하고, 있을 때는 실패한다.
+     */
+    @Override
+    public Item update(Long id, Item updateParam, Long expectedVersion) {
+        while (true) {
+            Item current = store.get(id);
+            if (current == null) {
+                return null;
+            }
+            long currentVersion = current.getVersion() == null ? 0 : current.getVersion();
+            if (expectedVersion != null && expectedVersion != currentVersion) {
+                return null;
+            }
+            Item next = new ItemSnapshot(id, updateParam.getItemName(), updateParam.getPrice(),
+                    updateParam.getQuantity(), currentVersion + 1);
+            if (store.replace(id, current, next)) {
+                return next;
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+    }
+}
@@ -0,0 +1,26 @@
+package hello.itemservice.domain.item;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 가격 * 수량의 합이 value 이상이어야 한다는 클래스 단위 규칙
+ * 오류 코드는 totalPriceMin, 인자는 {value, 현재 합계} 이다.
+ * 가격이나 수량 필드 검증이 이미 실패했으면 검사하지 않는다.
+ */
+@Documented
+@Inherited
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TotalPriceMin {
+
+    long value();
+
+    String price() default "price";
+
+    String quantity() default "quantity";
+}
@@ -0,0 +1,148 @@
+package hello.itemservice.domain.item.change;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemStore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 저장소에 쓰기가 성공하면 변경 이벤트를 ItemChangeFeed 에 발행한다. (조회는 delegate 에 그대로 위임)
+ * ItemRepository 의 save, saveAll, update, clearStore 가 각각 put, putAll, update, clear 로 들어온다.
+ * 발행은 링 버퍼에 넣기만 하므로 sink 가 느려도 쓰기 요청은 기다리지 않는다. (item.change.overflow=block 제외)
+ * 저장소 쓰기와 발행을 id 로 나눈 락 안에서 함께 해서, 같은 상품의 이벤트는 저장소에 반영된 순서(version 순)대로 발행된다.
+ * putAll, clear 는 관련된 락을 모두 잡는다. (항상 번호 순으로 잡으므로 교착되지 않는다)
+ */
+public class ChangeFeedItemStore implements ItemStore, Closeable {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final ItemStore delegate;
+    private final ItemChangeFeed feed;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    public ChangeFeedItemStore(ItemStore delegate, ItemChangeFeed feed) {
+        this.delegate = delegate;
+        this.feed = feed;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public void put(Item item) {
+        ReentrantLock lock = locks[stripeOf(item.getId())];
+        lock.lock();
+        try {
+            delegate.put(item);
+            feed.publish(ItemChange.saved(item));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void putAll(List<Item> items) {
+        boolean[] stripes = new boolean[LOCK_STRIPES];
+        for (Item item : items) {
+            stripes[stripeOf(item.getId())] = true;
+        }
+        lockAll(stripes);
+        try {
+            delegate.putAll(items);
+            for (Item item : items) {
+                feed.publish(ItemChange.saved(item));
+            }
+        } finally {
+            unlockAll(stripes);
+        }
+    }
+
+    @Override
+    public Item update(Long id, Item updateParam, Long expectedVersion) {
+        ReentrantLock lock = locks[stripeOf(id)];
+        lock.lock();
+        try {
+            Item updated = delegate.update(id, updateParam, expectedVersion);
+            if (updated != null) {
+                feed.publish(ItemChange.updated(updated));
+            }
+            return updated;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        boolean[] stripes = new boolean[LOCK_STRIPES];
+        Arrays.fill(stripes, true);
+        lockAll(stripes);
+        try {
+            delegate.clear();
+            feed.publish(ItemChange.cleared());
+        } finally {
+            unlockAll(stripes);
+        }
+    }
+
+    @Override
+    public boolean assignIds(List<Item> items) {
+        return delegate.assignIds(items);
+    }
+
+    @Override
+    public Item get(Long id) {
+        return delegate.get(id);
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Long maxId() {
+        return delegate.maxId();
+    }
+
+    @Override
+    public List<Item> findRange(int offset, int limit) {
+        return delegate.findRange(offset, limit);
+    }
+
+    @Override
+    public List<Item> findAfter(Long afterId, int limit) {
+        return delegate.findAfter(afterId, limit);
+    }
+
+    private static int stripeOf(Long id) {
+        return id == null ? 0 : (int) Math.floorMod(id, (long) LOCK_STRIPES);
+    }
+
+    private void lockAll(boolean[] stripes) {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            if (stripes[i]) {
+                locks[i].lock();
+            }
+        }
+    }
+
+    private void unlockAll(boolean[] stripes) {
+        for (int i = LOCK_STRIPES - 1; i >= 0; i--) {
+            if (stripes[i]) {
+                locks[i].unlock();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable) {
+            ((Closeable) delegate).close();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package hello.itemservice.domain.item.change;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 변경 이벤트를 파일 끝에 JSON Lines (한 줄에 이벤트 하나)로 덧붙인다.
+ * 묶음마다 flush 하지만 fsync 는 하지 않는다. (운영체제가 죽으면 마지막 묶음이 없을 수 있다)
+ */
+public class FileItemChangeSink implements ItemChangeSink, Closeable {
+
+    private static final ObjectWriter writer = new ObjectMapper().writerFor(ItemChange.class);
+
+    private final BufferedWriter out;
+
+    public FileItemChangeSink(Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void accept(List<ItemChange> changes) throws IOException {
+        for (ItemChange change : changes) {
+            out.write(writer.writeValueAsString(change));
+            out.newLine();
+        }
+        out.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,52 @@
+package hello.itemservice.domain.item.change;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import hello.itemservice.domain.item.Item;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 상품 변경 이벤트. 변경된 뒤의 값을 발행 시점에 복사해 둔다. (CLEAR 는 type 만)
+ * 같은 상품의 이벤트는 version 순서대로 도착한다. (버퍼가 가득 차서 버린 이벤트는 빠진다, item.change.overflow=drop)
+ */
+@Getter
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public final class ItemChange {
+
+    public enum Type {
+        SAVE, UPDATE, CLEAR
+    }
+
+    private final Type type;
+    private final Long id;
+    private final Long version;
+    private final String itemName;
+    private final Integer price;
+    private final Integer quantity;
+    @JsonIgnore
+    private final long publishedNanos; //발행 시각 (System.nanoTime, 전달 지연 계산용)
+
+    private ItemChange(Type type, Item item) {
+        this.type = type;
+        this.id = item == null ? null : item.getId();
+        this.version = item == null ? null : item.getVersion();
+        this.itemName = item == null ? null : item.getItemName();
+        this.price = item == null ? null : item.getPrice();
+        this.quantity = item == null ? null : item.getQuantity();
+        this.publishedNanos = System.nanoTime();
+    }
+
+    public static ItemChange saved(Item item) {
+        return new ItemChange(Type.SAVE, item);
+    }
+
+    public static ItemChange updated(Item item) {
+        return new ItemChange(Type.UPDATE, item);
+    }
+
+    public static ItemChange cleared() {
+        return new ItemChange(Type.CLEAR, null);
+    }
+}
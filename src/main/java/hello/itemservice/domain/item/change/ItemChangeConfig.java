@@ -0,0 +1,115 @@
+package hello.itemservice.domain.item.change;
+
+import hello.itemservice.domain.item.ItemCacheConfig;
+import hello.itemservice.domain.item.ItemStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.stream.Collectors;
+
+/**
+ * item.change.enabled=true 면 상품 저장, 수정, 전체 삭제를 변경 이벤트로 만들어 ItemChangeSink 빈들에 전달한다.
+ * - item.change.file.enabled=true 면 item.change.file.path 에 JSON Lines 로 기록하는 sink 를 등록한다.
+ * - 다른 sink 는 ItemChangeSink 빈으로 등록하면 된다.
+ * 조회: /actuator/metrics/item.change.published, item.change.delivered, item.change.dropped, item.change.blocked,
+ * item.change.sink.errors, item.change.lag, item.change.delay
+ */
+@Configuration
+@ConditionalOnProperty(name = "item.change.enabled", havingValue = "true")
+public class ItemChangeConfig {
+
+    /**
+     * 캐시(ItemCacheConfig)보다 먼저(안쪽에) 감싸서, 캐시를 켜도 ItemStore 빈은 CachingItemStore 로 남는다.
+     */
+    public static final int POST_PROCESSOR_ORDER = ItemCacheConfig.POST_PROCESSOR_ORDER - 10;
+
+    @Bean(destroyMethod = "close")
+    public ItemChangeFeed itemChangeFeed(ObjectProvider<ItemChangeSink> sinks,
+                                         @Value("${item.change.stripes:2}") int stripes,
+                                         @Value("${item.change.buffer-size:8192}") int bufferSize,
+                                         @Value("${item.change.batch-size:256}") int batchSize,
+                                         @Value("${item.change.overflow:drop}") String overflow) {
+        return new ItemChangeFeed(sinks.orderedStream().collect(Collectors.toList()),
+                stripes, bufferSize, batchSize, overflow(overflow));
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "item.change.file.enabled", havingValue = "true")
+    public FileItemChangeSink fileItemChangeSink(
+            @Value("${item.change.file.path:./data/item-changes.jsonl}") String path) throws IOException {
+        return new FileItemChangeSink(Paths.get(path));
+    }
+
+    /**
+     * ItemStore 빈을 쓰기마다 변경 이벤트를 발행하는 ChangeFeedItemStore 로 감싼다.
+     */
+    @Bean
+    public static ChangeFeedPostProcessor changeFeedPostProcessor(ObjectProvider<ItemChangeFeed> feed) {
+        return new ChangeFeedPostProcessor(feed);
+    }
+
+    @Bean
+    public MeterBinder itemChangeMetrics(ItemChangeFeed feed) {
+        return registry -> {
+            FunctionCounter.builder("item.change.published", feed, ItemChangeFeed::getPublishedCount)
+                    .register(registry);
+            FunctionCounter.builder("item.change.delivered", feed, ItemChangeFeed::getDeliveredCount)
+                    .register(registry);
+            FunctionCounter.builder("item.change.dropped", feed, ItemChangeFeed::getDroppedCount)
+                    .register(registry);
+            FunctionCounter.builder("item.change.blocked", feed, ItemChangeFeed::getBlockedCount)
+                    .register(registry);
+            FunctionCounter.builder("item.change.sink.errors", feed, ItemChangeFeed::getSinkErrorCount)
+                    .register(registry);
+            Gauge.builder("item.change.lag", feed, ItemChangeFeed::getLag).register(registry);
+            Gauge.builder("item.change.delay", feed, ItemChangeFeed::getLastDelaySeconds)
+                    .baseUnit("seconds").register(registry);
+        };
+    }
+
+    /**
+     * 순서(Ordered)를 가지려면 빈 타입에 드러나야 하므로 익명 클래스 대신 이름을 붙인다.
+     */
+    static final class ChangeFeedPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<ItemChangeFeed> feed;
+
+        ChangeFeedPostProcessor(ObjectProvider<ItemChangeFeed> feed) {
+            this.feed = feed;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof ItemStore) || bean instanceof ChangeFeedItemStore) {
+                return bean;
+            }
+            return new ChangeFeedItemStore((ItemStore) bean, feed.getObject());
+        }
+
+        @Override
+        public int getOrder() {
+            return POST_PROCESSOR_ORDER;
+        }
+    }
+
+    private static ItemChangeFeed.Overflow overflow(String overflow) {
+        switch (overflow) {
+            case "drop":
+                return ItemChangeFeed.Overflow.DROP;
+            case "block":
+                return ItemChangeFeed.Overflow.BLOCK;
+            default:
+                throw new IllegalArgumentException("item.change.overflow 는 drop 또는 block 이어야 합니다. overflow=" + overflow);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package hello.itemservice.domain.item.change;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 상품 변경 이벤트를 요청 스레드에서 받아 sink 들에 묶음(batch)으로 나눠 전달한다.
+ * - 이벤트는 상품 id 로 고른 stripe 의 링 버퍼(ItemChangeRing)에 넣기만 하고, 전달은 stripe 마다 하나인 전달 스레드가 한다.
+ * - 전달 스레드는 한 번에 batchSize 개까지 꺼내서 모든 sink 에 차례로 넘긴다. 버퍼가 비어 있으면 잠깐 쉬었다가 다시 본다.
+ * - 버퍼가 가득 차면 overflow 에 따라 이벤트를 버리거나(DROP) 자리가 날 때까지 기다린다(BLOCK).
+ * 지연(lag)은 버퍼에 들어왔지만 아직 sink 에 넘기지 않은 이벤트 수다.
+ */
+@Slf4j
+public class ItemChangeFeed implements Closeable {
+
+    public enum Overflow {
+        DROP, BLOCK
+    }
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+
+    private final List<ItemChangeSink> sinks;
+    private final Stripe[] stripes;
+    private final int batchSize;
+    private final Overflow overflow;
+    private volatile boolean running = true;
+
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder blockedCount = new LongAdder();
+    private final LongAdder sinkErrorCount = new LongAdder();
+    private volatile long lastDelayNanos;
+
+    public ItemChangeFeed(List<ItemChangeSink> sinks, int stripeCount, int bufferSize, int batchSize, Overflow overflow) {
+        if (stripeCount <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("stripeCount, batchSize 는 0 보다 커야 합니다.");
+        }
+        this.sinks = List.copyOf(sinks);
+        this.batchSize = batchSize;
+        this.overflow = overflow;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            Stripe stripe = new Stripe(new ItemChangeRing(bufferSize));
+            String name = "item-change-" + i;
+            stripe.thread = new Thread(() -> dispatch(stripe), name);
+            stripe.thread.setDaemon(true);
+            stripes[i] = stripe;
+        }
+        for (Stripe stripe : stripes) {
+            stripe.thread.start();
+        }
+    }
+
+    /**
+     * 같은 상품의 이벤트는 같은 stripe 에 들어가므로 발행 순서대로 전달된다. CLEAR 는 모든 stripe 에 넣는다.
+     */
+    public void publish(ItemChange change) {
+        if (change.getType() == ItemChange.Type.CLEAR) {
+            for (Stripe stripe : stripes) {
+                offer(stripe, change);
+            }
+            return;
+        }
+        offer(stripes[(int) Math.floorMod(change.getId(), (long) stripes.length)], change);
+    }
+
+    private void offer(Stripe stripe, ItemChange change) {
+        while (running) {
+            if (stripe.ring.offer(change)) {
+                return;
+            }
+            if (overflow == Overflow.DROP) {
+                break;
+            }
+            blockedCount.increment();
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+        droppedCount.increment();
+    }
+
+    private void dispatch(Stripe stripe) {
+        List<ItemChange> batch = new ArrayList<>(batchSize);
+        List<ItemChange> view = Collections.unmodifiableList(batch);
+        while (true) {
+            if (stripe.ring.drainTo(batch, batchSize) == 0) {
+                if (!running && stripe.ring.isEmpty()) {
+                    return;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            deliver(view);
+            stripe.delivered.addAndGet(batch.size());
+            batch.clear();
+        }
+    }
+
+    private void deliver(List<ItemChange> batch) {
+        for (ItemChangeSink sink : sinks) {
+            try {
+                sink.accept(batch);
+            } catch (Exception e) {
+                sinkErrorCount.increment();
+                log.warn("상품 변경 이벤트 전달 실패 sink={}, count={}", sink.getClass().getSimpleName(), batch.size(), e);
+            }
+        }
+        lastDelayNanos = System.nanoTime() - batch.get(0).getPublishedNanos();
+    }
+
+    /**
+     * 새 이벤트를 더 받지 않고, 버퍼에 남은 이벤트를 모두 전달한 뒤 전달 스레드를 끝낸다.
+     */
+    @Override
+    public void close() {
+        running = false;
+        for (Stripe stripe : stripes) {
+            LockSupport.unpark(stripe.thread);
+        }
+        for (Stripe stripe : stripes) {
+            try {
+                stripe.thread.join(CLOSE_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (stripe.thread.isAlive()) {
+                log.warn("상품 변경 이벤트 전달 스레드가 끝나지 않았습니다. thread={}, lag={}",
+                        stripe.thread.getName(), stripe.ring.offered() - stripe.delivered.get());
+            }
+        }
+    }
+
+    public long getPublishedCount() {
+        long published = 0;
+        for (Stripe stripe : stripes) {
+            published += stripe.ring.offered();
+        }
+        return published;
+    }
+
+    public long getDeliveredCount() {
+        long delivered = 0;
+        for (Stripe stripe : stripes) {
+            delivered += stripe.delivered.get();
+        }
+        return delivered;
+    }
+
+    /**
+     * 버퍼에 들어왔지만 아직 sink 에 넘기지 않은 이벤트 수
+     */
+    public long getLag() {
+        return getPublishedCount() - getDeliveredCount();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * overflow=BLOCK 에서 버퍼가 가득 차서 기다린 횟수
+     */
+    public long getBlockedCount() {
+        return blockedCount.sum();
+    }
+
+    public long getSinkErrorCount() {
+        return sinkErrorCount.sum();
+    }
+
+    /**
+     * 마지막으로 전달한 묶음의 첫 이벤트가 발행된 뒤 전달이 끝날 때까지 걸린 시간
+     */
+    public double getLastDelaySeconds() {
+        return lastDelayNanos / 1e9;
+    }
+
+    private static final class Stripe {
+        final ItemChangeRing ring;
+        final AtomicLong delivered = new AtomicLong();
+        Thread thread;
+
+        Stripe(ItemChangeRing ring) {
+            this.ring = ring;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package hello.itemservice.domain.item.change;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 크기가 고정된 락 없는 링 버퍼 (쓰는 스레드 여럿, 읽는 스레드 하나)
+ * - 칸마다 sequence 를 두고, 쓰는 쪽은 tail 을 CAS 로 한 칸 차지한 뒤 값을 넣고 sequence 를 pos + 1 로 바꿔서 공개한다.
+ * - 읽는 쪽은 sequence 가 pos + 1 인 칸까지만 꺼내고, sequence 를 pos + capacity 로 바꿔서 다음 바퀴에 칸을 돌려준다.
+ * 가득 차면 offer 는 기다리지 않고 false 를 돌려준다.
+ */
+final class ItemChangeRing {
+
+    private final ItemChange[] buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head; //읽는 스레드만 바꾼다.
+
+    ItemChangeRing(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity 는 2 의 거듭제곱이어야 합니다. " + capacity);
+        }
+        this.buffer = new ItemChange[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(ItemChange change) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer[index] = change;
+                    sequences.lazySet(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 공개된 이벤트를 max 개까지 순서대로 꺼내서 changes 에 담는다. (읽는 스레드 하나만 호출한다)
+     */
+    int drainTo(List<ItemChange> changes, int max) {
+        long pos = head;
+        int count = 0;
+        while (count < max) {
+            int index = (int) pos & mask;
+            if (sequences.get(index) != pos + 1) {
+                break;
+            }
+            changes.add(buffer[index]);
+            buffer[index] = null;
+            sequences.lazySet(index, pos + buffer.length);
+            pos++;
+            count++;
+        }
+        head = pos;
+        return count;
+    }
+
+    /**
+     * 지금까지 버퍼에 들어온 이벤트 수
+     */
+    long offered() {
+        return tail.get();
+    }
+
+    /**
+     * 칸을 차지했지만 아직 꺼내지 않은 이벤트가 없으면 true
+     */
+    boolean isEmpty() {
+        return tail.get() == head;
+    }
+}
@@ -0,0 +1,14 @@
+package hello.itemservice.domain.item.change;
+
+import java.util.List;
+
+/**
+ * 상품 변경 이벤트를 받는 곳 (검색 색인, 가격 계산 등). ItemChangeSink 빈은 모두 ItemChangeFeed 에 등록된다.
+ * - stripe 마다 전달 스레드가 따로 있으므로 여러 스레드에서 동시에 호출될 수 있다.
+ * - 같은 상품의 이벤트는 항상 같은 스레드에서 발행 순서대로 전달된다. CLEAR 는 stripe 마다 한 번씩 전달된다.
+ * - 예외를 던지면 그 묶음은 이 sink 에 다시 보내지 않는다. (item.change.sink.errors 에 집계)
+ */
+public interface ItemChangeSink {
+
+    void accept(List<ItemChange> changes) throws Exception;
+}
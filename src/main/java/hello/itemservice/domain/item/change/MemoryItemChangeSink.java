@@ -0,0 +1,38 @@
+package hello.itemservice.domain.item.change;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 받은 변경 이벤트를 메모리에 모아 두는 sink (테스트, 로컬 확인용)
+ */
+public class MemoryItemChangeSink implements ItemChangeSink {
+
+    private final List<ItemChange> changes = new ArrayList<>();
+
+    @Override
+    public synchronized void accept(List<ItemChange> changes) {
+        this.changes.addAll(changes);
+        notifyAll();
+    }
+
+    public synchronized List<ItemChange> getChanges() {
+        return new ArrayList<>(changes);
+    }
+
+    /**
+     * 이벤트가 count 개 이상 모일 때까지 최대 timeoutMillis 기다린다.
+     * @return count 개 이상 모였으면 true
+     */
+    public synchronized boolean await(int count, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (changes.size() < count) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+}
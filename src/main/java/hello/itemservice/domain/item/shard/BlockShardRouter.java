@@ -0,0 +1,48 @@
+package hello.itemservice.domain.item.shard;
+
+/**
+ * id 를 blockSize 개씩 묶은 블록을 shard 에 번갈아 배정한다. (블록 b 는 shard b % shardCount)
+ * 연속된 id 는 같은 shard 에 모이고, shard 마다 블록을 따로 발급하므로 동시에 저장해도 서로 다른 shard 에 들어간다.
+ */
+public class BlockShardRouter implements ShardRouter {
+
+    private final int shardCount;
+    private final int blockSize;
+
+    public BlockShardRouter(int shardCount, int blockSize) {
+        if (shardCount <= 0 || blockSize <= 0) {
+            throw new IllegalArgumentException("shardCount, blockSize 는 0 보다 커야 합니다.");
+        }
+        this.shardCount = shardCount;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public int shardCount() {
+        return shardCount;
+    }
+
+    @Override
+    public int blockSize() {
+        return blockSize;
+    }
+
+    @Override
+    public int shardOf(long id) {
+        return (int) Math.floorMod(block(id), (long) shardCount);
+    }
+
+    @Override
+    public long nextBlockStart(int shard, long afterId) {
+        long next = afterId <= 0 ? 0 : block(afterId) + 1;
+        next += Math.floorMod(shard - next, (long) shardCount);
+        return next * blockSize + 1;
+    }
+
+    /**
+     * id 1 ~ blockSize 가 블록 0
+     */
+    private long block(long id) {
+        return Math.floorDiv(id - 1, (long) blockSize);
+    }
+}
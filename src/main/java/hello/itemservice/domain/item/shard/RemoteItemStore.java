@@ -0,0 +1,185 @@
+package hello.itemservice.domain.item.shard;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemStore;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 다른 인스턴스의 저장소를 HTTP 로 사용하는 shard (상대 인스턴스는 item.shard.server.enabled=true, web.shard.ShardItemController 참고)
+ * baseUrl 예: http://localhost:8081/internal/shard/items
+ * 요청마다 상대 인스턴스와 같은 item.shard.token 을 TOKEN_HEADER 에 담아 보낸다.
+ * 상대 인스턴스는 상품을 직접 만들지 않고, id 블록은 reserveIdBlock 으로 상대에게 예약한 뒤에 쓴다.
+ * 요청이 실패하거나 예상하지 못한 응답을 받으면 IllegalStateException
+ */
+public class RemoteItemStore implements ItemStore {
+
+    public static final String TOKEN_HEADER = "X-Shard-Token";
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final TypeReference<List<Item>> ITEM_LIST = new TypeReference<>() {
+    };
+
+    private final String baseUrl;
+    private final String token;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(CONNECT_TIMEOUT)
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public RemoteItemStore(String baseUrl, String token) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.token = token;
+    }
+
+    @Override
+    public void put(Item item) {
+        putAll(List.of(item));
+    }
+
+    @Override
+    public void putAll(List<Item> items) {
+        send(request("").POST(json(items)), Void.class);
+    }
+
+    @Override
+    public Item get(Long id) {
+        return send(request("/" + id).GET(), Item.class);
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return send(request("/all").GET(), ITEM_LIST);
+    }
+
+    @Override
+    public Long maxId() {
+        return send(request("/max-id").GET(), Long.class);
+    }
+
+    @Override
+    public List<Item> findRange(int offset, int limit) {
+        return send(request("/range?offset=" + offset + "&limit=" + limit).GET(), ITEM_LIST);
+    }
+
+    @Override
+    public List<Item> findAfter(Long afterId, int limit) {
+        String after = afterId == null ? "" : "after=" + afterId + "&";
+        return send(request("?" + after + "limit=" + limit).GET(), ITEM_LIST);
+    }
+
+    @Override
+    public Item update(Long id, Item updateParam, Long expectedVersion) {
+        String query = expectedVersion == null ? "" : "?expectedVersion=" + expectedVersion;
+        return send(request("/" + id + query).PUT(json(updateParam)), Item.class);
+    }
+
+    @Override
+    public void clear() {
+        send(request("").DELETE(), Void.class);
+    }
+
+    /**
+     * 상대 인스턴스에 start 부터 size 개의 id 를 예약한다.
+     * 같은 shard 서버를 여러 인스턴스가 써도 예약한 블록은 겹치지 않는다.
+     * @return 예약했으면 null, 이미 예약되었거나 저장된 id 와 겹치면 상대가 지금까지 내어 준 가장 큰 id
+     */
+    public Long reserveIdBlock(long start, int size) {
+        HttpRequest request = request("/id-block?start=" + start + "&size=" + size)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        HttpResponse<byte[]> response = exchange(request);
+        if (response.statusCode() == 409) {
+            return read(response.body(), Long.class);
+        }
+        check(request, response);
+        return null;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .header(TOKEN_HEADER, token);
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException("shard 요청을 만들 수 없습니다. " + baseUrl, e);
+        }
+    }
+
+    private <T> T send(HttpRequest.Builder request, Class<T> type) {
+        byte[] body = send(request);
+        return body == null || type == Void.class ? null : read(body, type);
+    }
+
+    private <T> T send(HttpRequest.Builder request, TypeReference<T> type) {
+        byte[] body = send(request);
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new IllegalStateException("shard 응답을 읽을 수 없습니다. " + baseUrl, e);
+        }
+    }
+
+    /**
+     * 404, 204 는 상품 없음(null)
+     */
+    private byte[] send(HttpRequest.Builder builder) {
+        HttpRequest request = builder.build();
+        HttpResponse<byte[]> response = exchange(request);
+        if (response.statusCode() == 404 || response.statusCode() == 204) {
+            return null;
+        }
+        check(request, response);
+        return response.body();
+    }
+
+    private HttpResponse<byte[]> exchange(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException("shard 요청 실패 " + request.method() + " " + request.uri(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("shard 요청 중 인터럽트 " + request.method() + " " + request.uri(), e);
+        }
+    }
+
+    private void check(HttpRequest request, HttpResponse<byte[]> response) {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("shard 응답 오류 " + response.statusCode() + " " + request.method()
+                    + " " + request.uri());
+        }
+    }
+
+    private <T> T read(byte[] body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new IllegalStateException("shard 응답을 읽을 수 없습니다. " + baseUrl, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteItemStore(" + baseUrl + ")";
+    }
+}
@@ -0,0 +1,19 @@
+package hello.itemservice.domain.item.shard;
+
+/**
+ * 상품 id 로 저장할 shard 를 고른다. shard 는 같은 프로세스의 저장소일 수도, 다른 인스턴스(RemoteItemStore)일 수도 있다.
+ * 새 id 는 shard 마다 블록 단위로 발급하므로, 블록 안의 id 는 모두 같은 shard 로 가야 한다.
+ */
+public interface ShardRouter {
+
+    int shardCount();
+
+    int blockSize();
+
+    int shardOf(long id);
+
+    /**
+     * shard 에 저장되는 블록 중 afterId 보다 뒤에 있는 첫 블록의 시작 id (블록은 [시작, 시작 + blockSize))
+     */
+    long nextBlockStart(int shard, long afterId);
+}
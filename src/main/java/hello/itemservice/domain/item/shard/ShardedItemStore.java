@@ -0,0 +1,247 @@
+package hello.itemservice.domain.item.shard;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemStore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * 상품을 id 로 나눠 여러 저장소(shard)에 보관한다.
+ * - id 발급: 전역 sequence 대신 shard 마다 ShardRouter 가 정한 블록을 하나씩 받아 그 안에서 발급한다.
+ *   저장하는 스레드는 스레드 id 로 shard 하나를 골라 계속 쓰므로, 동시에 저장해도 서로 다른 shard 와 블록을 쓴다.
+ * - 조회, 수정은 id 로 shard 를 찾아 위임한다.
+ * - findAll, findAfter, findRange 는 모든 shard 에 물어보고(scatter) id 순으로 합친다(gather).
+ *   다른 인스턴스(RemoteItemStore) shard 가 있으면 shard 들에 동시에 요청한다.
+ * 각 shard 가 이미 가진 상품이 있으면 그 shard 의 가장 큰 id(maxId) 뒤 블록부터 발급한다.
+ * 가장 큰 id 는 그 shard 에서 처음 발급할 때 읽으므로, 다른 인스턴스 shard 가 내려가 있어도 생성은 실패하지 않는다.
+ * 다른 인스턴스(RemoteItemStore) shard 의 블록은 그 인스턴스에 예약하고 쓴다. (RemoteItemStore.reserveIdBlock)
+ * 같은 shard 서버를 여러 인스턴스가 함께 써도 id 가 겹쳐 서로의 상품을 덮어쓰지 않는다.
+ */
+public class ShardedItemStore implements ItemStore, Closeable {
+
+    private final List<ItemStore> shards;
+    private final ShardRouter router;
+    private final IdBlock[] idBlocks;
+    private final ExecutorService gatherExecutor; //모든 shard 가 같은 프로세스에 있으면 null
+
+    public ShardedItemStore(List<ItemStore> shards, ShardRouter router) {
+        if (shards.size() != router.shardCount()) {
+            throw new IllegalArgumentException("shard 수가 router 와 다릅니다. shards=" + shards.size()
+                    + ", router=" + router.shardCount());
+        }
+        this.shards = List.copyOf(shards);
+        this.router = router;
+        this.idBlocks = new IdBlock[shards.size()];
+        for (int i = 0; i < shards.size(); i++) {
+            idBlocks[i] = new IdBlock(i);
+        }
+        this.gatherExecutor = shards.stream().anyMatch(shard -> shard instanceof RemoteItemStore)
+                ? Executors.newFixedThreadPool(shards.size(), runnable -> {
+                    Thread thread = new Thread(runnable, "item-shard-gather");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    @Override
+    public boolean assignIds(List<Item> items) {
+        IdBlock idBlock = idBlocks[(int) (Thread.currentThread().getId() % idBlocks.length)];
+        idBlock.assign(items);
+        return true;
+    }
+
+    @Override
+    public void put(Item item) {
+        shardOf(item.getId()).put(item);
+    }
+
+    @Override
+    public void putAll(List<Item> items) {
+        List<List<Item>> byShard = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            byShard.add(new ArrayList<>());
+        }
+        for (Item item : items) {
+            byShard.get(router.shardOf(item.getId())).add(item);
+        }
+        for (int i = 0; i < shards.size(); i++) {
+            if (!byShard.get(i).isEmpty()) {
+                shards.get(i).putAll(byShard.get(i));
+            }
+        }
+    }
+
+    @Override
+    public Item get(Long id) {
+        return id == null ? null : shardOf(id).get(id);
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return merge(gather(ItemStore::findAll), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Long maxId() {
+        Long max = null;
+        for (ItemStore shard : shards) {
+            Long id = shard.maxId();
+            if (id != null && (max == null || id > max)) {
+                max = id;
+            }
+        }
+        return max;
+    }
+
+    /**
+     * 앞의 offset 개를 건너뛰려면 shard 마다 offset + limit 개를 받아서 합쳐야 하므로 offset 이 크면 느리다.
+     * (findAfter 를 쓰는 커서 조회를 권장)
+     */
+    @Override
+    public List<Item> findRange(int offset, int limit) {
+        int size = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        List<Item> merged = merge(gather(shard -> shard.findRange(0, size)), size);
+        return offset >= merged.size() ? new ArrayList<>() : new ArrayList<>(merged.subList(offset, merged.size()));
+    }
+
+    @Override
+    public List<Item> findAfter(Long afterId, int limit) {
+        return merge(gather(shard -> shard.findAfter(afterId, limit)), limit);
+    }
+
+    @Override
+    public Item update(Long id, Item updateParam, Long expectedVersion) {
+        return shardOf(id).update(id, updateParam, expectedVersion);
+    }
+
+    @Override
+    public void clear() {
+        gather(shard -> {
+            shard.clear();
+            return List.of();
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (gatherExecutor != null) {
+            gatherExecutor.shutdown();
+        }
+        for (ItemStore shard : shards) {
+            if (shard instanceof Closeable) {
+                ((Closeable) shard).close();
+            }
+        }
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public ItemStore shard(int index) {
+        return shards.get(index);
+    }
+
+    private ItemStore shardOf(long id) {
+        return shards.get(router.shardOf(id));
+    }
+
+    private List<List<Item>> gather(Function<ItemStore, List<Item>> query) {
+        List<List<Item>> results = new ArrayList<>(shards.size());
+        if (gatherExecutor == null) {
+            for (ItemStore shard : shards) {
+                results.add(query.apply(shard));
+            }
+            return results;
+        }
+
+        List<CompletableFuture<List<Item>>> futures = new ArrayList<>(shards.size());
+        for (ItemStore shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(shard), gatherExecutor));
+        }
+        for (CompletableFuture<List<Item>> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    /**
+     * id 순으로 정렬된 목록들을 id 순으로 합쳐서 앞에서 limit 개
+     */
+    static List<Item> merge(List<List<Item>> sorted, int limit) {
+        long total = 0;
+        for (List<Item> items : sorted) {
+            total += items.size();
+        }
+        List<Item> result = new ArrayList<>((int) Math.min(total, limit));
+        int[] positions = new int[sorted.size()];
+        while (result.size() < limit) {
+            int min = -1;
+            for (int i = 0; i < sorted.size(); i++) {
+                List<Item> items = sorted.get(i);
+                if (positions[i] < items.size() && (min < 0
+                        || items.get(positions[i]).getId() < sorted.get(min).get(positions[min]).getId())) {
+                    min = i;
+                }
+            }
+            if (min < 0) {
+                break;
+            }
+            result.add(sorted.get(min).get(positions[min]++));
+        }
+        return result;
+    }
+
+    /**
+     * shard 하나의 id 발급기. 현재 블록을 다 쓰면 ShardRouter 에서 이 shard 의 다음 블록을 받는다.
+     * 다른 인스턴스 shard 는 가장 큰 id 를 읽지 않고, 블록을 예약할 때 상대가 알려 주는 id 뒤로 넘어간다.
+     */
+    private final class IdBlock {
+
+        private final int shard;
+        private boolean started;
+        private long next;
+        private long end; //현재 블록의 마지막 id + 1
+
+        IdBlock(int shard) {
+            this.shard = shard;
+        }
+
+        synchronized void assign(List<Item> items) {
+            ItemStore store = shards.get(shard);
+            if (!started) {
+                Long lastId = store instanceof RemoteItemStore ? null : store.maxId();
+                next = lastId == null ? 1 : lastId + 1;
+                end = next;
+                started = true;
+            }
+            for (Item item : items) {
+                if (next >= end) {
+                    next = nextBlockStart(store);
+                    end = next + router.blockSize();
+                }
+                item.setId(next++);
+            }
+        }
+
+        private long nextBlockStart(ItemStore store) {
+            long start = router.nextBlockStart(shard, next - 1);
+            if (!(store instanceof RemoteItemStore)) {
+                return start;
+            }
+            Long used;
+            while ((used = ((RemoteItemStore) store).reserveIdBlock(start, router.blockSize())) != null) {
+                start = router.nextBlockStart(shard, used);
+            }
+            return start;
+        }
+    }
+}
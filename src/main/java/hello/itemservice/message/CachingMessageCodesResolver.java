@@ -0,0 +1,101 @@
+package hello.itemservice.message;
+
+import org.springframework.lang.Nullable;
+import org.springframework.validation.MessageCodesResolver;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * (errorCode, objectName, field, fieldType) 별로 만들어진 메시지 코드 배열을 기억하는 MessageCodesResolver
+ * maxSize 를 넘으면 더 이상 저장하지 않고 delegate 로 바로 만든다.
+ */
+public class CachingMessageCodesResolver implements MessageCodesResolver {
+
+    private final MessageCodesResolver delegate;
+    private final int maxSize;
+    private final Map<Key, String[]> cache = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CachingMessageCodesResolver(MessageCodesResolver delegate, int maxSize) {
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName) {
+        return resolve(new Key(errorCode, objectName, null, null));
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName, String field, @Nullable Class<?> fieldType) {
+        return resolve(new Key(errorCode, objectName, field, fieldType));
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * 호출한 쪽에서 배열을 바꿔도 캐시가 오염되지 않도록 복사본을 돌려준다.
+     */
+    private String[] resolve(Key key) {
+        String[] codes = cache.get(key);
+        if (codes != null) {
+            hits.increment();
+            return codes.clone();
+        }
+        misses.increment();
+        codes = key.field == null
+                ? delegate.resolveMessageCodes(key.errorCode, key.objectName)
+                : delegate.resolveMessageCodes(key.errorCode, key.objectName, key.field, key.fieldType);
+        if (cache.size() < maxSize) {
+            cache.put(key, codes.clone());
+        }
+        return codes;
+    }
+
+    private static final class Key {
+
+        private final String errorCode;
+        private final String objectName;
+        private final String field;
+        private final Class<?> fieldType;
+
+        Key(String errorCode, String objectName, String field, Class<?> fieldType) {
+            this.errorCode = errorCode;
+            this.objectName = objectName;
+            this.field = field;
+            this.fieldType = fieldType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return errorCode.equals(other.errorCode)
+                    && objectName.equals(other.objectName)
+                    && Objects.equals(field, other.field)
+                    && fieldType == other.fieldType;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(errorCode, objectName, field, fieldType);
+        }
+    }
+}
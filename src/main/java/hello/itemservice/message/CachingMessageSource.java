@@ -0,0 +1,121 @@
+package hello.itemservice.message;
+
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.lang.Nullable;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MessageSourceResolvable(FieldError, ObjectError 등)의 코드 목록 중 실제로 메시지가 있는 코드를 locale 별로 기억한다.
+ * 두 번째 요청부터는 코드 목록을 차례로 찾지 않고 기억해 둔 코드 하나만 조회한다.
+ * 메시지가 하나도 없는 코드 목록은 기억해 두었다가 바로 delegate 의 기본 메시지 처리로 넘긴다.
+ */
+public class CachingMessageSource implements MessageSource {
+
+    private static final String NOT_FOUND = "";
+
+    private final MessageSource delegate;
+    private final int maxSize;
+    private final Map<Key, String> resolvedCodes = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CachingMessageSource(MessageSource delegate, int maxSize) {
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+    }
+
+    public MessageSource getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String getMessage(String code, @Nullable Object[] args, @Nullable String defaultMessage, Locale locale) {
+        return delegate.getMessage(code, args, defaultMessage, locale);
+    }
+
+    @Override
+    public String getMessage(String code, @Nullable Object[] args, Locale locale) throws NoSuchMessageException {
+        return delegate.getMessage(code, args, locale);
+    }
+
+    @Override
+    public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+        String[] codes = resolvable.getCodes();
+        if (codes == null || codes.length == 0) {
+            return delegate.getMessage(resolvable, locale);
+        }
+
+        Key key = new Key(locale == null ? Locale.getDefault() : locale, codes);
+        String resolvedCode = resolvedCodes.get(key);
+        if (resolvedCode != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            resolvedCode = findResolvedCode(codes, resolvable.getArguments(), locale);
+            if (resolvedCodes.size() < maxSize) {
+                resolvedCodes.put(key, resolvedCode);
+            }
+        }
+
+        if (NOT_FOUND.equals(resolvedCode)) {
+            return delegate.getMessage(resolvable, locale);
+        }
+        return delegate.getMessage(resolvedCode, resolvable.getArguments(), locale);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return resolvedCodes.size();
+    }
+
+    private String findResolvedCode(String[] codes, @Nullable Object[] args, Locale locale) {
+        for (String code : codes) {
+            if (delegate.getMessage(code, args, null, locale) != null) {
+                return code;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private static final class Key {
+
+        private final Locale locale;
+        private final String[] codes;
+        private final int hash;
+
+        Key(Locale locale, String[] codes) {
+            this.locale = locale;
+            this.codes = codes;
+            this.hash = 31 * locale.hashCode() + Arrays.hashCode(codes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash && locale.equals(other.locale) && Arrays.equals(codes, other.codes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
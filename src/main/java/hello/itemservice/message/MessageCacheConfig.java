@@ -0,0 +1,53 @@
+package hello.itemservice.message;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * message.cache.enabled=true (기본) 면
+ * - 바인딩 오류 코드 생성에 CachingMessageCodesResolver 를 사용하고
+ * - messageSource 빈을 CachingMessageSource 로 감싼다.
+ *   PrecompiledMessageSource(message.source=precompiled)는 이미 메시지를 미리 만들어 두므로 감싸지 않는다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "message.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class MessageCacheConfig implements WebMvcConfigurer {
+
+    @Value("${message.cache.max-size:10000}")
+    private int maxSize;
+
+    @Bean
+    public CachingMessageCodesResolver cachingMessageCodesResolver() {
+        return new CachingMessageCodesResolver(new DefaultMessageCodesResolver(), maxSize);
+    }
+
+    @Override
+    public MessageCodesResolver getMessageCodesResolver() {
+        return cachingMessageCodesResolver();
+    }
+
+    @Bean
+    public static BeanPostProcessor cachingMessageSourcePostProcessor(Environment environment) {
+        int maxSize = environment.getProperty("message.cache.max-size", Integer.class, 10000);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (AbstractApplicationContext.MESSAGE_SOURCE_BEAN_NAME.equals(beanName)
+                        && bean instanceof MessageSource && !(bean instanceof CachingMessageSource)
+                        && !(bean instanceof PrecompiledMessageSource)) {
+                    return new CachingMessageSource((MessageSource) bean, maxSize);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,299 @@
+package hello.itemservice.message;
+
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.text.DateFormat;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * messages, errors 같은 properties 파일을 한 번만 읽어서 locale 별 조회 테이블로 만들어 두는 MessageSource
+ * - 테이블은 locale 마다 처음 한 번 만들고 이후에는 바꾸지 않는다. (기본 locale 은 생성 시점에 만든다)
+ * - basename 순서와 locale fallback(요청 locale -> 시스템 locale -> 기본 파일)을 미리 펼쳐서 한 번의 조회로 찾는다.
+ * - "{0}" 형태의 인자만 있는 메시지는 미리 잘라 두고 락 없이 조립한다.
+ *   따옴표나 "{0,number}" 같은 형식이 들어간 메시지는 호출마다 새 MessageFormat 으로 처리한다.
+ * 메시지 해석 규칙(인자가 없으면 원문 그대로, 기본 메시지 처리 등)은 ResourceBundleMessageSource 와 같다.
+ */
+public class PrecompiledMessageSource implements MessageSource {
+
+    private static final ResourceBundle.Control CONTROL = ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_PROPERTIES);
+
+    private final String[] basenames;
+    private final boolean fallbackToSystemLocale;
+    private final ClassLoader classLoader;
+
+    private final Map<String, Properties> files = new ConcurrentHashMap<>();
+    private final Map<Locale, Map<String, CompiledMessage>> tables = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Map<Locale, NumberFormat>> numberFormats = ThreadLocal.withInitial(HashMap::new);
+
+    public PrecompiledMessageSource(String[] basenames, boolean fallbackToSystemLocale, ClassLoader classLoader) {
+        this.basenames = basenames;
+        this.fallbackToSystemLocale = fallbackToSystemLocale;
+        this.classLoader = classLoader;
+        table(Locale.getDefault());
+    }
+
+    @Override
+    public String getMessage(String code, @Nullable Object[] args, @Nullable String defaultMessage, @Nullable Locale locale) {
+        Locale localeToUse = localeOrDefault(locale);
+        CompiledMessage message = table(localeToUse).get(code);
+        if (message != null) {
+            return message.format(args, localeToUse);
+        }
+        if (defaultMessage == null) {
+            return null;
+        }
+        return renderDefaultMessage(defaultMessage, args, localeToUse);
+    }
+
+    @Override
+    public String getMessage(String code, @Nullable Object[] args, @Nullable Locale locale) throws NoSuchMessageException {
+        Locale localeToUse = localeOrDefault(locale);
+        CompiledMessage message = table(localeToUse).get(code);
+        if (message == null) {
+            throw new NoSuchMessageException(code, localeToUse);
+        }
+        return message.format(args, localeToUse);
+    }
+
+    @Override
+    public String getMessage(MessageSourceResolvable resolvable, @Nullable Locale locale) throws NoSuchMessageException {
+        Locale localeToUse = localeOrDefault(locale);
+        Map<String, CompiledMessage> table = table(localeToUse);
+        String[] codes = resolvable.getCodes();
+        if (codes != null) {
+            for (String code : codes) {
+                CompiledMessage message = table.get(code);
+                if (message != null) {
+                    return message.format(resolvable.getArguments(), localeToUse);
+                }
+            }
+        }
+
+        String defaultMessage = resolvable.getDefaultMessage();
+        if (defaultMessage == null) {
+            throw new NoSuchMessageException(codes != null && codes.length > 0 ? codes[codes.length - 1] : null, localeToUse);
+        }
+        if (resolvable instanceof DefaultMessageSourceResolvable
+                && !((DefaultMessageSourceResolvable) resolvable).shouldRenderDefaultMessage()) {
+            return defaultMessage;
+        }
+        if (codes != null && codes.length > 0 && defaultMessage.equals(codes[0])) {
+            return defaultMessage;
+        }
+        return renderDefaultMessage(defaultMessage, resolvable.getArguments(), localeToUse);
+    }
+
+    private String renderDefaultMessage(String defaultMessage, @Nullable Object[] args, Locale locale) {
+        if (args == null || args.length == 0) {
+            return defaultMessage;
+        }
+        try {
+            return compile(defaultMessage).format(args, locale);
+        } catch (IllegalArgumentException e) {
+            return defaultMessage;
+        }
+    }
+
+    private Locale localeOrDefault(@Nullable Locale locale) {
+        return locale == null ? Locale.getDefault() : locale;
+    }
+
+    private Map<String, CompiledMessage> table(Locale locale) {
+        Map<String, CompiledMessage> table = tables.get(locale);
+        if (table == null) {
+            table = tables.computeIfAbsent(locale, this::buildTable);
+        }
+        return table;
+    }
+
+    /**
+     * 앞 basename 이 우선이고, 같은 basename 안에서는 구체적인 locale 파일이 우선이다.
+     * 우선순위가 낮은 것부터 덮어쓰면서 한 장의 테이블로 펼친다.
+     */
+    private Map<String, CompiledMessage> buildTable(Locale locale) {
+        Map<String, String> patterns = new HashMap<>();
+        for (int i = basenames.length - 1; i >= 0; i--) {
+            List<Properties> chain = bundleChain(basenames[i], locale);
+            for (int j = chain.size() - 1; j >= 0; j--) {
+                chain.get(j).forEach((key, value) -> patterns.put((String) key, (String) value));
+            }
+        }
+
+        Map<String, CompiledMessage> table = new HashMap<>();
+        patterns.forEach((code, pattern) -> table.put(code, compile(pattern)));
+        return Map.copyOf(table);
+    }
+
+    /**
+     * ResourceBundle.getBundle 과 같은 순서: 요청 locale 의 파일이 하나도 없으면 시스템 locale 로 다시 찾는다.
+     * 반환 목록은 우선순위가 높은 것부터 담긴다.
+     */
+    private List<Properties> bundleChain(String basename, Locale locale) {
+        List<Properties> chain = localeChain(basename, locale);
+        Locale systemLocale = Locale.getDefault();
+        if (chain.isEmpty() && fallbackToSystemLocale && !locale.equals(systemLocale)) {
+            chain = localeChain(basename, systemLocale);
+        }
+        Properties base = load(basename, Locale.ROOT);
+        if (base != null) {
+            chain.add(base);
+        }
+        return chain;
+    }
+
+    private List<Properties> localeChain(String basename, Locale locale) {
+        List<Properties> chain = new ArrayList<>();
+        for (Locale candidate : CONTROL.getCandidateLocales(basename, locale)) {
+            if (Locale.ROOT.equals(candidate)) {
+                continue;
+            }
+            Properties properties = load(basename, candidate);
+            if (properties != null) {
+                chain.add(properties);
+            }
+        }
+        return chain;
+    }
+
+    @Nullable
+    private Properties load(String basename, Locale locale) {
+        String resourceName = CONTROL.toResourceName(CONTROL.toBundleName(basename, locale), "properties");
+        Properties properties = files.computeIfAbsent(resourceName, this::read);
+        return properties.isEmpty() && classLoader.getResource(resourceName) == null ? null : properties;
+    }
+
+    private Properties read(String resourceName) {
+        Properties properties = new Properties();
+        URL url = classLoader.getResource(resourceName);
+        if (url == null) {
+            return properties;
+        }
+        try (InputStream in = url.openStream()) {
+            properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+            return properties;
+        } catch (IOException e) {
+            throw new UncheckedIOException("메시지 파일을 읽을 수 없습니다. " + resourceName, e);
+        }
+    }
+
+    private CompiledMessage compile(String pattern) {
+        if (pattern.indexOf('\'') >= 0) {
+            return new CompiledMessage(pattern, null, null);
+        }
+        List<String> literals = new ArrayList<>();
+        List<Integer> argIndexes = new ArrayList<>();
+        int start = 0;
+        int open;
+        while ((open = pattern.indexOf('{', start)) >= 0) {
+            int close = pattern.indexOf('}', open);
+            Integer argIndex = close < 0 ? null : parseIndex(pattern.substring(open + 1, close));
+            if (argIndex == null) {
+                return new CompiledMessage(pattern, null, null);
+            }
+            literals.add(pattern.substring(start, open));
+            argIndexes.add(argIndex);
+            start = close + 1;
+        }
+        literals.add(pattern.substring(start));
+        return new CompiledMessage(pattern,
+                literals.toArray(new String[0]),
+                argIndexes.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private String formatArgument(Object argument, Locale locale) {
+        if (argument == null) {
+            return "null";
+        }
+        if (argument instanceof MessageSourceResolvable) {
+            return getMessage((MessageSourceResolvable) argument, locale);
+        }
+        if (argument instanceof Number) {
+            return numberFormats.get().computeIfAbsent(locale, NumberFormat::getInstance).format(argument);
+        }
+        if (argument instanceof Date) {
+            return DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale).format(argument);
+        }
+        return argument.toString();
+    }
+
+    /**
+     * 미리 잘라 둔 메시지: literals[0] {argIndexes[0]} literals[1] {argIndexes[1]} ... literals[n]
+     * 잘라 둘 수 없는 메시지는 pattern 만 기억하고 호출마다 MessageFormat 을 만든다.
+     */
+    private final class CompiledMessage {
+
+        private final String pattern;
+        private final String[] literals;
+        private final int[] argIndexes;
+
+        private CompiledMessage(String pattern, String[] literals, int[] argIndexes) {
+            this.pattern = pattern;
+            this.literals = literals;
+            this.argIndexes = argIndexes;
+        }
+
+        String format(@Nullable Object[] args, Locale locale) {
+            if (args == null || args.length == 0) {
+                return pattern;
+            }
+            if (literals == null) {
+                return new MessageFormat(pattern, locale).format(resolveArguments(args, locale));
+            }
+            StringBuilder sb = new StringBuilder(pattern.length() + 16);
+            for (int i = 0; i < argIndexes.length; i++) {
+                sb.append(literals[i]);
+                int argIndex = argIndexes[i];
+                if (argIndex < args.length) {
+                    sb.append(formatArgument(args[argIndex], locale));
+                } else {
+                    sb.append('{').append(argIndex).append('}');
+                }
+            }
+            return sb.append(literals[argIndexes.length]).toString();
+        }
+
+        private Object[] resolveArguments(Object[] args, Locale locale) {
+            Object[] resolved = new Object[args.length];
+            for (int i = 0; i < args.length; i++) {
+                resolved[i] = args[i] instanceof MessageSourceResolvable
+                        ? getMessage((MessageSourceResolvable) args[i], locale)
+                        : args[i];
+            }
+            return resolved;
+        }
+    }
+
+    @Nullable
+    private static Integer parseIndex(String text) {
+        if (text.isEmpty() || text.length() > 3) {
+            return null;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isDigit(text.charAt(i))) {
+                return null;
+            }
+        }
+        return Integer.valueOf(text);
+    }
+}
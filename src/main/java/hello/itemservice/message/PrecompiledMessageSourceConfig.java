@@ -0,0 +1,25 @@
+package hello.itemservice.message;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * message.source=precompiled 면 스프링 부트의 ResourceBundleMessageSource 대신 PrecompiledMessageSource 를 사용한다.
+ * (messageSource 빈이 있으면 MessageSourceAutoConfiguration 은 동작하지 않는다)
+ */
+@Configuration
+@ConditionalOnProperty(name = "message.source", havingValue = "precompiled")
+public class PrecompiledMessageSourceConfig {
+
+    @Bean
+    public MessageSource messageSource(@Value("${spring.messages.basename:messages}") String basename,
+                                       @Value("${spring.messages.fallback-to-system-locale:true}") boolean fallbackToSystemLocale) {
+        String[] basenames = StringUtils.commaDelimitedListToStringArray(StringUtils.trimAllWhitespace(basename));
+        return new PrecompiledMessageSource(basenames, fallbackToSystemLocale, ClassUtils.getDefaultClassLoader());
+    }
+}
@@ -0,0 +1,54 @@
+package hello.itemservice.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * CDS 아카이브를 만들 때 쓰는 학습 실행: 준비가 끝나면 startup.exit-after-ready.path 를 한 번 요청하고 종료한다.
+ * 요청까지 보내야 첫 요청에 필요한 클래스(Thymeleaf, 검증, 메시지)도 클래스 목록에 들어간다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "startup.exit-after-ready.enabled", havingValue = "true")
+public class ExitAfterStartup {
+
+    private final String path;
+
+    public ExitAfterStartup(@Value("${startup.exit-after-ready.path:/validation/v3/items}") String path) {
+        this.path = path;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void exit(ApplicationReadyEvent event) {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        if (context instanceof WebServerApplicationContext) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            request("http://localhost:" + port + path);
+        }
+        System.exit(SpringApplication.exit(context));
+    }
+
+    private void request(String url) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+            try (InputStream in = connection.getInputStream()) {
+                in.readAllBytes();
+            }
+            log.info("training request {} status={}", url, connection.getResponseCode());
+        } catch (IOException e) {
+            log.warn("training request failed {}", url, e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package hello.itemservice.startup;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.CompiledBeanValidator;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * 지연 초기화(spring.main.lazy-initialization)로 미뤄 둔 무거운 빈을 준비 완료 후 백그라운드에서 미리 만든다.
+ * - Hibernate Validator 제약 메타데이터, CompiledBeanValidator, 메시지 테이블
+ * 첫 요청이 워밍업보다 먼저 오면 그 요청이 직접 초기화하고, 워밍업은 이미 만들어진 빈을 가져오기만 한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "startup.warmup.enabled", havingValue = "true")
+public class StartupWarmup {
+
+    private final ObjectProvider<javax.validation.Validator> validator;
+    private final ObjectProvider<CompiledBeanValidator> compiledBeanValidator;
+    private final ObjectProvider<MessageSource> messageSource;
+
+    public StartupWarmup(ObjectProvider<javax.validation.Validator> validator,
+                         ObjectProvider<CompiledBeanValidator> compiledBeanValidator,
+                         ObjectProvider<MessageSource> messageSource) {
+        this.validator = validator;
+        this.compiledBeanValidator = compiledBeanValidator;
+        this.messageSource = messageSource;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Thread thread = new Thread(this::run, "startup-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        long startedAt = System.nanoTime();
+        try {
+            javax.validation.Validator beanValidator = validator.getIfAvailable();
+            if (beanValidator != null) {
+                beanValidator.getConstraintsForClass(Item.class);
+                beanValidator.getConstraintsForClass(ItemSaveForm.class);
+                beanValidator.getConstraintsForClass(ItemUpdateForm.class);
+            }
+            compiledBeanValidator.getIfAvailable();
+            MessageSource messages = messageSource.getIfAvailable();
+            if (messages != null) {
+                messages.getMessage("page.items", null, null, Locale.getDefault());
+            }
+            log.info("startup warmup done elapsed={}ms", (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("startup warmup failed", e);
+        }
+    }
+}
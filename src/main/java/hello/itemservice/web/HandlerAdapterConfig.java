@@ -0,0 +1,25 @@
+package hello.itemservice.web;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+/**
+ * 등록된 BinderFactory(metrics.request.enabled), HandlerInvoker(handler.async.enabled) 로 ItemHandlerAdapter 를 만든다.
+ */
+@Configuration
+public class HandlerAdapterConfig {
+
+    @Bean
+    public WebMvcRegistrations itemHandlerAdapterRegistrations(ObjectProvider<ItemHandlerAdapter.BinderFactory> binderFactory,
+                                                               ObjectProvider<ItemHandlerAdapter.HandlerInvoker> handlerInvoker) {
+        return new WebMvcRegistrations() {
+            @Override
+            public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+                return new ItemHandlerAdapter(binderFactory.getIfAvailable(), handlerInvoker.getIfAvailable());
+            }
+        };
+    }
+}
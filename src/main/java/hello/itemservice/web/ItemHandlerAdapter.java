@@ -0,0 +1,68 @@
+package hello.itemservice.web;
+
+import org.springframework.web.bind.ServletRequestDataBinder;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.support.InvocableHandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.ServletRequestDataBinderFactory;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * 컨트롤러 호출 방식을 바꾸는 기능(요청 단계 측정, 비동기 실행)이 함께 쓰는 RequestMappingHandlerAdapter
+ * 스프링 부트는 WebMvcRegistrations 빈이 하나일 때만 적용하므로, 기능마다 어댑터를 만들지 않고 여기에 확장 지점을 둔다.
+ * (HandlerAdapterConfig 참고)
+ */
+public class ItemHandlerAdapter extends RequestMappingHandlerAdapter {
+
+    private final BinderFactory binderFactory; //null 이면 기본 DataBinder
+    private final HandlerInvoker handlerInvoker; //null 이면 요청 스레드에서 바로 실행
+
+    public ItemHandlerAdapter(BinderFactory binderFactory, HandlerInvoker handlerInvoker) {
+        this.binderFactory = binderFactory;
+        this.handlerInvoker = handlerInvoker;
+    }
+
+    @Override
+    protected WebDataBinderFactory createDataBinderFactory(List<InvocableHandlerMethod> binderMethods) {
+        if (binderFactory == null) {
+            return super.createDataBinderFactory(binderMethods);
+        }
+        return new ServletRequestDataBinderFactory(binderMethods, getWebBindingInitializer()) {
+            @Override
+            protected ServletRequestDataBinder createBinderInstance(Object target, String objectName,
+                                                                    NativeWebRequest request) {
+                return binderFactory.create(target, objectName);
+            }
+        };
+    }
+
+    @Override
+    protected ServletInvocableHandlerMethod createInvocableHandlerMethod(HandlerMethod handlerMethod) {
+        if (handlerInvoker == null) {
+            return super.createInvocableHandlerMethod(handlerMethod);
+        }
+        return new ServletInvocableHandlerMethod(handlerMethod) {
+            @Override
+            protected Object doInvoke(Object... args) throws Exception {
+                return handlerInvoker.invoke(this, () -> super.doInvoke(args));
+            }
+        };
+    }
+
+    public interface BinderFactory {
+        ServletRequestDataBinder create(Object target, String objectName);
+    }
+
+    /**
+     * 바인딩, 검증이 끝난 뒤 컨트롤러 메서드 본문 실행을 감싼다.
+     * body 를 바로 실행하지 않고 Callable, WebAsyncTask 로 돌려주면 스프링 MVC 비동기 처리로 넘어간다.
+     */
+    public interface HandlerInvoker {
+        Object invoke(HandlerMethod handler, Callable<Object> body) throws Exception;
+    }
+}
@@ -0,0 +1,39 @@
+package hello.itemservice.web.api;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 검증 실패 응답 본문
+ */
+@Getter
+public class ApiErrorResult {
+
+    private final String objectName;
+    private final List<ApiFieldError> errors;
+
+    public ApiErrorResult(String objectName, List<ApiFieldError> errors) {
+        this.objectName = objectName;
+        this.errors = errors;
+    }
+
+    /**
+     * field 가 null 이면 글로벌 오류
+     */
+    @Getter
+    public static class ApiFieldError {
+
+        private final String field;
+        private final String code;
+        private final List<Object> args;
+        private final String message;
+
+        public ApiFieldError(String field, String code, List<Object> args, String message) {
+            this.field = field;
+            this.code = code;
+            this.args = args;
+            this.message = message;
+        }
+    }
+}
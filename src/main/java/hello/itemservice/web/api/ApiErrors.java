@@ -0,0 +1,68 @@
+package hello.itemservice.web.api;
+
+import hello.itemservice.web.api.ApiErrorResult.ApiFieldError;
+import hello.itemservice.web.metrics.ValidationMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * BindingResult 의 오류를 API 응답용 오류 목록으로 바꾼다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApiErrors {
+
+    private final MessageSource messageSource;
+    private final ObjectProvider<ValidationMetrics> validationMetrics;
+
+    public ApiErrorResult errorResult(Errors errors, Locale locale) {
+        validationMetrics.ifAvailable(metrics -> metrics.record(errors));
+        return new ApiErrorResult(errors.getObjectName(), fieldErrors(errors, locale));
+    }
+
+    public List<ApiFieldError> fieldErrors(Errors errors, Locale locale) {
+        List<ApiFieldError> result = new ArrayList<>(errors.getErrorCount());
+        for (ObjectError error : errors.getAllErrors()) {
+            String field = error instanceof FieldError ? ((FieldError) error).getField() : null;
+            result.add(new ApiFieldError(field, error.getCode(), args(error.getArguments(), locale), message(error, locale)));
+        }
+        return result;
+    }
+
+    public String message(String code, String defaultMessage, Locale locale) {
+        return messageSource.getMessage(code, null, defaultMessage, locale);
+    }
+
+    /**
+     * Bean Validation 의 첫 번째 인자(필드 이름) 같은 MessageSourceResolvable 은 메시지로 바꿔서 내려준다.
+     */
+    private List<Object> args(Object[] arguments, Locale locale) {
+        List<Object> args = new ArrayList<>();
+        if (arguments == null) {
+            return args;
+        }
+        for (Object argument : arguments) {
+            args.add(argument instanceof MessageSourceResolvable ? message((MessageSourceResolvable) argument, locale) : argument);
+        }
+        return args;
+    }
+
+    private String message(MessageSourceResolvable resolvable, Locale locale) {
+        try {
+            return messageSource.getMessage(resolvable, locale);
+        } catch (NoSuchMessageException e) {
+            return resolvable.getDefaultMessage();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package hello.itemservice.web.api;
+
+import hello.itemservice.web.api.ApiErrorResult.ApiFieldError;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 일괄 등록 결과
+ * errors 는 최대 bulk.max-reported-errors 개까지만 담고, 넘치면 truncated 가 true 다.
+ */
+@Getter
+public class BulkImportResult {
+
+    private final long total;
+    private final long saved;
+    private final long failed;
+    private final List<RowError> errors;
+    private final boolean truncated;
+
+    public BulkImportResult(long total, long saved, long failed, List<RowError> errors, boolean truncated) {
+        this.total = total;
+        this.saved = saved;
+        this.failed = failed;
+        this.errors = errors;
+        this.truncated = truncated;
+    }
+
+    /**
+     * row 는 본문에서의 줄 번호 (CSV 는 헤더 다음 줄이 1)
+     */
+    @Getter
+    public static class RowError {
+
+        private final int row;
+        private final List<ApiFieldError> errors;
+
+        public RowError(int row, List<ApiFieldError> errors) {
+            this.row = row;
+            this.errors = errors;
+        }
+    }
+}
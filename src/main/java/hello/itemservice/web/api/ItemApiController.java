@@ -0,0 +1,107 @@
+package hello.itemservice.web.api;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.CompiledBeanValidator;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Thymeleaf 화면 없이 JSON 으로 상품을 다루는 API
+ * 검증은 V3 와 같은 폼(ItemSaveForm, ItemUpdateForm)과 글로벌 오류 검증을 사용한다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/items")
+@RequiredArgsConstructor
+public class ItemApiController {
+
+    private final ItemRepository itemRepository;
+    private final ApiErrors apiErrors;
+    private final ItemBulkImporter itemBulkImporter;
+    private final ObjectProvider<CompiledBeanValidator> compiledBeanValidator;
+
+    @InitBinder
+    private void init(WebDataBinder dataBinder) {
+        CompiledBeanValidator validator = compiledBeanValidator.getIfAvailable();
+        Object target = dataBinder.getTarget();
+        if (validator != null && target != null && validator.supports(target.getClass())) {
+            dataBinder.setValidator(validator);
+        }
+    }
+
+    @GetMapping
+    public ItemPage items(@RequestParam(required = false) Long after,
+                          @RequestParam(defaultValue = "20") int size) {
+        return itemRepository.findPage(after, size);
+    }
+
+    @GetMapping("/{itemId}")
+    public ResponseEntity<Item> item(@PathVariable long itemId) {
+        Item item = itemRepository.findById(itemId);
+        return item == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(item);
+    }
+
+    @PostMapping
+    public ResponseEntity<Object> addItem(@Validated @RequestBody ItemSaveForm saveForm, BindingResult bindingResult, Locale locale) {
+
+        if (bindingResult.hasErrors()) {
+            return ResponseEntity.badRequest().body(apiErrors.errorResult(bindingResult, locale));
+        }
+
+        Item item = new Item(saveForm.getItemName(), saveForm.getPrice(), saveForm.getQuantity());
+        Item savedItem = itemRepository.save(item);
+        return ResponseEntity.status(HttpStatus.CREATED).body(savedItem);
+    }
+
+    @PutMapping("/{itemId}")
+    public ResponseEntity<Object> editItem(@PathVariable Long itemId, @Validated @RequestBody ItemUpdateForm updateForm,
+                                           BindingResult bindingResult, Locale locale) {
+
+        if (itemRepository.findById(itemId) == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (bindingResult.hasErrors()) {
+            return ResponseEntity.badRequest().body(apiErrors.errorResult(bindingResult, locale));
+        }
+
+        Item item = new Item(updateForm.getItemName(), updateForm.getPrice(), updateForm.getQuantity());
+        Item updatedItem = itemRepository.update(itemId, item, updateForm.getVersion());
+        if (updatedItem == null) {
+            bindingResult.reject("versionConflict");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(apiErrors.errorResult(bindingResult, locale));
+        }
+        return ResponseEntity.ok(updatedItem);
+    }
+
+    /**
+     * CSV(첫 줄은 헤더) 일괄 등록. 응답에는 건수와 실패한 행의 오류가 담긴다.
+     */
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public BulkImportResult bulkImportCsv(HttpServletRequest request, Locale locale) throws IOException {
+        return itemBulkImporter.importCsv(request.getReader(), locale);
+    }
+
+    /**
+     * JSON Lines(한 줄에 상품 하나) 일괄 등록
+     */
+    @PostMapping(value = "/bulk", consumes = "application/x-ndjson")
+    public BulkImportResult bulkImportJsonLines(HttpServletRequest request, Locale locale) throws IOException {
+        return itemBulkImporter.importJsonLines(request.getReader(), locale);
+    }
+}
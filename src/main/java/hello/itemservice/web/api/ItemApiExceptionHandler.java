@@ -0,0 +1,81 @@
+package hello.itemservice.web.api;
+
+import com.fasterxml.jackson.databind.JsonMappingException.Reference;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Conventions;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * /api/items 요청 본문(JSON)을 읽지 못했을 때도 검증 실패와 같은 ApiErrorResult 로 400 응답을 한다.
+ * - "price":"abc" 처럼 값의 타입이 맞지 않으면 그 필드의 typeMismatch 오류 (메시지 코드는 바인딩 오류와 같다)
+ * - JSON 문법 오류처럼 필드를 알 수 없으면 invalidBody 글로벌 오류
+ */
+@RestControllerAdvice(assignableTypes = ItemApiController.class)
+public class ItemApiExceptionHandler {
+
+    private static final String DEFAULT_OBJECT_NAME = "item";
+
+    private final ApiErrors apiErrors;
+    private final MessageCodesResolver messageCodesResolver;
+
+    public ItemApiExceptionHandler(ApiErrors apiErrors, ObjectProvider<MessageCodesResolver> messageCodesResolver) {
+        this.apiErrors = apiErrors;
+        this.messageCodesResolver = messageCodesResolver.getIfAvailable(DefaultMessageCodesResolver::new);
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ApiErrorResult> notReadable(HttpMessageNotReadableException e, HandlerMethod handlerMethod,
+                                                      Locale locale) {
+        MapBindingResult errors = new MapBindingResult(new HashMap<>(), objectName(handlerMethod));
+        Throwable cause = e.getMostSpecificCause();
+        String field = cause instanceof MismatchedInputException ? field(((MismatchedInputException) cause).getPath()) : "";
+
+        if (field.isEmpty()) {
+            errors.reject("invalidBody", "요청 본문을 읽을 수 없습니다.");
+        } else {
+            MismatchedInputException mismatch = (MismatchedInputException) cause;
+            Object rejectedValue = mismatch instanceof InvalidFormatException ? ((InvalidFormatException) mismatch).getValue() : null;
+            String[] codes = messageCodesResolver.resolveMessageCodes(
+                    "typeMismatch", errors.getObjectName(), field, mismatch.getTargetType());
+            errors.addError(new FieldError(errors.getObjectName(), field, rejectedValue, true, codes, null, null));
+        }
+        return ResponseEntity.badRequest().body(apiErrors.errorResult(errors, locale));
+    }
+
+    /**
+     * 바인딩 오류와 같은 이름을 쓰도록 @RequestBody 파라미터 이름(itemSaveForm 등)을 사용한다.
+     */
+    private static String objectName(HandlerMethod handlerMethod) {
+        for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+            if (parameter.hasParameterAnnotation(RequestBody.class)) {
+                return Conventions.getVariableNameForParameter(parameter);
+            }
+        }
+        return DEFAULT_OBJECT_NAME;
+    }
+
+    private static String field(List<Reference> path) {
+        return path.stream()
+                .map(Reference::getFieldName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining("."));
+    }
+}
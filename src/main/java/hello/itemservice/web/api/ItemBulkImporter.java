@@ -0,0 +1,265 @@
+package hello.itemservice.web.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.api.BulkImportResult.RowError;
+import hello.itemservice.web.validation.CompiledBeanValidator;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.DataBinder;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.Validator;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * CSV, JSON Lines 로 들어온 상품 목록을 한 줄씩 읽어서 chunkSize 개씩 나눠 처리한다.
+ * - 한 묶음은 병렬로 검증(ItemSaveForm 의 필드 검증과 @TotalPriceMin, V3 와 같은 CompiledBeanValidator)하고, 통과한 행은 ItemRepository.saveAll 로 한 번에 저장한다.
+ * - 메모리에는 한 묶음과 최대 maxReportedErrors 개의 오류만 남기 때문에 업로드 크기와 상관없이 사용량이 일정하다.
+ */
+@Component
+public class ItemBulkImporter {
+
+    private static final String[] FIELDS = {"itemName", "price", "quantity"};
+
+    private final ItemRepository itemRepository;
+    private final ApiErrors apiErrors;
+    private final Validator validator;
+    private final MessageCodesResolver messageCodesResolver;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final ForkJoinPool pool;
+
+    public ItemBulkImporter(ItemRepository itemRepository,
+                            ApiErrors apiErrors,
+                            CompiledBeanValidator compiledBeanValidator,
+                            ObjectProvider<MessageCodesResolver> messageCodesResolver,
+                            ObjectMapper objectMapper,
+                            @Value("${bulk.chunk-size:1000}") int chunkSize,
+                            @Value("${bulk.max-reported-errors:1000}") int maxReportedErrors,
+                            @Value("${bulk.parallelism:0}") int parallelism) {
+        this.itemRepository = itemRepository;
+        this.apiErrors = apiErrors;
+        this.validator = compiledBeanValidator;
+        this.messageCodesResolver = messageCodesResolver.getIfAvailable();
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * 첫 줄은 헤더(itemName,price,quantity 순서는 자유)
+     */
+    public BulkImportResult importCsv(Reader reader, Locale locale) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        String header = lines.readLine();
+        if (header == null) {
+            return new BulkImportResult(0, 0, 0, new ArrayList<>(), false);
+        }
+        List<String> columns = parseCsvLine(header);
+
+        return importRows(lines, locale, line -> {
+            List<String> values = parseCsvLine(line);
+            if (values.size() != columns.size()) {
+                return null;
+            }
+            Map<String, Object> row = new HashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                row.put(columns.get(i).trim(), values.get(i));
+            }
+            return row;
+        });
+    }
+
+    public BulkImportResult importJsonLines(Reader reader, Locale locale) throws IOException {
+        TypeReference<Map<String, Object>> type = new TypeReference<>() {
+        };
+        return importRows(new BufferedReader(reader), locale, line -> {
+            try {
+                return objectMapper.readValue(line, type);
+            } catch (JsonProcessingException e) {
+                return null;
+            }
+        });
+    }
+
+    private BulkImportResult importRows(BufferedReader lines, Locale locale, RowParser parser) throws IOException {
+        Counter counter = new Counter();
+        List<RowError> errors = new ArrayList<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        int rowNumber = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            rowNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(new Row(rowNumber, parser.parse(line)));
+            if (chunk.size() >= chunkSize) {
+                processChunk(chunk, locale, counter, errors);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        processChunk(chunk, locale, counter, errors);
+
+        return new BulkImportResult(counter.total, counter.saved, counter.failed, errors, counter.failed > errors.size());
+    }
+
+    private void processChunk(List<Row> chunk, Locale locale, Counter counter, List<RowError> errors) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        List<Validated> results;
+        try {
+            results = pool.submit(() -> chunk.parallelStream()
+                    .map(row -> validate(row, locale))
+                    .collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("상품 일괄 등록이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("상품 일괄 등록 중 오류가 발생했습니다.", e.getCause());
+        }
+
+        List<Item> validItems = new ArrayList<>(results.size());
+        for (Validated result : results) {
+            if (result.item != null) {
+                validItems.add(result.item);
+            } else {
+                counter.failed++;
+                if (errors.size() < maxReportedErrors) {
+                    errors.add(result.error);
+                }
+            }
+        }
+        itemRepository.saveAll(validItems);
+
+        counter.total += chunk.size();
+        counter.saved += validItems.size();
+    }
+
+    private Validated validate(Row row, Locale locale) {
+        if (row.values == null) {
+            String message = apiErrors.message("invalidFormat", "읽을 수 없는 행입니다.", locale);
+            return Validated.failure(new RowError(row.number,
+                    List.of(new ApiErrorResult.ApiFieldError(null, "invalidFormat", List.of(), message))));
+        }
+
+        ItemSaveForm saveForm = new ItemSaveForm();
+        DataBinder binder = new DataBinder(saveForm, "item");
+        binder.setAllowedFields(FIELDS);
+        binder.setValidator(validator);
+        if (messageCodesResolver != null) {
+            binder.setMessageCodesResolver(messageCodesResolver);
+        }
+        binder.bind(new MutablePropertyValues(row.values));
+        binder.validate();
+
+        BindingResult bindingResult = binder.getBindingResult();
+        if (bindingResult.hasErrors()) {
+            return Validated.failure(new RowError(row.number, apiErrors.fieldErrors(bindingResult, locale)));
+        }
+        return Validated.success(new Item(saveForm.getItemName(), saveForm.getPrice(), saveForm.getQuantity()));
+    }
+
+    /**
+     * 큰따옴표로 감싼 값과 그 안의 "" 를 지원하는 CSV 한 줄 파서
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    /**
+     * 한 줄을 필드 이름 -> 값으로 바꾼다. 읽을 수 없는 줄이면 null
+     */
+    private interface RowParser {
+        Map<String, Object> parse(String line);
+    }
+
+    private static final class Row {
+
+        private final int number;
+        private final Map<String, Object> values;
+
+        Row(int number, Map<String, Object> values) {
+            this.number = number;
+            this.values = values;
+        }
+    }
+
+    private static final class Validated {
+
+        private final Item item;
+        private final RowError error;
+
+        private Validated(Item item, RowError error) {
+            this.item = item;
+            this.error = error;
+        }
+
+        static Validated success(Item item) {
+            return new Validated(item, null);
+        }
+
+        static Validated failure(RowError error) {
+            return new Validated(null, error);
+        }
+    }
+
+    private static final class Counter {
+        private long total;
+        private long saved;
+        private long failed;
+    }
+}
@@ -0,0 +1,58 @@
+package hello.itemservice.web.async;
+
+import hello.itemservice.web.ItemHandlerAdapter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * handler.async.enabled=true 면 ValidationItemController* 를 톰캣 요청 스레드가 아니라 별도 executor 에서 실행한다.
+ * 저장소가 느려져도 톰캣 스레드는 막히지 않고 다음 요청을 받는다. 타임아웃은 spring.mvc.async.request-timeout
+ * - handler.async.executor=platform: 스레드 handler.async.threads 개의 고정 풀
+ * - handler.async.executor=virtual: 요청마다 가상 스레드 (Java 21 이상에서 실행해야 한다)
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "handler.async.enabled", havingValue = "true")
+public class AsyncHandlerConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService handlerExecutorService(@Value("${handler.async.executor:platform}") String executor,
+                                                  @Value("${handler.async.threads:200}") int threads) {
+        if ("virtual".equals(executor)) {
+            log.info("controller handlers run on virtual threads");
+            return newVirtualThreadPerTaskExecutor();
+        }
+        if (!"platform".equals(executor)) {
+            throw new IllegalArgumentException("handler.async.executor 는 platform 또는 virtual 이어야 합니다. executor=" + executor);
+        }
+        return Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("handler-"));
+    }
+
+    @Bean
+    public ItemHandlerAdapter.HandlerInvoker asyncHandlerInvoker(ExecutorService handlerExecutorService,
+                                                                 @Value("${handler.async.base-package:hello.itemservice.web.validation}") String basePackage) {
+        return new AsyncHandlerInvoker(basePackage, new TaskExecutorAdapter(handlerExecutorService));
+    }
+
+    /**
+     * 소스는 Java 11 로 컴파일하므로 Java 21 의 Executors.newVirtualThreadPerTaskExecutor 는 리플렉션으로 찾는다.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("handler.async.executor=virtual 은 Java 21 이상에서 실행해야 합니다. 현재: "
+                    + Runtime.version(), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드 executor 를 만들 수 없습니다.", e);
+        }
+    }
+}
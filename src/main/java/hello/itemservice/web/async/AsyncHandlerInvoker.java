@@ -0,0 +1,31 @@
+package hello.itemservice.web.async;
+
+import hello.itemservice.web.ItemHandlerAdapter;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.concurrent.Callable;
+
+/**
+ * basePackage 의 컨트롤러 메서드 본문(저장소 접근 포함)을 executor 에서 실행하고, 요청 스레드는 바로 컨테이너에 돌려준다.
+ * 바인딩, 검증은 요청 스레드에서 끝난 뒤이고, 결과(뷰 이름, redirect)는 재디스패치에서 평소처럼 처리된다.
+ */
+class AsyncHandlerInvoker implements ItemHandlerAdapter.HandlerInvoker {
+
+    private final String basePackage;
+    private final AsyncTaskExecutor executor;
+
+    AsyncHandlerInvoker(String basePackage, AsyncTaskExecutor executor) {
+        this.basePackage = basePackage;
+        this.executor = executor;
+    }
+
+    @Override
+    public Object invoke(HandlerMethod handler, Callable<Object> body) throws Exception {
+        if (!handler.getBeanType().getPackageName().equals(basePackage)) {
+            return body.call();
+        }
+        return new WebAsyncTask<>(null, executor, body);
+    }
+}
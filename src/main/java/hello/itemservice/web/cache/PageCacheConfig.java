@@ -0,0 +1,36 @@
+package hello.itemservice.web.cache;
+
+import hello.itemservice.domain.item.ItemRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.LocaleResolver;
+
+/**
+ * page.cache.enabled=true (기본) 면 상품 목록, 상세 화면의 렌더링 결과를 캐시하고 ETag 로 304 응답을 한다.
+ * 적중률: /actuator/metrics/item.page.cache (result=hit, miss, not_modified)
+ */
+@Configuration
+@ConditionalOnProperty(name = "page.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class PageCacheConfig {
+
+    @Bean
+    public RenderedPageCacheFilter renderedPageCacheFilter(ItemRepository itemRepository,
+                                                           LocaleResolver localeResolver,
+                                                           MeterRegistry registry,
+                                                           @Value("${page.cache.max-entries:1000}") int maxEntries,
+                                                           @Value("${page.cache.max-bytes:16777216}") long maxBytes) {
+        RenderedPageCacheFilter filter =
+                new RenderedPageCacheFilter(itemRepository, localeResolver, maxEntries, maxBytes);
+        FunctionCounter.builder("item.page.cache", filter, RenderedPageCacheFilter::getHitCount)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("item.page.cache", filter, RenderedPageCacheFilter::getMissCount)
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("item.page.cache", filter, RenderedPageCacheFilter::getNotModifiedCount)
+                .tag("result", "not_modified").register(registry);
+        return filter;
+    }
+}
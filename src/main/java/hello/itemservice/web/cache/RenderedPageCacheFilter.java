@@ -0,0 +1,276 @@
+package hello.itemservice.web.cache;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.LocaleResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 상품 목록(/validation/v*\/items), 상품 상세(/validation/v*\/items/{itemId}) 화면의 렌더링 결과를 캐시한다.
+ * - 화면마다 데이터 버전을 정한다. 목록은 저장소 전체 버전, 상세는 그 상품의 version
+ * - 캐시는 (URL + 쿼리, locale) 별로 마지막 렌더링 결과 하나만 기억하고, 데이터 버전이 바뀌었으면 다시 렌더링해서 교체한다.
+ *   그래서 따로 지우지 않아도 수정된 상품의 상세 화면과 목록 화면만 새로 그려진다.
+ * - 같은 데이터 버전을 ETag 로 내려주고, If-None-Match 가 같으면 렌더링 없이 304 로 응답한다.
+ * - 검색 조건, 커서가 붙은 목록은 URL 이 끝없이 늘어나므로 ETag 만 주고 캐시에는 담지 않는다.
+ * 항목 수가 maxEntries, 본문 크기 합이 maxBytes 를 넘으면 가장 오래 쓰지 않은 화면부터 버린다. (LRU)
+ * 컨트롤러가 비동기로 실행되면(handler.async.enabled) 렌더링은 재디스패치에서 끝나므로, 그때 캐시에 담는다.
+ */
+public class RenderedPageCacheFilter extends OncePerRequestFilter {
+
+    private static final String PENDING = RenderedPageCacheFilter.class.getName() + ".pending";
+    private static final Pattern CACHEABLE = Pattern.compile("/validation/v\\d+/items(?:/(\\d+))?");
+
+    private final ItemRepository itemRepository;
+    private final LocaleResolver localeResolver;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    //접근 순서로 정렬해서 맨 앞이 가장 오래 쓰지 않은 화면이 된다. cache 로 동기화한다.
+    private final LinkedHashMap<Key, Page> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    //재시작하면 저장소 버전이 처음부터 다시 시작하므로, 이전 실행의 ETag 와 겹치지 않게 붙인다.
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+
+    public RenderedPageCacheFilter(ItemRepository itemRepository, LocaleResolver localeResolver,
+                                   int maxEntries, long maxBytes) {
+        this.itemRepository = itemRepository;
+        this.localeResolver = localeResolver;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getNotModifiedCount() {
+        return notModified.sum();
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public long byteSize() {
+        synchronized (cache) {
+            return bytes;
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod())
+                || !CACHEABLE.matcher(urlPathHelper.getPathWithinApplication(request)).matches();
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            filterChain.doFilter(request, response);
+            ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+            if (wrapper != null) {
+                store(request, wrapper);
+            }
+            return;
+        }
+
+        Matcher matcher = CACHEABLE.matcher(urlPathHelper.getPathWithinApplication(request));
+        String dataVersion = matcher.matches() ? dataVersion(matcher.group(1)) : null;
+        if (dataVersion == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Locale locale = localeResolver.resolveLocale(request);
+        String etag = "\"" + epoch + "-" + dataVersion + "-" + locale.toLanguageTag() + "\"";
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+
+        if (etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            notModified.increment();
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        Key key = new Key(request.getRequestURI(), request.getQueryString(), locale);
+        boolean cacheable = matcher.group(1) != null || request.getQueryString() == null;
+        Page page = cacheable ? lookup(key) : null;
+        if (page != null && page.etag.equals(etag)) {
+            hits.increment();
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setContentType(page.contentType);
+            response.setContentLength(page.body.length);
+            response.getOutputStream().write(page.body);
+            return;
+        }
+
+        misses.increment();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        request.setAttribute(PENDING, new Pending(key, etag, cacheable));
+        filterChain.doFilter(request, wrapper);
+        if (!isAsyncStarted(request)) {
+            store(request, wrapper);
+        }
+    }
+
+    private void store(HttpServletRequest request, ContentCachingResponseWrapper wrapper) throws IOException {
+        Pending pending = (Pending) request.getAttribute(PENDING);
+        String contentType = wrapper.getContentType();
+        if (pending != null && wrapper.getStatus() == HttpServletResponse.SC_OK
+                && contentType != null && contentType.startsWith("text/html")) {
+            wrapper.setHeader(HttpHeaders.ETAG, pending.etag);
+            if (pending.cacheable) {
+                put(pending.key, new Page(pending.etag, contentType, wrapper.getContentAsByteArray()));
+            }
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private Page lookup(Key key) {
+        synchronized (cache) {
+            return cache.get(key);
+        }
+    }
+
+    /**
+     * 같은 키의 이전 버전은 교체하고, 한도를 넘으면 가장 오래 쓰지 않은 화면부터 버린다.
+     * maxBytes 보다 큰 화면 하나는 담지 않는다.
+     */
+    private void put(Key key, Page page) {
+        synchronized (cache) {
+            Page old = cache.remove(key);
+            if (old != null) {
+                bytes -= old.body.length;
+            }
+            if (page.body.length > maxBytes) {
+                return;
+            }
+            cache.put(key, page);
+            bytes += page.body.length;
+            Iterator<Page> eldest = cache.values().iterator();
+            while (cache.size() > maxEntries || bytes > maxBytes) {
+                bytes -= eldest.next().body.length;
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * 목록(itemId 없음)은 저장소 전체 버전, 상세는 상품 version. 없는 상품이면 null (캐시하지 않음)
+     */
+    private String dataVersion(String itemId) {
+        if (itemId == null) {
+            return "s" + itemRepository.getStoreVersion();
+        }
+        Item item = itemRepository.findById(Long.valueOf(itemId));
+        return item == null ? null : "i" + item.getVersion();
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Key {
+
+        private final String uri;
+        private final String query;
+        private final Locale locale;
+
+        Key(String uri, String query, Locale locale) {
+            this.uri = uri;
+            this.query = query;
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return uri.equals(key.uri) && Objects.equals(query, key.query) && locale.equals(key.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uri, query, locale);
+        }
+    }
+
+    private static final class Pending {
+
+        private final Key key;
+        private final String etag;
+        private final boolean cacheable; //검색 조건이 붙은 목록은 false
+
+        Pending(Key key, String etag, boolean cacheable) {
+            this.key = key;
+            this.etag = etag;
+            this.cacheable = cacheable;
+        }
+    }
+
+    private static final class Page {
+
+        private final String etag;
+        private final String contentType;
+        private final byte[] body;
+
+        Page(String etag, String contentType, byte[] body) {
+            this.etag = etag;
+            this.contentType = contentType;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package hello.itemservice.web.metrics;
+
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.metrics.RequestPhases.Phase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ItemRepository 메서드마다 item.repository{op=메서드 이름} 히스토그램 타이머에 기록한다.
+ */
+class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    private final MeterRegistry registry;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    RepositoryMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() != ItemRepository.class) {
+            return invocation.proceed();
+        }
+        long startedAt = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - startedAt;
+            timers.computeIfAbsent(method, this::timer).record(elapsed, TimeUnit.NANOSECONDS);
+            RequestPhases.add(Phase.REPOSITORY, elapsed);
+        }
+    }
+
+    private Timer timer(Method method) {
+        return Timer.builder("item.repository")
+                .description("ItemRepository operation latency")
+                .tag("op", method.getName())
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,79 @@
+package hello.itemservice.web.metrics;
+
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.ItemHandlerAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * metrics.request.enabled=true (기본) 면 요청 단계별 시간, 검증 오류, 저장소 지연 시간을 Micrometer 로 기록한다.
+ * 조회: /actuator/metrics/item.request.phase, item.validation.errors, item.repository
+ */
+@Configuration
+@ConditionalOnProperty(name = "metrics.request.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestMetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry registry;
+    private final long logEvery;
+
+    public RequestMetricsConfig(MeterRegistry registry, @Value("${metrics.validation.log-every:100}") long logEvery) {
+        this.registry = registry;
+        this.logEvery = logEvery;
+    }
+
+    @Bean
+    public ValidationMetrics validationMetrics() {
+        return new ValidationMetrics(registry, logEvery);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestMetricsInterceptor(this.registry, validationMetrics()));
+    }
+
+    /**
+     * 컨트롤러의 DataBinder 를 TimedDataBinder 로 만든다. (HandlerAdapterConfig 참고)
+     */
+    @Bean
+    public ItemHandlerAdapter.BinderFactory timedDataBinderFactory() {
+        return TimedDataBinder::new;
+    }
+
+    /**
+     * 컨트롤러가 비동기로 실행될 때(handler.async.enabled, Mono/Flux 반환)도 단계별 시간을 이어서 모은다.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        RequestPhasesPropagation propagation = new RequestPhasesPropagation();
+        configurer.registerCallableInterceptors(propagation);
+        configurer.registerDeferredResultInterceptors(propagation);
+    }
+
+    /**
+     * ItemRepository 빈을 메서드별 지연 시간을 기록하는 프록시로 감싼다.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof ItemRepository)) {
+                    return bean;
+                }
+                ProxyFactory proxyFactory = new ProxyFactory(bean);
+                proxyFactory.setProxyTargetClass(true);
+                proxyFactory.addAdvice(new RepositoryMetricsInterceptor(registry.getObject()));
+                return proxyFactory.getProxy(bean.getClass().getClassLoader());
+            }
+        };
+    }
+}
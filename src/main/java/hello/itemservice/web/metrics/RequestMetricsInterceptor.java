@@ -0,0 +1,92 @@
+package hello.itemservice.web.metrics;
+
+import hello.itemservice.web.metrics.RequestPhases.Phase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 컨트롤러 요청마다 단계별 시간을 item.request.phase{phase, handler} 타이머로 기록한다.
+ * - binding, validation: TimedDataBinder / repository: RepositoryMetricsInterceptor
+ * - view: postHandle(뷰 렌더링 직전) ~ afterCompletion(렌더링 후)
+ * postHandle 에서 Model 의 BindingResult 로 검증 오류도 센다.
+ */
+class RequestMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String VIEW_STARTED_AT = RequestMetricsInterceptor.class.getName() + ".viewStartedAt";
+    private static final Phase[] PHASES = Phase.values();
+
+    private final MeterRegistry registry;
+    private final ValidationMetrics validationMetrics;
+    private final Map<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    RequestMetricsInterceptor(MeterRegistry registry, ValidationMetrics validationMetrics) {
+        this.registry = registry;
+        this.validationMetrics = validationMetrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        //비동기 처리 후 재디스패치: 앞에서 모은 시간에 이어서 더한다.
+        RequestPhases suspended = (RequestPhases) request.getAttribute(RequestPhases.SUSPENDED);
+        if (suspended != null) {
+            request.removeAttribute(RequestPhases.SUSPENDED);
+            RequestPhases.resume(suspended);
+        } else {
+            RequestPhases.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        if (modelAndView != null) {
+            validationMetrics.record(modelAndView.getModel());
+        }
+        request.setAttribute(VIEW_STARTED_AT, System.nanoTime());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestPhases phases = RequestPhases.finish();
+        if (phases == null || !(handler instanceof HandlerMethod)) {
+            return;
+        }
+        Object viewStartedAt = request.getAttribute(VIEW_STARTED_AT);
+        long viewNanos = viewStartedAt == null ? 0 : System.nanoTime() - (Long) viewStartedAt;
+
+        Timer[] handlerTimers = timers.computeIfAbsent(((HandlerMethod) handler).getMethod(), this::timers);
+        for (Phase phase : PHASES) {
+            long nanos = phase == Phase.VIEW ? viewNanos : phases.nanos(phase);
+            if (nanos > 0) {
+                handlerTimers[phase.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private Timer[] timers(Method method) {
+        String handler = method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+        Timer[] handlerTimers = new Timer[PHASES.length];
+        for (Phase phase : PHASES) {
+            handlerTimers[phase.ordinal()] = Timer.builder("item.request.phase")
+                    .description("Time spent per request phase")
+                    .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                    .tag("handler", handler)
+                    .register(registry);
+        }
+        return handlerTimers;
+    }
+}
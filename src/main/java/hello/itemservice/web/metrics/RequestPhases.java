@@ -0,0 +1,50 @@
+package hello.itemservice.web.metrics;
+
+/**
+ * 한 요청 안에서 단계별로 쓴 시간을 모은다. (요청 스레드의 ThreadLocal)
+ * RequestMetricsInterceptor 가 요청 시작에 만들고, 요청이 끝나면 타이머에 기록한 뒤 지운다.
+ * 비동기 처리 중에는 요청 속성(SUSPENDED)에 담겨 작업 스레드와 재디스패치 스레드로 넘어간다. (RequestPhasesPropagation)
+ */
+final class RequestPhases {
+
+    enum Phase {
+        BINDING, VALIDATION, REPOSITORY, VIEW
+    }
+
+    static final String SUSPENDED = RequestPhases.class.getName() + ".suspended";
+
+    private static final ThreadLocal<RequestPhases> CURRENT = new ThreadLocal<>();
+
+    private final long[] nanos = new long[Phase.values().length];
+
+    private RequestPhases() {
+    }
+
+    static void start() {
+        CURRENT.set(new RequestPhases());
+    }
+
+    static void resume(RequestPhases phases) {
+        CURRENT.set(phases);
+    }
+
+    /**
+     * 요청 밖(시작 시점 데이터 초기화, 일괄 등록 작업 스레드 등)에서 호출되면 아무것도 하지 않는다.
+     */
+    static void add(Phase phase, long elapsedNanos) {
+        RequestPhases current = CURRENT.get();
+        if (current != null) {
+            current.nanos[phase.ordinal()] += elapsedNanos;
+        }
+    }
+
+    static RequestPhases finish() {
+        RequestPhases current = CURRENT.get();
+        CURRENT.remove();
+        return current;
+    }
+
+    long nanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+}
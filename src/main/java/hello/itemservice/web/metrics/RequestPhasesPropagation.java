@@ -0,0 +1,47 @@
+package hello.itemservice.web.metrics;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 컨트롤러가 비동기로 실행될 때 RequestPhases 를 요청 스레드 -> 작업 스레드 -> 재디스패치 스레드로 넘긴다.
+ * 재디스패치에서는 RequestMetricsInterceptor.preHandle 이 요청 속성에서 꺼내 이어서 쓴다.
+ * DeferredResult(Mono, Flux 반환 포함)는 값을 채우는 스레드를 알 수 없으므로, 그 사이의 저장소 시간은 단계 시간에 넣지 않는다.
+ */
+class RequestPhasesPropagation implements CallableProcessingInterceptor, DeferredResultProcessingInterceptor {
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        suspend(request);
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, DeferredResult<T> deferredResult) {
+        suspend(request);
+    }
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        RequestPhases phases = (RequestPhases) request.getAttribute(RequestPhases.SUSPENDED, RequestAttributes.SCOPE_REQUEST);
+        if (phases != null) {
+            RequestPhases.resume(phases);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        RequestPhases.finish();
+    }
+
+    private static void suspend(NativeWebRequest request) {
+        RequestPhases phases = RequestPhases.finish();
+        if (phases != null) {
+            request.setAttribute(RequestPhases.SUSPENDED, phases, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package hello.itemservice.web.metrics;
+
+import hello.itemservice.web.metrics.RequestPhases.Phase;
+import org.springframework.web.servlet.mvc.method.annotation.ExtendedServletRequestDataBinder;
+
+import javax.servlet.ServletRequest;
+
+/**
+ * 요청 파라미터 바인딩과 검증에 걸린 시간을 RequestPhases 에 더하는 DataBinder
+ */
+class TimedDataBinder extends ExtendedServletRequestDataBinder {
+
+    TimedDataBinder(Object target, String objectName) {
+        super(target, objectName);
+    }
+
+    @Override
+    public void bind(ServletRequest request) {
+        long startedAt = System.nanoTime();
+        try {
+            super.bind(request);
+        } finally {
+            RequestPhases.add(Phase.BINDING, System.nanoTime() - startedAt);
+        }
+    }
+
+    @Override
+    public void validate() {
+        long startedAt = System.nanoTime();
+        try {
+            super.validate();
+        } finally {
+            RequestPhases.add(Phase.VALIDATION, System.nanoTime() - startedAt);
+        }
+    }
+
+    @Override
+    public void validate(Object... validationHints) {
+        long startedAt = System.nanoTime();
+        try {
+            super.validate(validationHints);
+        } finally {
+            RequestPhases.add(Phase.VALIDATION, System.nanoTime() - startedAt);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package hello.itemservice.web.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 검증 오류를 item.validation.errors{code, field} 카운터로 센다. (글로벌 오류의 field 는 "global")
+ * 실패한 요청마다 BindingResult 전체를 로그로 남기는 대신, logEvery 건에 한 번만 요약을 남긴다.
+ */
+@Slf4j
+public class ValidationMetrics {
+
+    public static final String GLOBAL = "global";
+
+    private final MeterRegistry registry;
+    private final long logEvery;
+    private final AtomicLong failures = new AtomicLong();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public ValidationMetrics(MeterRegistry registry, long logEvery) {
+        this.registry = registry;
+        this.logEvery = logEvery;
+    }
+
+    public void record(Errors errors) {
+        if (!errors.hasErrors()) {
+            return;
+        }
+        for (ObjectError error : errors.getAllErrors()) {
+            String field = error instanceof FieldError ? ((FieldError) error).getField() : GLOBAL;
+            counter(String.valueOf(error.getCode()), field).increment();
+        }
+
+        long count = failures.incrementAndGet();
+        if (logEvery > 0 && (count - 1) % logEvery == 0 && log.isInfoEnabled()) {
+            log.info("validation failed object={} errors={} (sampled 1/{}, total={})",
+                    errors.getObjectName(), summary(errors), logEvery, count);
+        }
+    }
+
+    /**
+     * BindingResult 없이 오류를 Map 으로 모으는 컨트롤러(ValidationItemControllerV1)의 오류를 기록한다.
+     * @param errorCodes field 별 오류 코드 (BindingResult 를 쓰는 컨트롤러와 같은 코드, 글로벌 오류의 field 는 GLOBAL)
+     */
+    public void record(String objectName, Map<String, String> errorCodes) {
+        if (errorCodes.isEmpty()) {
+            return;
+        }
+        errorCodes.forEach((field, code) -> counter(code, field).increment());
+
+        long count = failures.incrementAndGet();
+        if (logEvery > 0 && (count - 1) % logEvery == 0 && log.isInfoEnabled()) {
+            log.info("validation failed object={} errors={} (sampled 1/{}, total={})",
+                    objectName, summary(errorCodes), logEvery, count);
+        }
+    }
+
+    /**
+     * Model 에 담긴 BindingResult 를 모두 기록한다.
+     */
+    public void record(Map<String, Object> model) {
+        for (Object value : model.values()) {
+            if (value instanceof BindingResult) {
+                record((Errors) value);
+            }
+        }
+    }
+
+    private Counter counter(String code, String field) {
+        return counters.computeIfAbsent(code + '\u0000' + field, key -> Counter.builder("item.validation.errors")
+                .description("Validation errors by error code and field")
+                .tag("code", code)
+                .tag("field", field)
+                .register(registry));
+    }
+
+    private static String summary(Map<String, String> errorCodes) {
+        return errorCodes.entrySet().stream()
+                .map(entry -> entry.getKey() + ":" + entry.getValue())
+                .collect(Collectors.joining(","));
+    }
+
+    private static String summary(Errors errors) {
+        return errors.getAllErrors().stream()
+                .map(error -> (error instanceof FieldError ? ((FieldError) error).getField() : GLOBAL) + ":" + error.getCode())
+                .collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,32 @@
+package hello.itemservice.web.reactive;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+
+/**
+ * ItemRepository 를 Flux, Mono 로 감싼다.
+ * 저장소 호출은 블로킹이므로 boundedElastic 스케줄러에서 실행한다.
+ */
+final class ItemFlux {
+
+    private ItemFlux() {
+    }
+
+    /**
+     * 전체 상품을 id 순으로 batchSize 개씩 커서 조회(ItemRepository.cursor)하면서 흘려보낸다.
+     * 구독자가 요청한 만큼만 다음 상품을 꺼내므로, 다음 페이지도 그때 읽고 전체 목록을 한 번에 메모리에 올리지 않는다.
+     */
+    static Flux<Item> all(ItemRepository itemRepository, int batchSize) {
+        return Flux.fromIterable(itemRepository.cursor(batchSize))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,124 @@
+package hello.itemservice.web.reactive;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.CompiledBeanValidator;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * ValidationItemControllerV3 와 같은 폼, 검증, 오류 코드를 쓰는 리액티브 버전
+ * - 저장소 호출은 Mono/Flux 로 감싸 요청 스레드 밖(boundedElastic)에서 실행한다.
+ * - 목록은 전체 상품을 커서로 나눠 읽으면서 바로 내보낸다. (HTML, JSON Lines, SSE)
+ * 애플리케이션은 서블릿(스프링 MVC) 위에서 동작하므로 Mono/Flux 반환값은 MVC 의 비동기 처리로 응답한다.
+ */
+@Slf4j
+@Controller
+@RequestMapping("/reactive/v3/items")
+@RequiredArgsConstructor
+public class ReactiveItemControllerV3 {
+
+    static final int BATCH_SIZE = ItemRepository.MAX_PAGE_SIZE;
+
+    private final ItemRepository itemRepository;
+    private final ObjectProvider<CompiledBeanValidator> compiledBeanValidator;
+
+    @InitBinder("item")
+    private void init(WebDataBinder dataBinder) {
+        CompiledBeanValidator validator = compiledBeanValidator.getIfAvailable();
+        Object target = dataBinder.getTarget();
+        if (validator != null && target != null && validator.supports(target.getClass())) {
+            dataBinder.setValidator(validator);
+        }
+    }
+
+    /**
+     * 템플릿이 행을 그릴 때마다 다음 상품을 꺼내므로, 앞부분은 나머지 상품을 읽기 전에 응답으로 나간다.
+     */
+    @GetMapping
+    public String items(Model model) {
+        model.addAttribute("items", ItemFlux.all(itemRepository, BATCH_SIZE).toIterable(BATCH_SIZE));
+        return "reactive/v3/items";
+    }
+
+    /**
+     * Accept: application/x-ndjson (기본) 이면 한 줄에 상품 하나, text/event-stream 이면 SSE 로 보낸다.
+     */
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @ResponseBody
+    public Flux<Item> stream() {
+        return ItemFlux.all(itemRepository, BATCH_SIZE);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<String> item(@PathVariable long itemId, Model model) {
+        return ItemFlux.blocking(() -> {
+            model.addAttribute("item", itemRepository.findById(itemId));
+            return "reactive/v3/item";
+        });
+    }
+
+    @GetMapping("/add")
+    public String addForm(Model model) {
+        model.addAttribute("item", new Item());
+        return "reactive/v3/addForm";
+    }
+
+    @PostMapping("/add")
+    public Mono<String> addItem(@Validated @ModelAttribute("item") ItemSaveForm saveForm, BindingResult bindingResult, RedirectAttributes redirectAttributes) {
+
+        if (bindingResult.hasErrors()) {
+            log.debug("bindingResult={}", bindingResult);
+            return Mono.just("reactive/v3/addForm");
+        }
+
+        Item item = new Item(saveForm.getItemName(), saveForm.getPrice(), saveForm.getQuantity());
+        return ItemFlux.blocking(() -> {
+            Item savedItem = itemRepository.save(item);
+            redirectAttributes.addAttribute("itemId", savedItem.getId());
+            redirectAttributes.addAttribute("status", true);
+            return "redirect:/reactive/v3/items/{itemId}";
+        });
+    }
+
+    @GetMapping("/{itemId}/edit")
+    public Mono<String> editForm(@PathVariable Long itemId, Model model) {
+        return ItemFlux.blocking(() -> {
+            model.addAttribute("item", itemRepository.findById(itemId));
+            return "reactive/v3/editForm";
+        });
+    }
+
+    @PostMapping("/{itemId}/edit")
+    public Mono<String> editItem(@PathVariable Long itemId, @Validated @ModelAttribute("item") ItemUpdateForm updateForm, BindingResult bindingResult) {
+
+        if (bindingResult.hasErrors()) {
+            log.debug("bindingResult={}", bindingResult);
+            return Mono.just("reactive/v3/editForm");
+        }
+
+        Item item = new Item(updateForm.getItemName(), updateForm.getPrice(), updateForm.getQuantity());
+        return ItemFlux.blocking(() -> {
+            if (itemRepository.update(itemId, item, updateForm.getVersion()) == null) {
+                Item current = itemRepository.findById(itemId);
+                updateForm.setVersion(current == null ? null : current.getVersion());
+                bindingResult.reject("versionConflict");
+                return "reactive/v3/editForm";
+            }
+            return "redirect:/reactive/v3/items/{itemId}";
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package hello.itemservice.web.shard;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * item.shard.server.enabled=true 면 이 인스턴스의 ItemStore 를 다른 인스턴스의 shard 로 내어 준다. (RemoteItemStore 가 호출)
+ * - 요청마다 item.shard.token 을 확인한다. (ShardServerConfig)
+ * - id 는 요청하는 쪽(ShardedItemStore)이 이 인스턴스에 예약한 블록(/id-block)에서 발급하므로 저장은 ItemRepository.putAll 로 id 를 그대로 둔다.
+ *   예약은 지금까지 내어 준 블록과 저장된 가장 큰 id 뒤에서만 받아서, 여러 인스턴스가 이 shard 를 함께 써도 블록이 겹치지 않는다.
+ *   이미 있는 id 를 다시 저장하려 하면 덮어쓰지 않고 409 로 거절한다. (이 인스턴스에서 직접 만드는 것은 ShardServerItemStore 가 막는다)
+ *   쓰기는 모두 ItemRepository 를 거쳐서 이 인스턴스의 인덱스, 변경 횟수(목록 화면 캐시)도 함께 갱신된다.
+ * - 조회는 저장소를 바로 사용한다.
+ */
+@RestController
+@RequestMapping("/internal/shard/items")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "item.shard.server.enabled", havingValue = "true")
+public class ShardItemController {
+
+    private final ItemStore store;
+    private final ItemRepository itemRepository;
+    private long reservedUpTo; //지금까지 예약해 준 가장 큰 id (this 로 동기화)
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Item> get(@PathVariable long id) {
+        Item item = store.get(id);
+        return item == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(item);
+    }
+
+    @GetMapping("/max-id")
+    public ResponseEntity<Long> maxId() {
+        Long maxId = store.maxId();
+        return maxId == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(maxId);
+    }
+
+    @GetMapping("/all")
+    public List<Item> findAll() {
+        return store.findAll();
+    }
+
+    @GetMapping("/range")
+    public List<Item> findRange(@RequestParam int offset, @RequestParam int limit) {
+        return store.findRange(offset, limit);
+    }
+
+    @GetMapping
+    public List<Item> findAfter(@RequestParam(required = false) Long after, @RequestParam int limit) {
+        return store.findAfter(after, limit);
+    }
+
+    /**
+     * start 부터 size 개의 id 를 예약한다.
+     * start 가 이미 예약했거나 저장된 id 이하면 409 와 함께 그 가장 큰 id 를 돌려준다. (요청한 쪽은 그 뒤 블록으로 다시 예약)
+     */
+    @PostMapping("/id-block")
+    public synchronized ResponseEntity<Long> reserveIdBlock(@RequestParam long start, @RequestParam int size) {
+        if (start <= 0 || size <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        Long maxId = store.maxId();
+        long used = Math.max(reservedUpTo, maxId == null ? 0 : maxId);
+        if (start <= used) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(used);
+        }
+        reservedUpTo = start + size - 1;
+        return ResponseEntity.ok(reservedUpTo);
+    }
+
+    @PostMapping
+    public synchronized ResponseEntity<Void> putAll(@RequestBody List<Item> items) {
+        for (Item item : items) {
+            if (store.get(item.getId()) != null) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+        }
+        itemRepository.putAll(items);
+        return ResponseEntity.ok().build();
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<Item> update(@PathVariable long id, @RequestBody Item updateParam,
+                                       @RequestParam(required = false) Long expectedVersion) {
+        Item updated = itemRepository.update(id, updateParam, expectedVersion);
+        return updated == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(updated);
+    }
+
+    @DeleteMapping
+    public void clear() {
+        itemRepository.clearStore();
+    }
+}
@@ -0,0 +1,68 @@
+package hello.itemservice.web.shard;
+
+import hello.itemservice.domain.item.ItemStore;
+import hello.itemservice.domain.item.change.ItemChangeConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * item.shard.server.enabled=true 면 /internal/shard/** 요청은 item.shard.token 이 맞을 때만 받는다. (ShardTokenInterceptor)
+ * 토큰 없이 shard 서버로 시작하지 않는다.
+ * 이 인스턴스에서는 상품을 직접 만들지 않는다. (ShardServerItemStore, id 는 shard 를 쓰는 쪽이 예약해서 발급)
+ */
+@Configuration
+@ConditionalOnProperty(name = "item.shard.server.enabled", havingValue = "true")
+public class ShardServerConfig implements WebMvcConfigurer {
+
+    /**
+     * 다른 저장소 데코레이터(ItemChangeConfig, ItemCacheConfig)보다 먼저(가장 안쪽에) 감싼다.
+     */
+    static final int POST_PROCESSOR_ORDER = ItemChangeConfig.POST_PROCESSOR_ORDER - 10;
+
+    private final String token;
+
+    public ShardServerConfig(@Value("${item.shard.token:}") String token) {
+        if (token.isBlank()) {
+            throw new IllegalStateException("item.shard.server.enabled=true 면 item.shard.token 이 필요합니다.");
+        }
+        this.token = token;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ShardTokenInterceptor(token)).addPathPatterns("/internal/shard/**");
+    }
+
+    /**
+     * ItemStore 빈을 새 상품을 만들지 않는 ShardServerItemStore 로 감싼다.
+     */
+    @Bean
+    public static ShardServerPostProcessor shardServerPostProcessor() {
+        return new ShardServerPostProcessor();
+    }
+
+    /**
+     * 순서(Ordered)를 가지려면 빈 타입에 드러나야 하므로 익명 클래스 대신 이름을 붙인다.
+     */
+    static final class ShardServerPostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof ItemStore) || bean instanceof ShardServerItemStore) {
+                return bean;
+            }
+            return new ShardServerItemStore((ItemStore) bean);
+        }
+
+        @Override
+        public int getOrder() {
+            return POST_PROCESSOR_ORDER;
+        }
+    }
+}
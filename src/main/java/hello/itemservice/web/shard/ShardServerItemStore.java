@@ -0,0 +1,80 @@
+package hello.itemservice.web.shard;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemStore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * shard 서버(item.shard.server.enabled=true)의 저장소. 새 상품의 id 를 이 인스턴스에서 발급하지 않는다.
+ * id 는 shard 를 쓰는 쪽(ShardedItemStore)이 예약한 블록에서 발급하므로(ShardItemController.reserveIdBlock),
+ * 이 인스턴스가 자체 sequence 로 만든 상품은 그 블록과 겹쳐 덮어쓰일 수 있다.
+ * 그래서 ItemRepository.save, saveAll 은 IllegalStateException 으로 거절하고, 나머지는 delegate 에 그대로 위임한다.
+ */
+class ShardServerItemStore implements ItemStore, Closeable {
+
+    private final ItemStore delegate;
+
+    ShardServerItemStore(ItemStore delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean assignIds(List<Item> items) {
+        throw new IllegalStateException("shard 서버에서는 상품을 직접 만들 수 없습니다. shard 를 쓰는 인스턴스에서 만들어 주세요.");
+    }
+
+    @Override
+    public void put(Item item) {
+        delegate.put(item);
+    }
+
+    @Override
+    public void putAll(List<Item> items) {
+        delegate.putAll(items);
+    }
+
+    @Override
+    public Item get(Long id) {
+        return delegate.get(id);
+    }
+
+    @Override
+    public List<Item> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Long maxId() {
+        return delegate.maxId();
+    }
+
+    @Override
+    public List<Item> findRange(int offset, int limit) {
+        return delegate.findRange(offset, limit);
+    }
+
+    @Override
+    public List<Item> findAfter(Long afterId, int limit) {
+        return delegate.findAfter(afterId, limit);
+    }
+
+    @Override
+    public Item update(Long id, Item updateParam, Long expectedVersion) {
+        return delegate.update(id, updateParam, expectedVersion);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable) {
+            ((Closeable) delegate).close();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package hello.itemservice.web.shard;
+
+import hello.itemservice.domain.item.shard.RemoteItemStore;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * RemoteItemStore.TOKEN_HEADER 가 item.shard.token 과 다르면 401 로 거절한다. (비교 시간이 값에 따라 달라지지 않게 MessageDigest.isEqual)
+ */
+class ShardTokenInterceptor implements HandlerInterceptor {
+
+    private final byte[] token;
+
+    ShardTokenInterceptor(String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String given = request.getHeader(RemoteItemStore.TOKEN_HEADER);
+        if (given != null && MessageDigest.isEqual(token, given.getBytes(StandardCharsets.UTF_8))) {
+            return true;
+        }
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        return false;
+    }
+}
@@ -0,0 +1,401 @@
+package hello.itemservice.web.validation;
+
+import org.hibernate.validator.constraints.Range;
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.GroupSequence;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.groups.Default;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bean Validation 애노테이션(@NotBlank, @NotNull, @Range, @Max, @Min)과 클래스 단위 규칙(@TotalPriceMin)을
+ * 시작 시점에 한 번만 읽어서 (클래스, 그룹)별 검사 목록으로 바꿔 둔 Validator
+ * - 검증할 때는 리플렉션이나 제약 메타데이터, 그룹 조회 없이 getter 호출과 값 비교만 한다.
+ * - 필드 규칙을 한 번 훑으면서 실패한 필드를 비트로 모으고, 그 필드에 기대는 클래스 단위 규칙은 건너뛴다.
+ * - 오류 코드, 인자, 기본 메시지는 SpringValidatorAdapter 와 같게 만들어서 errors.properties 가 그대로 적용된다.
+ * - @Validated(SaveCheck.class) 처럼 그룹 하나가 넘어오면 그 그룹의 검사 목록을 쓴다.
+ *   미리 만들지 않은 그룹(또는 여러 그룹)은 SpringValidatorAdapter 로 검증한다.
+ */
+public class CompiledBeanValidator implements SmartValidator {
+
+    private static final Set<String> INTERNAL_ATTRIBUTES = Set.of("message", "groups", "payload");
+    private static final Object[] DEFAULT_GROUP = {Default.class};
+
+    private final Map<Class<?>, Map<Class<?>, Plan>> plans; //대상 클래스 -> 그룹 -> 검사 목록
+    private final boolean compiledFields; //false 면 필드 검증은 Bean Validation 에 맡긴다.
+    private final SpringValidatorAdapter beanValidator;
+
+    private CompiledBeanValidator(Map<Class<?>, Map<Class<?>, Plan>> plans, boolean compiledFields,
+                                  SpringValidatorAdapter beanValidator) {
+        this.plans = plans;
+        this.compiledFields = compiledFields;
+        this.beanValidator = beanValidator;
+    }
+
+    /**
+     * targetClasses 의 기본(Default) 그룹 제약 조건과 클래스 단위 규칙을 검사 목록으로 만든다.
+     * 지원하지 않는 제약 조건이 있으면 시작 시점에 IllegalStateException 이 발생한다.
+     */
+    public static CompiledBeanValidator compile(javax.validation.Validator validator, Class<?>... targetClasses) {
+        return compile(validator, defaultGroup(targetClasses));
+    }
+
+    /**
+     * 대상 클래스마다 지정한 그룹의 검사 목록을 만든다.
+     */
+    public static CompiledBeanValidator compile(javax.validation.Validator validator, Map<Class<?>, List<Class<?>>> groupsByClass) {
+        return new CompiledBeanValidator(compilePlans(validator, groupsByClass, true), true, new SpringValidatorAdapter(validator));
+    }
+
+    /**
+     * 필드 검증은 Bean Validation(SpringValidatorAdapter)에 맡기고, 클래스 단위 규칙만 컴파일해서 검사한다.
+     */
+    public static CompiledBeanValidator withBeanValidation(javax.validation.Validator validator, Class<?>... targetClasses) {
+        return withBeanValidation(validator, defaultGroup(targetClasses));
+    }
+
+    public static CompiledBeanValidator withBeanValidation(javax.validation.Validator validator, Map<Class<?>, List<Class<?>>> groupsByClass) {
+        return new CompiledBeanValidator(compilePlans(validator, groupsByClass, false), false, new SpringValidatorAdapter(validator));
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return plans.containsKey(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        validate(target, errors, DEFAULT_GROUP);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        Plan plan = plan(target.getClass(), validationHints);
+        if (plan == null) {
+            beanValidator.validate(target, errors, validationHints);
+            return;
+        }
+
+        long failedFields = compiledFields
+                ? validateFields(plan, target, errors)
+                : delegateFields(plan, target, errors, validationHints);
+
+        for (CrossFieldRule rule : plan.crossFieldRules) {
+            if ((rule.dependsOn & failedFields) == 0) {
+                rule.rule.validate(target, errors);
+            }
+        }
+    }
+
+    /**
+     * 그룹 힌트가 없거나 하나일 때만 미리 만든 검사 목록을 찾는다.
+     */
+    private Plan plan(Class<?> targetClass, Object[] validationHints) {
+        Map<Class<?>, Plan> groups = plans.get(targetClass);
+        if (groups == null || validationHints.length > 1) {
+            return null;
+        }
+        return groups.get(validationHints.length == 0 ? Default.class : validationHints[0]);
+    }
+
+    private static long validateFields(Plan plan, Object target, Errors errors) {
+        long failedFields = 0;
+        for (FieldRule rule : plan.fieldRules) {
+            if (rule.constraint.test(rule.getter.apply(target))) {
+                continue;
+            }
+            failedFields |= rule.bit;
+            // 타입 오류(typeMismatch)가 난 필드는 SpringValidatorAdapter 처럼 건너뛴다.
+            FieldError fieldError = errors.getFieldError(rule.field);
+            if (fieldError == null || !fieldError.isBindingFailure()) {
+                errors.rejectValue(rule.field, rule.code, rule.arguments(errors.getObjectName()), rule.defaultMessage);
+            }
+        }
+        return failedFields;
+    }
+
+    private long delegateFields(Plan plan, Object target, Errors errors, Object[] validationHints) {
+        beanValidator.validate(target, errors, validationHints);
+        long failedFields = 0;
+        for (int i = 0; i < plan.fields.length; i++) {
+            if (errors.hasFieldErrors(plan.fields[i])) {
+                failedFields |= 1L << i;
+            }
+        }
+        return failedFields;
+    }
+
+    private static Map<Class<?>, List<Class<?>>> defaultGroup(Class<?>... targetClasses) {
+        Map<Class<?>, List<Class<?>>> groupsByClass = new LinkedHashMap<>();
+        for (Class<?> targetClass : targetClasses) {
+            groupsByClass.put(targetClass, List.of(Default.class));
+        }
+        return groupsByClass;
+    }
+
+    private static Map<Class<?>, Map<Class<?>, Plan>> compilePlans(javax.validation.Validator validator,
+                                                                   Map<Class<?>, List<Class<?>>> groupsByClass,
+                                                                   boolean compileFields) {
+        Map<Class<?>, Map<Class<?>, Plan>> plans = new HashMap<>();
+        groupsByClass.forEach((targetClass, groups) -> {
+            Map<Class<?>, Plan> groupPlans = new HashMap<>();
+            for (Class<?> group : groups) {
+                if (group.isAnnotationPresent(GroupSequence.class)) {
+                    throw new IllegalStateException("그룹 시퀀스는 지원하지 않습니다. " + group.getSimpleName());
+                }
+                groupPlans.put(group, compilePlan(validator, targetClass, group, compileFields));
+            }
+            plans.put(targetClass, groupPlans);
+        });
+        return plans;
+    }
+
+    /**
+     * 필드마다 비트 하나를 정하고, 필드 규칙과 클래스 단위 규칙이 그 비트를 쓴다.
+     * compileFields 가 false 면 클래스 단위 규칙이 기대는 필드만 비트를 받는다.
+     * 제약 조건은 선언한 그룹이 group 이거나 group 의 상위 인터페이스일 때 포함한다. (Bean Validation 의 그룹 상속과 같다)
+     * 클래스 단위 규칙은 그룹과 상관없이 항상 포함한다.
+     */
+    private static Plan compilePlan(javax.validation.Validator validator, Class<?> targetClass, Class<?> group,
+                                    boolean compileFields) {
+        List<String> fields = new ArrayList<>();
+        List<FieldRule> rules = new ArrayList<>();
+        if (compileFields) {
+            for (PropertyDescriptor property : validator.getConstraintsForClass(targetClass).getConstrainedProperties()) {
+                String field = property.getPropertyName();
+                long bit = bit(fields, field);
+                Function<Object, Object> getter = getter(targetClass, field);
+                for (ConstraintDescriptor<?> descriptor : property.getConstraintDescriptors()) {
+                    if (!inGroup(descriptor, group)) {
+                        continue;
+                    }
+                    Annotation annotation = descriptor.getAnnotation();
+                    rules.add(new FieldRule(field, bit, getter,
+                            annotation.annotationType().getSimpleName(),
+                            constraint(annotation),
+                            attributeArguments(descriptor),
+                            defaultMessage(validator, targetClass, field, annotation, property.getElementClass(), group)));
+                }
+            }
+            rules.sort(Comparator.comparing((FieldRule rule) -> rule.field).thenComparing(rule -> rule.code));
+        }
+
+        List<CrossFieldRule> crossFieldRules = new ArrayList<>();
+        TotalPriceRule totalPriceRule = TotalPriceRule.find(targetClass);
+        if (totalPriceRule != null) {
+            long dependsOn = bit(fields, totalPriceRule.getPriceField()) | bit(fields, totalPriceRule.getQuantityField());
+            crossFieldRules.add(new CrossFieldRule(totalPriceRule, dependsOn));
+        }
+        return new Plan(rules.toArray(new FieldRule[0]), fields.toArray(new String[0]),
+                crossFieldRules.toArray(new CrossFieldRule[0]));
+    }
+
+    private static boolean inGroup(ConstraintDescriptor<?> descriptor, Class<?> group) {
+        for (Class<?> declared : descriptor.getGroups()) {
+            if (declared.isAssignableFrom(group)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long bit(List<String> fields, String field) {
+        int index = fields.indexOf(field);
+        if (index < 0) {
+            if (fields.size() == Long.SIZE) {
+                throw new IllegalStateException("검증할 필드가 너무 많습니다. " + fields);
+            }
+            fields.add(field);
+            index = fields.size() - 1;
+        }
+        return 1L << index;
+    }
+
+    private static Predicate<Object> constraint(Annotation annotation) {
+        if (annotation instanceof NotNull) {
+            return value -> value != null;
+        }
+        if (annotation instanceof NotBlank) {
+            return value -> value != null && value.toString().trim().length() > 0;
+        }
+        if (annotation instanceof Range) {
+            long min = ((Range) annotation).min();
+            long max = ((Range) annotation).max();
+            return value -> value == null || (((Number) value).longValue() >= min && ((Number) value).longValue() <= max);
+        }
+        if (annotation instanceof Max) {
+            long max = ((Max) annotation).value();
+            return value -> value == null || ((Number) value).longValue() <= max;
+        }
+        if (annotation instanceof Min) {
+            long min = ((Min) annotation).value();
+            return value -> value == null || ((Number) value).longValue() >= min;
+        }
+        throw new IllegalStateException("지원하지 않는 제약 조건입니다. " + annotation);
+    }
+
+    /**
+     * SpringValidatorAdapter.getArgumentsForConstraint 와 같은 순서(속성 이름순)의 인자
+     * 첫 번째 인자(필드 이름)는 objectName 에 따라 달라지므로 검증할 때 채운다.
+     */
+    private static Object[] attributeArguments(ConstraintDescriptor<?> descriptor) {
+        Map<String, Object> attributes = new TreeMap<>();
+        descriptor.getAttributes().forEach((name, value) -> {
+            if (!INTERNAL_ATTRIBUTES.contains(name)) {
+                attributes.put(name, value instanceof String
+                        ? new DefaultMessageSourceResolvable(new String[]{(String) value}, (String) value)
+                        : value);
+            }
+        });
+        return attributes.values().toArray();
+    }
+
+    /**
+     * 제약 조건을 위반하는 값으로 한 번 검증해서 Hibernate Validator 가 만든 메시지를 그대로 가져온다.
+     */
+    private static <T> String defaultMessage(javax.validation.Validator validator, Class<T> targetClass,
+                                             String field, Annotation annotation, Class<?> fieldType, Class<?> group) {
+        Object probe = violatingValue(annotation, fieldType);
+        for (ConstraintViolation<T> violation : validator.validateValue(targetClass, field, probe, group)) {
+            if (violation.getConstraintDescriptor().getAnnotation().equals(annotation)) {
+                return violation.getMessage();
+            }
+        }
+        throw new IllegalStateException("기본 메시지를 만들 수 없습니다. " + targetClass.getSimpleName() + "." + field);
+    }
+
+    private static Object violatingValue(Annotation annotation, Class<?> fieldType) {
+        if (annotation instanceof NotNull) {
+            return null;
+        }
+        if (annotation instanceof NotBlank) {
+            return "";
+        }
+        if (annotation instanceof Range) {
+            Range range = (Range) annotation;
+            return toFieldType(range.min() == Long.MIN_VALUE ? range.max() + 1 : range.min() - 1, fieldType);
+        }
+        if (annotation instanceof Max) {
+            return toFieldType(((Max) annotation).value() + 1, fieldType);
+        }
+        return toFieldType(((Min) annotation).value() - 1, fieldType);
+    }
+
+    private static Object toFieldType(long value, Class<?> fieldType) {
+        if (fieldType == Integer.class || fieldType == int.class) {
+            return (int) value;
+        }
+        if (fieldType == Long.class || fieldType == long.class) {
+            return value;
+        }
+        if (fieldType == Short.class || fieldType == short.class) {
+            return (short) value;
+        }
+        if (fieldType == Byte.class || fieldType == byte.class) {
+            return (byte) value;
+        }
+        throw new IllegalStateException("지원하지 않는 필드 타입입니다. " + fieldType);
+    }
+
+    /**
+     * getter 를 Function 으로 바꿔서 검증할 때 리플렉션 호출이 일어나지 않게 한다.
+     */
+    @SuppressWarnings("unchecked")
+    static Function<Object, Object> getter(Class<?> targetClass, String field) {
+        java.beans.PropertyDescriptor beanProperty = BeanUtils.getPropertyDescriptor(targetClass, field);
+        if (beanProperty == null || beanProperty.getReadMethod() == null) {
+            throw new IllegalStateException("getter 가 없습니다. " + targetClass.getSimpleName() + "." + field);
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle readMethod = lookup.unreflect(beanProperty.getReadMethod());
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    readMethod, readMethod.type().wrap());
+            return (Function<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("getter 를 만들 수 없습니다. " + targetClass.getSimpleName() + "." + field, e);
+        }
+    }
+
+    private static final class Plan {
+
+        private final FieldRule[] fieldRules;
+        private final String[] fields; //비트 순서
+        private final CrossFieldRule[] crossFieldRules;
+
+        Plan(FieldRule[] fieldRules, String[] fields, CrossFieldRule[] crossFieldRules) {
+            this.fieldRules = fieldRules;
+            this.fields = fields;
+            this.crossFieldRules = crossFieldRules;
+        }
+    }
+
+    private static final class CrossFieldRule {
+
+        private final TotalPriceRule rule;
+        private final long dependsOn; //이 비트의 필드 중 하나라도 실패하면 건너뛴다.
+
+        CrossFieldRule(TotalPriceRule rule, long dependsOn) {
+            this.rule = rule;
+            this.dependsOn = dependsOn;
+        }
+    }
+
+    private static final class FieldRule {
+
+        private final String field;
+        private final long bit;
+        private final Function<Object, Object> getter;
+        private final String code;
+        private final Predicate<Object> constraint;
+        private final Object[] attributeArguments;
+        private final String defaultMessage;
+
+        FieldRule(String field, long bit, Function<Object, Object> getter, String code, Predicate<Object> constraint,
+                  Object[] attributeArguments, String defaultMessage) {
+            this.field = field;
+            this.bit = bit;
+            this.getter = getter;
+            this.code = code;
+            this.constraint = constraint;
+            this.attributeArguments = attributeArguments;
+            this.defaultMessage = defaultMessage;
+        }
+
+        Object[] arguments(String objectName) {
+            Object[] arguments = new Object[attributeArguments.length + 1];
+            arguments[0] = new DefaultMessageSourceResolvable(new String[]{objectName + "." + field, field}, field);
+            System.arraycopy(attributeArguments, 0, arguments, 1, attributeArguments.length);
+            return arguments;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.validation.groups.Default;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * validation.compiled.enabled=true (기본) 면 V3 폼과 Item 그룹 검증의 필드 검증도 CompiledBeanValidator 가 직접 한다.
+ * false 면 필드 검증은 Bean Validation 에 맡기고, 클래스 단위 규칙(@TotalPriceMin)만 컴파일해서 검사한다.
+ * validation.fast-path.enabled=true (기본) 면 V2, V3 상품 검증 앞에 FastPathValidator 를 둔다.
+ */
+@Configuration
+public class CompiledValidatorConfig {
+
+    /**
+     * 검사 목록을 미리 만들 (클래스, 그룹)
+     */
+    static final Map<Class<?>, List<Class<?>>> TARGETS = Map.of(
+            ItemSaveForm.class, List.of(Default.class),
+            ItemUpdateForm.class, List.of(Default.class),
+            Item.class, List.of(SaveCheck.class, UpdateCheck.class));
+
+    @Bean
+    public CompiledBeanValidator compiledBeanValidator(javax.validation.Validator validator,
+                                                       @Value("${validation.compiled.enabled:true}") boolean compiled) {
+        return compiled
+                ? CompiledBeanValidator.compile(validator, TARGETS)
+                : CompiledBeanValidator.withBeanValidation(validator, TARGETS);
+    }
+
+    /**
+     * 규칙을 어긴 입력은 ItemValidator(V2) 또는 CompiledBeanValidator(V3)로 다시 검증한다.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "validation.fast-path.enabled", havingValue = "true", matchIfMissing = true)
+    public FastPathValidator fastPathValidator(ItemValidator itemValidator, CompiledBeanValidator compiledBeanValidator) {
+        return new FastPathValidator(itemValidator, compiledBeanValidator);
+    }
+}
@@ -0,0 +1,85 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+/**
+ * 상품 규칙(상품명 필수, 가격 범위, 최대 수량, 가격 * 수량 최소 금액)을 값 비교로만 먼저 확인하는 Validator
+ * - 한도는 대상 클래스의 애노테이션에서 ItemLimits 로 읽는다. 숫자를 따로 적지 않으므로 원래 Validator 와 어긋나지 않는다.
+ * - 모두 통과하면 Errors 를 건드리지 않고 끝난다. (오류 코드, 인자 배열, FieldError 를 만들지 않는다)
+ * - 하나라도 어기거나 바인딩 오류가 있으면 원래 Validator 로 다시 검증해서 오류를 채운다. 그래서 오류 코드와 인자는 기존과 같다.
+ * 빠른 확인은 원래 Validator 보다 느슨하면 안 되므로, 애매한 값(공백 문자 등)은 실패로 보고 원래 Validator 에 맡긴다.
+ */
+public class FastPathValidator implements Validator {
+
+    private final Validator itemValidator; //Item (V2)
+    private final Validator formValidator; //ItemSaveForm, ItemUpdateForm (V3)
+
+    public FastPathValidator(Validator itemValidator, Validator formValidator) {
+        this.itemValidator = itemValidator;
+        this.formValidator = formValidator;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return Item.class.isAssignableFrom(clazz) || clazz == ItemSaveForm.class || clazz == ItemUpdateForm.class;
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        if (!errors.hasErrors() && passes(target)) {
+            return;
+        }
+        (target instanceof Item ? itemValidator : formValidator).validate(target, errors);
+    }
+
+    /**
+     * target 이 모든 규칙을 통과하면 true (지원하지 않는 타입이면 false)
+     */
+    public static boolean passes(Object target) {
+        if (target instanceof Item) {
+            Item item = (Item) target;
+            return passes(ItemLimits.of(target.getClass()), item.getItemName(), item.getPrice(), item.getQuantity());
+        }
+        if (target instanceof ItemSaveForm) {
+            ItemSaveForm form = (ItemSaveForm) target;
+            return passes(ItemLimits.of(ItemSaveForm.class), form.getItemName(), form.getPrice(), form.getQuantity());
+        }
+        if (target instanceof ItemUpdateForm) {
+            ItemUpdateForm form = (ItemUpdateForm) target;
+            return form.getId() != null
+                    && passes(ItemLimits.of(ItemUpdateForm.class), form.getItemName(), form.getPrice(), form.getQuantity());
+        }
+        return false;
+    }
+
+    private static boolean passes(ItemLimits limits, String itemName, Integer price, Integer quantity) {
+        if (!hasText(itemName) || price == null || quantity == null) {
+            return false;
+        }
+        int priceValue = price;
+        int quantityValue = quantity;
+        //가격 * 수량은 TotalPriceRule 처럼 long 으로 계산한다. (int 두 개의 곱은 long 을 넘지 않는다)
+        return limits.priceInRange(priceValue) && limits.quantityInRange(quantityValue)
+                && (long) priceValue * quantityValue >= limits.getTotalPriceRule().getMin();
+    }
+
+    /**
+     * StringUtils.hasText(공백 문자 제외)와 @NotBlank(' ' 이하 문자 제외)를 모두 만족하는 글자가 있으면 true
+     */
+    private static boolean hasText(String value) {
+        if (value == null) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c > ' ' && !Character.isWhitespace(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,105 @@
+package hello.itemservice.web.validation;
+
+import org.hibernate.validator.constraints.Range;
+import org.springframework.util.ReflectionUtils;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.lang.reflect.Field;
+
+/**
+ * 가격, 수량 필드의 @Range, @Min, @Max 와 클래스의 @TotalPriceMin 에서 읽은 상품 한도 (클래스마다 하나를 캐시한다)
+ * - 애노테이션의 groups 는 보지 않는다. Item 은 SaveCheck 에만 @Max 가 있지만 직접 작성한 검증(ItemValidator 등)은 항상 확인한다.
+ * - 애노테이션이 없는 쪽은 한도가 없다. (Long.MIN_VALUE ~ Long.MAX_VALUE)
+ * 직접 작성한 검증과 FastPathValidator 가 같은 값을 쓰도록, 숫자를 코드에 다시 적지 말고 여기서 읽는다.
+ */
+public final class ItemLimits {
+
+    private static final ClassValue<ItemLimits> LIMITS = new ClassValue<>() {
+        @Override
+        protected ItemLimits computeValue(Class<?> type) {
+            return new ItemLimits(type, TotalPriceRule.of(type));
+        }
+    };
+
+    private final long priceMin;
+    private final long priceMax;
+    private final long quantityMin;
+    private final long quantityMax;
+    private final TotalPriceRule totalPriceRule;
+
+    private ItemLimits(Class<?> type, TotalPriceRule totalPriceRule) {
+        Field price = field(type, totalPriceRule.getPriceField());
+        Field quantity = field(type, totalPriceRule.getQuantityField());
+        this.priceMin = min(price);
+        this.priceMax = max(price);
+        this.quantityMin = min(quantity);
+        this.quantityMax = max(quantity);
+        this.totalPriceRule = totalPriceRule;
+    }
+
+    /**
+     * type 에 @TotalPriceMin 이 없으면 IllegalStateException
+     */
+    public static ItemLimits of(Class<?> type) {
+        return LIMITS.get(type);
+    }
+
+    public boolean priceInRange(int price) {
+        return price >= priceMin && price <= priceMax;
+    }
+
+    public boolean quantityInRange(int quantity) {
+        return quantity >= quantityMin && quantity <= quantityMax;
+    }
+
+    public long getPriceMin() {
+        return priceMin;
+    }
+
+    public long getPriceMax() {
+        return priceMax;
+    }
+
+    public long getQuantityMax() {
+        return quantityMax;
+    }
+
+    public TotalPriceRule getTotalPriceRule() {
+        return totalPriceRule;
+    }
+
+    private static Field field(Class<?> type, String name) {
+        Field field = ReflectionUtils.findField(type, name);
+        if (field == null) {
+            throw new IllegalStateException("필드가 없습니다. " + type.getSimpleName() + "." + name);
+        }
+        return field;
+    }
+
+    private static long min(Field field) {
+        long min = Long.MIN_VALUE;
+        Range range = field.getAnnotation(Range.class);
+        if (range != null) {
+            min = Math.max(min, range.min());
+        }
+        Min annotation = field.getAnnotation(Min.class);
+        if (annotation != null) {
+            min = Math.max(min, annotation.value());
+        }
+        return min;
+    }
+
+    private static long max(Field field) {
+        long max = Long.MAX_VALUE;
+        Range range = field.getAnnotation(Range.class);
+        if (range != null) {
+            max = Math.min(max, range.max());
+        }
+        Max annotation = field.getAnnotation(Max.class);
+        if (annotation != null) {
+            max = Math.min(max, annotation.value());
+        }
+        return max;
+    }
+}
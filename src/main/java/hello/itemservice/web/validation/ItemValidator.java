@@ -9,6 +9,8 @@ import org.springframework.validation.Validator;
 @Component
 public class ItemValidator implements Validator {
 
+    private static final ItemLimits LIMITS = ItemLimits.of(Item.class);
+
     /**
      * Item 과 그 자식들을 모두 포용하고 싶을 때 사용(== 보다 효용성 높다)
      */
@@ -28,19 +30,19 @@ public class ItemValidator implements Validator {
 
         Integer price = item.getPrice();
 
-        if (price == null || (price < 1000 || price > 1000000)) {
-            errors.rejectValue("price", "range", new Object[]{1000, 1000000}, null);
+        if (price == null || !LIMITS.priceInRange(price)) {
+            errors.rejectValue("price", "range", new Object[]{LIMITS.getPriceMin(), LIMITS.getPriceMax()}, null);
         }
 
         Integer quantity = item.getQuantity();
 
-        if (quantity == null || quantity > 9999) {
-            errors.rejectValue("quantity", "max", new Object[]{9999}, null);
+        if (quantity == null || !LIMITS.quantityInRange(quantity)) {
+            errors.rejectValue("quantity", "max", new Object[]{LIMITS.getQuantityMax()}, null);
         }
 
-        // 글로벌 검증
-        if (price != null && quantity != null && price * quantity < 10000) {
-            errors.reject("totalPriceMin", new Object[]{10000, (price * quantity)}, null);
+        // 글로벌 검증 (가격, 수량 검증이 이미 실패했으면 건너뛴다)
+        if (!errors.hasFieldErrors("price") && !errors.hasFieldErrors("quantity")) {
+            LIMITS.getTotalPriceRule().validate(item, errors);
         }
     }
 }
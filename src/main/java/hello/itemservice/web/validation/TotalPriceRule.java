@@ -0,0 +1,98 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.TotalPriceMin;
+import org.springframework.validation.Errors;
+
+import java.util.function.Function;
+
+/**
+ * 클래스에 붙은 @TotalPriceMin 을 한 번만 읽어서 만든 "가격 * 수량 >= 최소 금액" 규칙 (클래스마다 하나를 캐시한다)
+ * - 합계는 long 으로 계산하고, long 도 넘치면 Long.MAX_VALUE(또는 MIN_VALUE)로 고정한다. int 곱셈처럼 음수로 뒤집히지 않는다.
+ * - 가격이나 수량이 비어 있으면 검사하지 않는다. (비어 있는 값은 필드 검증이 잡는다)
+ */
+public final class TotalPriceRule {
+
+    public static final String CODE = "totalPriceMin";
+
+    private static final ClassValue<TotalPriceRule> RULES = new ClassValue<>() {
+        @Override
+        protected TotalPriceRule computeValue(Class<?> type) {
+            TotalPriceMin annotation = type.getAnnotation(TotalPriceMin.class);
+            return annotation == null ? null : new TotalPriceRule(type, annotation);
+        }
+    };
+
+    private final long min;
+    private final String priceField;
+    private final String quantityField;
+    private final Function<Object, Object> priceGetter;
+    private final Function<Object, Object> quantityGetter;
+
+    private TotalPriceRule(Class<?> type, TotalPriceMin annotation) {
+        this.min = annotation.value();
+        this.priceField = annotation.price();
+        this.quantityField = annotation.quantity();
+        this.priceGetter = CompiledBeanValidator.getter(type, priceField);
+        this.quantityGetter = CompiledBeanValidator.getter(type, quantityField);
+    }
+
+    /**
+     * type 에 @TotalPriceMin 이 없으면 IllegalStateException
+     */
+    public static TotalPriceRule of(Class<?> type) {
+        TotalPriceRule rule = find(type);
+        if (rule == null) {
+            throw new IllegalStateException("@TotalPriceMin 이 없습니다. " + type.getSimpleName());
+        }
+        return rule;
+    }
+
+    /**
+     * type 에 @TotalPriceMin 이 없으면 null
+     */
+    static TotalPriceRule find(Class<?> type) {
+        return RULES.get(type);
+    }
+
+    public static long total(Number price, Number quantity) {
+        long priceValue = price.longValue();
+        long quantityValue = quantity.longValue();
+        try {
+            return Math.multiplyExact(priceValue, quantityValue);
+        } catch (ArithmeticException e) {
+            return (priceValue < 0) == (quantityValue < 0) ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * 규칙을 어기면 현재 합계, 통과하거나 가격, 수량 중 하나라도 비어 있으면 null
+     */
+    public Long violation(Object target) {
+        Object price = priceGetter.apply(target);
+        Object quantity = quantityGetter.apply(target);
+        if (price == null || quantity == null) {
+            return null;
+        }
+        long total = total((Number) price, (Number) quantity);
+        return total < min ? total : null;
+    }
+
+    public void validate(Object target, Errors errors) {
+        Long total = violation(target);
+        if (total != null) {
+            errors.reject(CODE, new Object[]{min, total}, null);
+        }
+    }
+
+    public long getMin() {
+        return min;
+    }
+
+    public String getPriceField() {
+        return priceField;
+    }
+
+    public String getQuantityField() {
+        return quantityField;
+    }
+}
@@ -1,9 +1,13 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSearchCond;
+import hello.itemservice.web.metrics.ValidationMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.util.StringUtils;
@@ -11,9 +15,13 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+/**
+ * 오류를 BindingResult 대신 Map 에 모으므로 요청 인터셉터가 검증 오류를 세지 못한다.
+ * 그래서 오류 코드(V2 이후와 같은 required, range, max, totalPriceMin, versionConflict)를 직접 ValidationMetrics 에 기록한다.
+ */
 @Slf4j
 @Controller
 @RequestMapping("/validation/v1/items")
@@ -21,11 +29,18 @@ import java.util.Map;
 public class ValidationItemControllerV1 {
 
     private final ItemRepository itemRepository;
+    private final ObjectProvider<ValidationMetrics> validationMetrics;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@ModelAttribute("cond") ItemSearchCond cond,
+                        @RequestParam(required = false) Long after,
+                        @RequestParam(defaultValue = "20") int size, Model model) {
+        ItemPage page = cond.isEmpty()
+                ? itemRepository.findPage(after, size)
+                : new ItemPage(itemRepository.search(cond, size), null);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("size", size);
         return "validation/v1/items";
     }
 
@@ -46,11 +61,13 @@ public class ValidationItemControllerV1 {
     public String addItem(@ModelAttribute Item item, RedirectAttributes redirectAttributes, Model model) {
 
         Map<String, String> errors = new HashMap<>();
+        Map<String, String> errorCodes = new LinkedHashMap<>();
 
-        validateFieldAndGlobalLogic(item, errors);
+        validateFieldAndGlobalLogic(item, errors, errorCodes);
 
         if (!errors.isEmpty()) {
-            log.info("errors={}", errors);
+            log.debug("errors={}", errors);
+            recordErrors(errorCodes);
             model.addAttribute("errors", errors);
             return "/validation/v1/addForm";
         }
@@ -61,30 +78,42 @@ public class ValidationItemControllerV1 {
         return "redirect:/validation/v1/items/{itemId}";
     }
 
-    private void validateFieldAndGlobalLogic(Item item, Map<String, String> errors) {
+    private void validateFieldAndGlobalLogic(Item item, Map<String, String> errors, Map<String, String> errorCodes) {
+        ItemLimits limits = ItemLimits.of(Item.class);
+
         // 필드 검증
         if (!StringUtils.hasText(item.getItemName())) {
             errors.put("itemName", "상품명은 공백이 허용되지 않습니다.");
+            errorCodes.put("itemName", "required");
         }
 
         Integer price = item.getPrice();
 
-        if (price != null && (price < 1000 || price > 1000000)) {
-            errors.put("price", "가격은 1000원 이상 1백만원 이하만 허용합니다.");
+        if (price != null && !limits.priceInRange(price)) {
+            errors.put("price", String.format("가격은 %d원 이상 %d원 이하만 허용합니다.",
+                    limits.getPriceMin(), limits.getPriceMax()));
+            errorCodes.put("price", "range");
         }
 
         Integer quantity = item.getQuantity();
 
-        if (quantity != null && quantity > 9999) {
-            errors.put("quantity", "수량은 최대 9999까지만 허용합니다.");
+        if (quantity != null && !limits.quantityInRange(quantity)) {
+            errors.put("quantity", "수량은 최대 " + limits.getQuantityMax() + "까지만 허용합니다.");
+            errorCodes.put("quantity", "max");
         }
 
-        // 글로벌 검증
-        if (price != null && quantity != null && price * quantity < 10000) {
-            errors.put("globalError", "가격 * 수량의 합은 10,000원 이상이어야 합니다.");
+        // 글로벌 검증 (가격, 수량 검증이 이미 실패했으면 건너뛴다)
+        TotalPriceRule totalPriceRule = limits.getTotalPriceRule();
+        if (!errors.containsKey("price") && !errors.containsKey("quantity") && totalPriceRule.violation(item) != null) {
+            errors.put("globalError", String.format("가격 * 수량의 합은 %,d원 이상이어야 합니다.", totalPriceRule.getMin()));
+            errorCodes.put(ValidationMetrics.GLOBAL, "totalPriceMin");
         }
     }
 
+    private void recordErrors(Map<String, String> errorCodes) {
+        validationMetrics.ifAvailable(metrics -> metrics.record("item", errorCodes));
+    }
+
     @GetMapping("/{itemId}/edit")
     public String editForm(@PathVariable Long itemId, Model model) {
         Item item = itemRepository.findById(itemId);
@@ -96,16 +125,25 @@ public class ValidationItemControllerV1 {
     public String edit(@PathVariable Long itemId, @ModelAttribute Item item, Model model) {
 
         Map<String, String> errors = new HashMap<>();
+        Map<String, String> errorCodes = new LinkedHashMap<>();
 
-        validateFieldAndGlobalLogic(item, errors);
+        validateFieldAndGlobalLogic(item, errors, errorCodes);
 
         if (!errors.isEmpty()) {
-            log.info("errors={}", errors);
+            log.debug("errors={}", errors);
+            recordErrors(errorCodes);
             model.addAttribute("errors", errors);
             return "/validation/v1/editForm";
         }
 
-        itemRepository.update(itemId, item);
+        if (itemRepository.update(itemId, item, item.getVersion()) == null) {
+            Item current = itemRepository.findById(itemId);
+            item.setVersion(current == null ? null : current.getVersion());
+            errors.put("globalError", "다른 사용자가 먼저 수정했습니다. 입력한 내용을 확인하고 다시 저장하세요.");
+            recordErrors(Map.of(ValidationMetrics.GLOBAL, "versionConflict"));
+            model.addAttribute("errors", errors);
+            return "/validation/v1/editForm";
+        }
         return "redirect:/validation/v1/items/{itemId}";
     }
 
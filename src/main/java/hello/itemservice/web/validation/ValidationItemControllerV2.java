@@ -1,9 +1,12 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSearchCond;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.util.StringUtils;
@@ -15,7 +18,6 @@ import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
 
 @Slf4j
 @Controller
@@ -25,17 +27,29 @@ public class ValidationItemControllerV2 {
 
     private final ItemRepository itemRepository;
     private final ItemValidator itemValidator;
+    private final ObjectProvider<FastPathValidator> fastPathValidator;
 
-    @InitBinder
+    /**
+     * "item" 바인더에만 적용한다. (목록 화면의 cond 처럼 Item 이 아닌 모델에 ItemValidator 가 붙지 않도록)
+     * FastPathValidator 가 등록되어 있으면 규칙을 어긴 경우에만 ItemValidator 로 검증한다.
+     */
+    @InitBinder("item")
     private void init(WebDataBinder dataBinder) {
-        log.info("dataBinder={}", dataBinder);
-        dataBinder.addValidators(itemValidator);
+        log.debug("dataBinder={}", dataBinder);
+        FastPathValidator fastPath = fastPathValidator.getIfAvailable();
+        dataBinder.addValidators(fastPath != null ? fastPath : itemValidator);
     }
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@ModelAttribute("cond") ItemSearchCond cond,
+                        @RequestParam(required = false) Long after,
+                        @RequestParam(defaultValue = "20") int size, Model model) {
+        ItemPage page = cond.isEmpty()
+                ? itemRepository.findPage(after, size)
+                : new ItemPage(itemRepository.search(cond, size), null);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("size", size);
         return "validation/v2/items";
     }
 
@@ -54,11 +68,11 @@ public class ValidationItemControllerV2 {
 
 //    @PostMapping("/add")
     public String addItemV1(@ModelAttribute Item item, BindingResult bindingResult, RedirectAttributes redirectAttributes, Model model) {
-        log.info("item={}", item);
+        log.debug("item={}", item);
         validateFieldAndGlobalLogic2(item, bindingResult);
 
         if (bindingResult.hasErrors()) {
-            log.info("bindingResult={}", bindingResult);
+            log.debug("bindingResult={}", bindingResult);
             return "/validation/v2/addForm";
         }
 
@@ -75,7 +89,7 @@ public class ValidationItemControllerV2 {
     public String addItemV2(@Validated @ModelAttribute Item item, BindingResult bindingResult, RedirectAttributes redirectAttributes, Model model) {
 
         if (bindingResult.hasErrors()) {
-            log.info("bindingResult={}", bindingResult);
+            log.debug("bindingResult={}", bindingResult);
             return "/validation/v2/addForm";
         }
 
@@ -86,6 +100,8 @@ public class ValidationItemControllerV2 {
     }
 
     private void validateFieldAndGlobalLogic(Item item, BindingResult bindingResult) {
+        ItemLimits limits = ItemLimits.of(Item.class);
+
         // 필드 검증
         if (!StringUtils.hasText(item.getItemName())) {
             bindingResult.addError(new FieldError("item", "itemName", item.getItemName(), false,
@@ -94,22 +110,28 @@ public class ValidationItemControllerV2 {
 
         Integer price = item.getPrice();
 
-        if (price == null || (price < 1000 || price > 1000000)) {
+        if (price == null || !limits.priceInRange(price)) {
             bindingResult.addError(new FieldError("item", "price", item.getPrice(), false,
-                    new String[]{"range.item.price"}, new Object[]{1000, 1000000}, "가격은 1000원 이상 1백만원 이하만 허용합니다."));
+                    new String[]{"range.item.price"}, new Object[]{limits.getPriceMin(), limits.getPriceMax()},
+                    String.format("가격은 %d원 이상 %d원 이하만 허용합니다.", limits.getPriceMin(), limits.getPriceMax())));
         }
 
         Integer quantity = item.getQuantity();
 
-        if (quantity == null || quantity > 9999) {
+        if (quantity == null || !limits.quantityInRange(quantity)) {
             bindingResult.addError(new FieldError("item", "quantity", item.getQuantity(), false,
-                    new String[]{"max.item.quantity"}, new Object[]{9999}, "수량은 최대 9999까지만 허용합니다."));
+                    new String[]{"max.item.quantity"}, new Object[]{limits.getQuantityMax()},
+                    "수량은 최대 " + limits.getQuantityMax() + "까지만 허용합니다."));
         }
 
-        // 글로벌 검증
-        if (price != null && quantity != null && price * quantity < 10000) {
+        // 글로벌 검증 (가격, 수량 검증이 이미 실패했으면 건너뛴다)
+        TotalPriceRule totalPriceRule = limits.getTotalPriceRule();
+        Long totalPrice = bindingResult.hasFieldErrors("price") || bindingResult.hasFieldErrors("quantity")
+                ? null : totalPriceRule.violation(item);
+        if (totalPrice != null) {
             bindingResult.addError(new ObjectError("item", new String[]{"totalPriceMin"},
-                    new Object[]{10000, (price * quantity)}, "가격 * 수량의 합은 10,000원 이상이어야 합니다. 현재 값 = " + (price * quantity)));
+                    new Object[]{totalPriceRule.getMin(), totalPrice},
+                    String.format("가격 * 수량의 합은 %,d원 이상이어야 합니다. 현재 값 = %d", totalPriceRule.getMin(), totalPrice)));
         }
     }
 
@@ -117,6 +139,8 @@ public class ValidationItemControllerV2 {
      * 오류 코드와 메시지 처리2(개선)
      */
     private void validateFieldAndGlobalLogic2(Item item, BindingResult bindingResult) {
+        ItemLimits limits = ItemLimits.of(Item.class);
+
         // 필드 검증
         if (!StringUtils.hasText(item.getItemName())) {
             bindingResult.rejectValue("itemName", "required");
@@ -124,19 +148,19 @@ public class ValidationItemControllerV2 {
 
         Integer price = item.getPrice();
 
-        if (price == null || (price < 1000 || price > 1000000)) {
-            bindingResult.rejectValue("price", "range", new Object[]{1000, 1000000}, null);
+        if (price == null || !limits.priceInRange(price)) {
+            bindingResult.rejectValue("price", "range", new Object[]{limits.getPriceMin(), limits.getPriceMax()}, null);
         }
 
         Integer quantity = item.getQuantity();
 
-        if (quantity == null || quantity > 9999) {
-            bindingResult.rejectValue("quantity", "max", new Object[]{9999}, null);
+        if (quantity == null || !limits.quantityInRange(quantity)) {
+            bindingResult.rejectValue("quantity", "max", new Object[]{limits.getQuantityMax()}, null);
         }
 
-        // 글로벌 검증
-        if (price != null && quantity != null && price * quantity < 10000) {
-            bindingResult.reject("totalPriceMin", new Object[]{10000, (price * quantity)}, null);
+        // 글로벌 검증 (가격, 수량 검증이 이미 실패했으면 건너뛴다)
+        if (!bindingResult.hasFieldErrors("price") && !bindingResult.hasFieldErrors("quantity")) {
+            limits.getTotalPriceRule().validate(item, bindingResult);
         }
     }
 
@@ -153,11 +177,16 @@ public class ValidationItemControllerV2 {
         validateFieldAndGlobalLogic(item, bindingResult);
 
         if (bindingResult.hasErrors()) {
-            log.info("bindingResult={}", bindingResult);
+            log.debug("bindingResult={}", bindingResult);
             return "/validation/v2/editForm";
         }
 
-        itemRepository.update(itemId, item);
+        if (itemRepository.update(itemId, item, item.getVersion()) == null) {
+            Item current = itemRepository.findById(itemId);
+            item.setVersion(current == null ? null : current.getVersion());
+            bindingResult.reject("versionConflict");
+            return "/validation/v2/editForm";
+        }
         return "redirect:/validation/v2/items/{itemId}";
     }
 
@@ -1,13 +1,16 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSearchCond;
 import hello.itemservice.domain.item.SaveCheck;
 import hello.itemservice.domain.item.UpdateCheck;
 import hello.itemservice.web.validation.form.ItemSaveForm;
 import hello.itemservice.web.validation.form.ItemUpdateForm;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.util.StringUtils;
@@ -20,7 +23,6 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import javax.validation.Valid;
-import java.util.List;
 
 @Slf4j
 @Controller
@@ -29,11 +31,54 @@ import java.util.List;
 public class ValidationItemControllerV3 {
 
     private final ItemRepository itemRepository;
+    private final ObjectProvider<CompiledBeanValidator> compiledBeanValidator;
+    private final ObjectProvider<FastPathValidator> fastPathValidator;
+
+    /**
+     * FastPathValidator 가 등록되어 있으면 먼저 값 비교로 확인하고, 규칙을 어긴 경우에만 폼 검증을 한다.
+     * 폼 검증은 CompiledBeanValidator 로 한다. (글로벌 오류 totalPriceMin 도 폼의 @TotalPriceMin 으로 함께 검사)
+     */
+    @InitBinder("item")
+    private void init(WebDataBinder dataBinder) {
+        Object target = dataBinder.getTarget();
+        FastPathValidator fastPath = fastPathValidator.getIfAvailable();
+        if (fastPath != null && target != null && fastPath.supports(target.getClass())) {
+            dataBinder.setValidator(fastPath);
+            return;
+        }
+        CompiledBeanValidator validator = compiledBeanValidator.getIfAvailable();
+        if (validator != null && target != null && validator.supports(target.getClass())) {
+            dataBinder.setValidator(validator);
+        }
+    }
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@ModelAttribute("cond") ItemSearchCond cond,
+                        @RequestParam(required = false) Long after,
+                        @RequestParam(defaultValue = "20") int size, Model model) {
+        ItemPage page = cond.isEmpty()
+                ? itemRepository.findPage(after, size)
+                : new ItemPage(itemRepository.search(cond, size), null);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("size", size);
+        return "validation/v3/items";
+    }
+
+    /**
+     * 전체 상품을 한 화면에 그린다.
+     * stream=true (기본) 면 목록을 만들지 않고, 템플릿이 행을 그릴 때마다 커서에서 다음 상품을 꺼낸다.
+     * 그린 행은 응답 버퍼가 찰 때마다 바로 나가므로 첫 바이트가 빠르고, 상품 수와 관계없이 한 페이지 만큼만 메모리에 둔다.
+     * stream=false 면 전체 목록을 먼저 조회한 뒤 그린다. (비교용)
+     * 검색 조건은 받지 않는다. 화면 위의 검색 폼(/validation/v3/items 로 보낸다)만 빈 조건으로 그린다.
+     */
+    @GetMapping("/all")
+    public String allItems(@RequestParam(defaultValue = "true") boolean stream, Model model) {
+        model.addAttribute("cond", new ItemSearchCond());
+        model.addAttribute("items", stream
+                ? itemRepository.cursor(ItemRepository.MAX_PAGE_SIZE)
+                : itemRepository.findAll());
+        model.addAttribute("size", ItemRepository.MAX_PAGE_SIZE);
         return "validation/v3/items";
     }
 
@@ -53,16 +98,8 @@ public class ValidationItemControllerV3 {
     @PostMapping("/add")
     public String addItem(@Validated @ModelAttribute("item") ItemSaveForm saveForm, BindingResult bindingResult, RedirectAttributes redirectAttributes) {
 
-        //글로벌 오류 검증
-        if (saveForm.getPrice() != null && saveForm.getQuantity() != null) {
-            int resultPrice = saveForm.getPrice() * saveForm.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
-
         if (bindingResult.hasErrors()) {
-            log.info("bindingResult={}", bindingResult);
+            log.debug("bindingResult={}", bindingResult);
             return "/validation/v3/addForm";
         }
 
@@ -84,22 +121,20 @@ public class ValidationItemControllerV3 {
     @PostMapping("/{itemId}/edit")
     public String editItem(@PathVariable Long itemId, @Validated @ModelAttribute("item") ItemUpdateForm updateForm, BindingResult bindingResult) {
 
-        //글로벌 오류 검증
-        if (updateForm.getPrice() != null && updateForm.getQuantity() != null) {
-            int resultPrice = updateForm.getPrice() * updateForm.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
-
         if (bindingResult.hasErrors()) {
-            log.info("bindingResult={}", bindingResult);
+            log.debug("bindingResult={}", bindingResult);
             return "/validation/v3/editForm";
         }
 
         Item item = new Item(updateForm.getItemName(), updateForm.getPrice(), updateForm.getQuantity());
 
-        itemRepository.update(itemId, item);
+        if (itemRepository.update(itemId, item, updateForm.getVersion()) == null) {
+            //다른 수정이 먼저 반영됨: 입력값은 두고 version 만 최신으로 바꿔서, 확인 후 다시 저장할 수 있게 한다.
+            Item current = itemRepository.findById(itemId);
+            updateForm.setVersion(current == null ? null : current.getVersion());
+            bindingResult.reject("versionConflict");
+            return "/validation/v3/editForm";
+        }
         return "redirect:/validation/v3/items/{itemId}";
     }
 
@@ -0,0 +1,82 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.domain.item.UpdateCheck;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+/**
+ * 폼 클래스 대신 Item 에 붙은 그룹(SaveCheck, UpdateCheck) 제약 조건으로 검증하는 V3 등록, 수정
+ * 검증은 시작 시점에 (Item, 그룹)별로 만들어 둔 CompiledBeanValidator 검사 목록으로 한다.
+ * 화면과 목록, 상세는 V3 것을 그대로 쓴다.
+ */
+@Slf4j
+@Controller
+@RequestMapping("/validation/v3/groups/items")
+@RequiredArgsConstructor
+public class ValidationItemGroupControllerV3 {
+
+    private final ItemRepository itemRepository;
+    private final CompiledBeanValidator compiledBeanValidator;
+
+    @InitBinder("item")
+    private void init(WebDataBinder dataBinder) {
+        dataBinder.setValidator(compiledBeanValidator);
+    }
+
+    @GetMapping("/add")
+    public String addForm(Model model) {
+        model.addAttribute("item", new Item());
+        return "validation/v3/addForm";
+    }
+
+    @PostMapping("/add")
+    public String addItem(@Validated(SaveCheck.class) @ModelAttribute Item item, BindingResult bindingResult, RedirectAttributes redirectAttributes) {
+
+        if (bindingResult.hasErrors()) {
+            log.debug("bindingResult={}", bindingResult);
+            return "/validation/v3/addForm";
+        }
+
+        Item savedItem = itemRepository.save(new Item(item.getItemName(), item.getPrice(), item.getQuantity()));
+        redirectAttributes.addAttribute("itemId", savedItem.getId());
+        redirectAttributes.addAttribute("status", true);
+        return "redirect:/validation/v3/items/{itemId}";
+    }
+
+    @GetMapping("/{itemId}/edit")
+    public String editForm(@PathVariable Long itemId, Model model) {
+        Item item = itemRepository.findById(itemId);
+        model.addAttribute("item", item);
+        return "validation/v3/editForm";
+    }
+
+    @PostMapping("/{itemId}/edit")
+    public String editItem(@PathVariable Long itemId, @Validated(UpdateCheck.class) @ModelAttribute Item item, BindingResult bindingResult) {
+
+        if (bindingResult.hasErrors()) {
+            log.debug("bindingResult={}", bindingResult);
+            return "/validation/v3/editForm";
+        }
+
+        Item updateParam = new Item(item.getItemName(), item.getPrice(), item.getQuantity());
+
+        if (itemRepository.update(itemId, updateParam, item.getVersion()) == null) {
+            //다른 수정이 먼저 반영됨: 입력값은 두고 version 만 최신으로 바꿔서, 확인 후 다시 저장할 수 있게 한다.
+            Item current = itemRepository.findById(itemId);
+            item.setVersion(current == null ? null : current.getVersion());
+            bindingResult.reject("versionConflict");
+            return "/validation/v3/editForm";
+        }
+        return "redirect:/validation/v3/items/{itemId}";
+    }
+}
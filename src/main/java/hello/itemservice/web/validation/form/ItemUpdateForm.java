@@ -1,5 +1,6 @@
 package hello.itemservice.web.validation.form;
 
+import hello.itemservice.domain.item.TotalPriceMin;
 import lombok.Data;
 import org.hibernate.validator.constraints.Range;
 
@@ -7,6 +8,7 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 @Data
+@TotalPriceMin(10000)
 public class ItemUpdateForm {
 
     @NotNull
@@ -21,4 +23,7 @@ public class ItemUpdateForm {
 
     @NotNull
     private Integer quantity;
+
+    //수정 화면을 열 때의 version, 그 사이 다른 수정이 있으면 저장하지 않는다.
+    private Long version;
 }
\ No newline at end of file
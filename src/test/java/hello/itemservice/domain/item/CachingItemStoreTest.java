@@ -0,0 +1,133 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CachingItemStoreTest {
+
+    MapItemStore store = new MapItemStore();
+    CachingItemStore cache = new CachingItemStore(store, 100, 1024 * 1024);
+    ItemRepository itemRepository = new ItemRepository(cache);
+
+    @Test
+    void hit() {
+        //given
+        Item savedItem = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        Item first = itemRepository.findById(savedItem.getId());
+        Item second = itemRepository.findById(savedItem.getId());
+
+        //then
+        assertThat(first).isEqualTo(savedItem);
+        assertThat(second).isSameAs(first);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.hitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void snapshotIsReadOnly() {
+        //given
+        Item savedItem = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        Item cached = itemRepository.findById(savedItem.getId());
+
+        //then
+        assertThatThrownBy(() -> cached.setPrice(20000))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(itemRepository.findById(savedItem.getId()).getPrice()).isEqualTo(10000);
+    }
+
+    @Test
+    void invalidateOnUpdate() {
+        //given
+        Item savedItem = itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.findById(savedItem.getId());
+
+        //when
+        itemRepository.update(savedItem.getId(), new Item("itemB", 20000, 20));
+
+        //then
+        Item findItem = itemRepository.findById(savedItem.getId());
+        assertThat(findItem.getItemName()).isEqualTo("itemB");
+        assertThat(findItem.getVersion()).isEqualTo(2L);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidateOnPutAndClear() {
+        //given
+        Item savedItem = itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.findById(savedItem.getId());
+
+        //when
+        Item replaced = new Item("itemB", 20000, 20);
+        replaced.setId(savedItem.getId());
+        replaced.setVersion(5L);
+        cache.put(replaced);
+
+        //then
+        assertThat(itemRepository.findById(savedItem.getId()).getVersion()).isEqualTo(5L);
+        itemRepository.clearStore();
+        assertThat(cache.size()).isZero();
+        assertThat(itemRepository.findById(savedItem.getId())).isNull();
+    }
+
+    @Test
+    void boundedByEntries() {
+        //when
+        for (int i = 0; i < 1000; i++) {
+            Item savedItem = itemRepository.save(new Item("item" + i, 10000, 10));
+            itemRepository.findById(savedItem.getId());
+        }
+
+        //then
+        assertThat(cache.size()).isLessThanOrEqualTo(100);
+        assertThat(cache.getEvictionCount()).isEqualTo(900);
+    }
+
+    @Test
+    void boundedByBytes() {
+        //given
+        CachingItemStore smallCache = new CachingItemStore(store, 1000, 4096);
+
+        //when
+        for (int i = 0; i < 100; i++) {
+            Item savedItem = itemRepository.save(new Item("item" + i, 10000, 10));
+            smallCache.get(savedItem.getId());
+        }
+
+        //then
+        assertThat(smallCache.weightedSize()).isLessThanOrEqualTo(4096);
+        assertThat(smallCache.size()).isLessThan(100);
+    }
+
+    @Test
+    void frequentItemsSurviveScan() {
+        //given
+        for (int i = 0; i < 1000; i++) {
+            itemRepository.save(new Item("item" + i, 10000, 10));
+        }
+        for (int round = 0; round < 5; round++) {
+            for (long id = 1; id <= 10; id++) {
+                itemRepository.findById(id);
+            }
+            itemRepository.findById(11L + round);
+        }
+
+        //when
+        for (long id = 16; id <= 1000; id++) {
+            itemRepository.findById(id);
+        }
+
+        //then
+        long hits = cache.getHitCount();
+        for (long id = 1; id <= 10; id++) {
+            itemRepository.findById(id);
+        }
+        assertThat(cache.getHitCount() - hits).isEqualTo(10);
+    }
+}
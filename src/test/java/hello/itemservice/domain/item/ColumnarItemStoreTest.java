@@ -0,0 +1,123 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ColumnarItemStoreTest {
+
+    ItemRepository itemRepository = new ItemRepository(new ColumnarItemStore());
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void save() {
+        //given
+        Item item = new Item("itemA", 10000, 10);
+
+        //when
+        Item savedItem = itemRepository.save(item);
+
+        //then
+        Item findItem = itemRepository.findById(item.getId());
+        assertThat(findItem).isEqualTo(savedItem);
+    }
+
+    @Test
+    void findAll() {
+        //given
+        Item item1 = new Item("item1", 10000, 10);
+        Item item2 = new Item("item2", 20000, 20);
+
+        itemRepository.save(item1);
+        itemRepository.save(item2);
+
+        //when
+        List<Item> result = itemRepository.findAll();
+
+        //then
+        assertThat(result).containsExactly(item1, item2);
+    }
+
+    @Test
+    void updateItem() {
+        //given
+        Item savedItem = itemRepository.save(new Item("item1", 10000, 10));
+        Long itemId = savedItem.getId();
+
+        //when
+        Item updateParam = new Item("item2", 20000, 30);
+        itemRepository.update(itemId, updateParam);
+
+        //then
+        Item findItem = itemRepository.findById(itemId);
+        assertThat(findItem.getItemName()).isEqualTo(updateParam.getItemName());
+        assertThat(findItem.getPrice()).isEqualTo(updateParam.getPrice());
+        assertThat(findItem.getQuantity()).isEqualTo(updateParam.getQuantity());
+    }
+
+    @Test
+    void nullFields() {
+        //given
+        Item savedItem = itemRepository.save(new Item(null, null, null));
+
+        //when
+        Item findItem = itemRepository.findById(savedItem.getId());
+
+        //then
+        assertThat(findItem.getItemName()).isNull();
+        assertThat(findItem.getPrice()).isNull();
+        assertThat(findItem.getQuantity()).isNull();
+    }
+
+    @Test
+    void saveAfterClear() {
+        //given
+        itemRepository.save(new Item("item1", 10000, 10));
+        itemRepository.clearStore();
+
+        //when
+        Item savedItem = itemRepository.save(new Item("item2", 20000, 20));
+
+        //then
+        assertThat(itemRepository.findById(savedItem.getId())).isEqualTo(savedItem);
+        assertThat(itemRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    void findByUnknownId() {
+        itemRepository.save(new Item("item1", 10000, 10));
+
+        assertThat(itemRepository.findById(999L)).isNull();
+        assertThat(itemRepository.findById(0L)).isNull();
+    }
+
+    @Test
+    void putSmallerIdFirst() {
+        //given 동시에 저장하면 큰 id 가 먼저 저장소에 들어올 수 있다.
+        ColumnarItemStore store = new ColumnarItemStore();
+        Item later = new Item("item5", 50000, 50);
+        later.setId(5L);
+        later.setVersion(1L);
+        store.put(later);
+
+        //when
+        Item earlier = new Item("item3", null, 30);
+        earlier.setId(3L);
+        earlier.setVersion(1L);
+        store.put(earlier);
+
+        //then
+        assertThat(store.findAll()).containsExactly(earlier, later);
+        assertThat(store.get(5L).getItemName()).isEqualTo("item5");
+        assertThat(store.get(3L).getPrice()).isNull();
+        assertThat(store.get(4L)).isNull();
+        assertThat(store.findAfter(3L, 10)).containsExactly(later);
+    }
+}
@@ -0,0 +1,198 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemRepositoryConcurrencyTest {
+
+    static final int SAVES_PER_THREAD = 10_000;
+
+    ItemRepository itemRepository = new ItemRepository();
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void concurrentSaveHasNoIdCollision() throws Exception {
+        //given
+        int threadCount = Runtime.getRuntime().availableProcessors() * 2;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        //when
+        runConcurrently(threadCount, () -> {
+            for (int i = 0; i < SAVES_PER_THREAD; i++) {
+                Item savedItem = itemRepository.save(new Item("item", 10000, 10));
+                ids.add(savedItem.getId());
+            }
+        });
+
+        //then
+        assertThat(ids).hasSize(threadCount * SAVES_PER_THREAD);
+        assertThat(itemRepository.findAll()).hasSize(threadCount * SAVES_PER_THREAD);
+    }
+
+    @Test
+    void concurrentUpdateIsNotTorn() throws Exception {
+        //given
+        Item savedItem = itemRepository.save(new Item("item0", 10000, 10));
+        Long itemId = savedItem.getId();
+        int threadCount = Runtime.getRuntime().availableProcessors() * 2;
+
+        //when
+        List<Runnable> tasks = new ArrayList<>();
+        for (int t = 1; t <= threadCount; t++) {
+            int n = t;
+            tasks.add(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    itemRepository.update(itemId, new Item("item" + n, 10000 * n, 10 * n));
+                }
+            });
+        }
+        runConcurrently(tasks);
+
+        //then
+        Item findItem = itemRepository.findById(itemId);
+        int n = Integer.parseInt(findItem.getItemName().substring("item".length()));
+        assertThat(findItem.getPrice()).isEqualTo(10000 * n);
+        assertThat(findItem.getQuantity()).isEqualTo(10 * n);
+    }
+
+    /**
+     * 조회 후 version 을 붙여서 수정하는 쓰기 스레드들과, 계속 조회하는 읽기 스레드들을 함께 돌린다.
+     * - 성공한 수정 수만큼만 version 이 오르고 (잃어버린 수정이 없다)
+     * - 읽기 스레드는 항상 한 번의 수정 결과 전체만 본다.
+     */
+    @Test
+    void optimisticUpdateUnderContention() throws Exception {
+        //given
+        Item savedItem = itemRepository.save(new Item("item0", 0, 0));
+        Long itemId = savedItem.getId();
+        int writerCount = Runtime.getRuntime().availableProcessors();
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicBoolean torn = new AtomicBoolean();
+
+        //when
+        List<Runnable> tasks = new ArrayList<>();
+        AtomicInteger finishedWriters = new AtomicInteger();
+        for (int t = 0; t < writerCount; t++) {
+            tasks.add(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    Item current = itemRepository.findById(itemId);
+                    int n = current.getPrice() + 1;
+                    Item updated = itemRepository.update(itemId, new Item("item" + n, n, n), current.getVersion());
+                    if (updated != null) {
+                        succeeded.incrementAndGet();
+                    } else {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                if (finishedWriters.incrementAndGet() == writerCount) {
+                    writing.set(false);
+                }
+            });
+        }
+        for (int t = 0; t < 2; t++) {
+            tasks.add(() -> {
+                while (writing.get()) {
+                    Item item = itemRepository.findById(itemId);
+                    if (!item.getItemName().equals("item" + item.getPrice()) || !item.getPrice().equals(item.getQuantity())) {
+                        torn.set(true);
+                    }
+                }
+            });
+        }
+        runConcurrently(tasks);
+
+        //then
+        Item findItem = itemRepository.findById(itemId);
+        assertThat(torn).isFalse();
+        assertThat(findItem.getVersion()).isEqualTo(1L + succeeded.get());
+        assertThat(findItem.getPrice()).isEqualTo(succeeded.get());
+        assertThat(succeeded.get() + conflicts.get()).isEqualTo(writerCount * 2_000);
+    }
+
+    @Test
+    void updateDuringSaveIsIndexed() throws Exception {
+        //given 저장소에 넣은 직후, 인덱싱하기 전에 멈추는 저장
+        CountDownLatch stored = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        ItemRepository repository = new ItemRepository(new MapItemStore() {
+            @Override
+            public void put(Item item) {
+                super.put(item);
+                stored.countDown();
+                try {
+                    resume.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        Thread saver = new Thread(() -> repository.save(new Item("before", 10000, 10)));
+        saver.start();
+        assertThat(stored.await(10, TimeUnit.SECONDS)).isTrue();
+        Long itemId = repository.findAll().get(0).getId();
+
+        //when 그 사이에 들어온 수정은 저장이 인덱싱을 마칠 때까지 기다린다.
+        Thread updater = new Thread(() -> repository.update(itemId, new Item("after", 20000, 20)));
+        updater.start();
+        while (updater.getState() != Thread.State.WAITING && updater.getState() != Thread.State.TERMINATED) {
+            Thread.sleep(1);
+        }
+        resume.countDown();
+        saver.join();
+        updater.join();
+
+        //then 인덱스가 저장한 값이 아니라 수정한 값을 가리킨다.
+        ItemSearchCond cond = new ItemSearchCond();
+        cond.setItemName("after");
+        assertThat(repository.search(cond, 10)).extracting("id").containsExactly(itemId);
+    }
+
+    private void runConcurrently(int threadCount, Runnable task) throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            tasks.add(task);
+        }
+        runConcurrently(tasks);
+    }
+
+    private void runConcurrently(List<Runnable> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Runnable task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
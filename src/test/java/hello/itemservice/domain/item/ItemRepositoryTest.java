@@ -65,4 +65,166 @@ class ItemRepositoryTest {
         assertThat(findItem.getPrice()).isEqualTo(updateParam.getPrice());
         assertThat(findItem.getQuantity()).isEqualTo(updateParam.getQuantity());
     }
+
+    @Test
+    void updateWithVersion() {
+        //given
+        Item savedItem = itemRepository.save(new Item("item1", 10000, 10));
+        assertThat(savedItem.getVersion()).isEqualTo(1L);
+
+        //when
+        Item updatedItem = itemRepository.update(savedItem.getId(), new Item("item2", 20000, 20), 1L);
+        Item staleUpdate = itemRepository.update(savedItem.getId(), new Item("item3", 30000, 30), 1L);
+
+        //then
+        assertThat(updatedItem.getVersion()).isEqualTo(2L);
+        assertThat(staleUpdate).isNull();
+        assertThat(itemRepository.findById(savedItem.getId()).getItemName()).isEqualTo("item2");
+        //이전에 조회한 Item 은 바뀌지 않는다.
+        assertThat(savedItem.getItemName()).isEqualTo("item1");
+        assertThat(savedItem.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void storeCopyOfSavedItem() {
+        //given
+        Item item = new Item("item1", 10000, 10);
+        itemRepository.save(item);
+        List<Item> items = List.of(new Item("item2", 20000, 20));
+        itemRepository.saveAll(items);
+
+        //when 저장한 뒤에 호출한 쪽이 Item 을 수정해도
+        item.setItemName("changed");
+        items.get(0).setPrice(30000);
+
+        //then 저장된 상품은 바뀌지 않고, 조회한 상품은 수정할 수 없다.
+        Item found = itemRepository.findById(item.getId());
+        assertThat(found.getItemName()).isEqualTo("item1");
+        assertThat(itemRepository.findById(items.get(0).getId()).getPrice()).isEqualTo(20000);
+        assertThatThrownBy(() -> found.setPrice(1))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void findPage() {
+        //given
+        for (int i = 1; i <= 5; i++) {
+            itemRepository.save(new Item("item" + i, 10000, 10));
+        }
+
+        //when
+        ItemPage first = itemRepository.findPage(null, 2);
+        ItemPage second = itemRepository.findPage(first.getNextCursor(), 2);
+        ItemPage last = itemRepository.findPage(second.getNextCursor(), 2);
+
+        //then
+        assertThat(first.getItems()).extracting("itemName").containsExactly("item1", "item2");
+        assertThat(second.getItems()).extracting("itemName").containsExactly("item3", "item4");
+        assertThat(last.getItems()).extracting("itemName").containsExactly("item5");
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    void cursor() {
+        //given
+        for (int i = 1; i <= 5; i++) {
+            itemRepository.save(new Item("item" + i, 10000, 10));
+        }
+
+        //when
+        Iterable<Item> cursor = itemRepository.cursor(2);
+
+        //then
+        assertThat(cursor).extracting("itemName").containsExactly("item1", "item2", "item3", "item4", "item5");
+        //다시 반복하면 처음부터 읽는다.
+        assertThat(cursor).hasSize(5);
+    }
+
+    @Test
+    void findAllOffsetLimit() {
+        //given
+        for (int i = 1; i <= 5; i++) {
+            itemRepository.save(new Item("item" + i, 10000, 10));
+        }
+
+        //when
+        List<Item> result = itemRepository.findAll(3, 10);
+
+        //then
+        assertThat(result).extracting("itemName").containsExactly("item4", "item5");
+    }
+
+    @Test
+    void findByPriceBetween() {
+        //given
+        itemRepository.save(new Item("item1", 5000, 10));
+        itemRepository.save(new Item("item2", 15000, 10));
+        itemRepository.save(new Item("item3", 10000, 10));
+
+        //when
+        List<Item> result = itemRepository.findByPriceBetween(5000, 10000, 10);
+
+        //then
+        assertThat(result).extracting("itemName").containsExactly("item1", "item3");
+    }
+
+    @Test
+    void findByItemNamePrefix() {
+        //given
+        itemRepository.save(new Item("apple", 10000, 10));
+        itemRepository.save(new Item("banana", 10000, 10));
+        itemRepository.save(new Item("apricot", 10000, 10));
+
+        //when
+        List<Item> result = itemRepository.findByItemNamePrefix("ap", 10);
+
+        //then
+        assertThat(result).extracting("itemName").containsExactly("apple", "apricot");
+    }
+
+    @Test
+    void searchAfterUpdate() {
+        //given
+        Item savedItem = itemRepository.save(new Item("item1", 10000, 10));
+
+        //when
+        itemRepository.update(savedItem.getId(), new Item("item1", 50000, 10));
+
+        //then
+        assertThat(itemRepository.findByPriceBetween(10000, 10000, 10)).isEmpty();
+        assertThat(itemRepository.findByPriceBetween(50000, 50000, 10)).hasSize(1);
+    }
+
+    @Test
+    void searchWithoutIndex() {
+        //given
+        ItemRepository scanRepository = new ItemRepository(new MapItemStore(), false);
+        scanRepository.save(new Item("apple", 10000, 10));
+        scanRepository.save(new Item("apricot", 20000, 10));
+
+        ItemSearchCond cond = new ItemSearchCond();
+        cond.setItemName("ap");
+        cond.setMinPrice(15000);
+
+        //when
+        List<Item> result = scanRepository.search(cond, 10);
+
+        //then
+        assertThat(result).extracting("itemName").containsExactly("apricot");
+    }
+
+    @Test
+    void saveAll() {
+        //given
+        Item item1 = new Item("item1", 10000, 10);
+        Item item2 = new Item("item2", 20000, 20);
+
+        //when
+        itemRepository.saveAll(List.of(item1, item2));
+
+        //then
+        assertThat(item2.getId()).isEqualTo(item1.getId() + 1);
+        assertThat(itemRepository.findById(item1.getId())).isEqualTo(item1);
+        assertThat(itemRepository.findByItemNamePrefix("item", 10)).containsExactly(item1, item2);
+    }
 }
@@ -0,0 +1,416 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LogItemStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recoverFromLog() {
+        //given
+        LogItemStore store = new LogItemStore(new MapItemStore(), dir, true, 0);
+        ItemRepository itemRepository = new ItemRepository(store);
+        Item itemA = itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.save(new Item("itemB", 20000, 20));
+        itemRepository.update(itemA.getId(), new Item("itemC", 30000, 30));
+        store.close();
+
+        //when
+        LogItemStore recovered = new LogItemStore(new MapItemStore(), dir, true, 0);
+        ItemRepository recoveredRepository = new ItemRepository(recovered);
+
+        //then
+        Item findItem = recoveredRepository.findById(itemA.getId());
+        assertThat(findItem.getItemName()).isEqualTo("itemC");
+        assertThat(findItem.getPrice()).isEqualTo(30000);
+        assertThat(findItem.getQuantity()).isEqualTo(30);
+        assertThat(recoveredRepository.findAll()).hasSize(2);
+        assertThat(recoveredRepository.findByItemNamePrefix("itemB", 10)).hasSize(1);
+
+        //id 는 복구된 마지막 id 다음부터 발급
+        assertThat(recoveredRepository.save(new Item("itemD", 10000, 10)).getId()).isEqualTo(3L);
+        recovered.close();
+    }
+
+    @Test
+    void recoverFromSnapshotAndLogTail() throws IOException {
+        //given
+        LogItemStore store = new LogItemStore(new MapItemStore(), dir, true, 0);
+        ItemRepository itemRepository = new ItemRepository(store);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            items.add(new Item("item" + i, 10000 + i, i));
+        }
+        itemRepository.saveAll(items);
+        store.close(); //닫을 때 스냅샷을 만든다.
+
+        LogItemStore reopened = new LogItemStore(new MapItemStore(), dir, true, 0);
+        ItemRepository reopenedRepository = new ItemRepository(reopened);
+        reopenedRepository.update(1L, new Item("updated", 1, 1));
+        reopenedRepository.save(new Item("last", 2, 2));
+        crash(reopened);
+
+        //when
+        LogItemStore recovered = new LogItemStore(new MapItemStore(), dir, true, 0);
+        ItemRepository recoveredRepository = new ItemRepository(recovered);
+
+        //then
+        assertThat(Files.exists(dir.resolve(LogItemStore.SNAPSHOT_FILE))).isTrue();
+        assertThat(recoveredRepository.findAll()).hasSize(1001);
+        assertThat(recoveredRepository.findById(1L).getItemName()).isEqualTo("updated");
+        assertThat(recoveredRepository.findById(1001L).getItemName()).isEqualTo("last");
+        recovered.close();
+    }
+
+    @Test
+    void ignoreTornRecord() throws IOException {
+        //given
+        LogItemStore store = new LogItemStore(new MapItemStore(), dir, true, 0);
+        ItemRepository itemRepository = new ItemRepository(store);
+        itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.save(new Item("itemB", 20000, 20));
+        crash(store);
+
+        //기록 도중 종료된 것처럼 마지막 레코드를 절반만 남긴다.
+        Path segment = segments().get(0);
+        long size = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 10);
+        }
+
+        //when
+        LogItemStore recovered = new LogItemStore(new MapItemStore(), dir, true, 0);
+        ItemRepository recoveredRepository = new ItemRepository(recovered);
+
+        //then
+        assertThat(recoveredRepository.findAll()).extracting(Item::getItemName).containsExactly("itemA");
+        recovered.close();
+    }
+
+    @Test
+    void periodicSnapshotRemovesOldLog() throws IOException {
+        //given
+        LogItemStore store = new LogItemStore(new MapItemStore(), dir, false, 100);
+        ItemRepository itemRepository = new ItemRepository(store);
+
+        //when
+        for (int i = 0; i < 1000; i++) {
+            itemRepository.save(new Item("item" + i, 10000, 10));
+        }
+        store.close();
+
+        //then
+        assertThat(segments()).hasSizeLessThanOrEqualTo(2);
+        LogItemStore recovered = new LogItemStore(new MapItemStore(), dir, false, 100);
+        assertThat(new ItemRepository(recovered).findAll()).hasSize(1000);
+        recovered.close();
+    }
+
+    @Test
+    void concurrentUpdatesRecoverLastVersion() throws InterruptedException {
+        //given
+        LogItemStore store = new LogItemStore(new MapItemStore(), dir, false, 0);
+        ItemRepository itemRepository = new ItemRepository(store, false);
+        Long itemId = itemRepository.save(new Item("item", 10000, 10)).getId();
+
+        //when 여러 스레드가 같은 상품을 수정한다.
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            String name = "thread" + t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 50; i++) {
+                    itemRepository.update(itemId, new Item(name, 10000 + i, i));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Item last = itemRepository.findById(itemId);
+        store.close();
+
+        //then 수정은 모두 반영되고, 복구한 값은 마지막으로 반영된 값과 같다.
+        assertThat(last.getVersion()).isEqualTo(401L);
+        LogItemStore recovered = new LogItemStore(new MapItemStore(), dir, false, 0);
+        assertThat(recovered.get(itemId)).isEqualTo(last);
+        recovered.close();
+    }
+
+    @Test
+    void recoverLegacyFormat() throws IOException {
+        //given 상품 값에 version 이 없던 형식(1)의 스냅샷과 로그
+        ByteBuffer snapshot = ByteBuffer.allocate(256);
+        snapshot.putInt(0x49544D53).putLong(0).putInt(1).putLong(1L);
+        putLegacyItem(snapshot, "itemA", 10000, 10);
+        CRC32 crc = new CRC32();
+        crc.update(snapshot.array(), 0, snapshot.position());
+        snapshot.putLong(crc.getValue());
+        Files.write(dir.resolve(LogItemStore.SNAPSHOT_FILE), Arrays.copyOf(snapshot.array(), snapshot.position()));
+        Files.write(dir.resolve("log-0000000000000000000.wal"), legacyPutRecord(2L, "itemB", 20000, 20));
+
+        //when
+        LogItemStore recovered = new LogItemStore(new MapItemStore(), dir, true, 0);
+        ItemRepository recoveredRepository = new ItemRepository(recovered);
+
+        //then version 은 1 로 읽고, 이후 기록은 새 형식으로 남긴다.
+        assertThat(recoveredRepository.findAll()).extracting(Item::getItemName).containsExactly("itemA", "itemB");
+        assertThat(recoveredRepository.findAll()).extracting(Item::getVersion).containsExactly(1L, 1L);
+        assertThat(recoveredRepository.update(2L, new Item("itemC", 30000, 30), 1L).getVersion()).isEqualTo(2L);
+        recovered.close();
+
+        LogItemStore reopened = new LogItemStore(new MapItemStore(), dir, true, 0);
+        assertThat(reopened.get(2L).getItemName()).isEqualTo("itemC");
+        assertThat(reopened.get(2L).getVersion()).isEqualTo(2L);
+        reopened.close();
+    }
+
+    @Test
+    void rejectUnknownFormatVersion() throws IOException {
+        //given
+        Files.write(dir.resolve(LogItemStore.SNAPSHOT_FILE), ByteBuffer.allocate(32).putInt(0x49544D56).putInt(99).array());
+
+        //when, then
+        assertThatThrownBy(() -> new LogItemStore(new MapItemStore(), dir, true, 0))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasStackTraceContaining("형식 버전 99");
+    }
+
+    @Test
+    void discardPartiallyWrittenBatch() throws IOException {
+        //given 두 번째 기록은 레코드 일부만 쓰고 실패한다.
+        List<FaultyChannel> channels = new ArrayList<>();
+        LogItemStore store = new LogItemStore(new MapItemStore(), dir, true, 0, path -> {
+            FaultyChannel channel = new FaultyChannel(LogItemStore.FILE_SEGMENT.open(path));
+            channels.add(channel);
+            return channel;
+        });
+        ItemRepository itemRepository = new ItemRepository(store);
+        itemRepository.save(new Item("itemA", 10000, 10));
+        channels.get(channels.size() - 1).failNextWriteAfter = 5;
+
+        //when
+        assertThatThrownBy(() -> itemRepository.save(new Item("itemB", 20000, 20)))
+                .isInstanceOf(UncheckedIOException.class);
+        Item itemC = itemRepository.save(new Item("itemC", 30000, 30));
+        crash(store);
+
+        //then 실패한 기록은 잘려 나가고, 그 뒤에 성공한 기록은 복구된다.
+        LogItemStore recovered = new LogItemStore(new MapItemStore(), dir, true, 0);
+        assertThat(recovered.findAll()).extracting(Item::getItemName).containsExactly("itemA", "itemC");
+        assertThat(recovered.get(itemC.getId()).getPrice()).isEqualTo(30000);
+        recovered.close();
+    }
+
+    @Test
+    void failWritesAfterApplyError() {
+        //given 메모리 저장소 반영 중에 오류가 나는 상품
+        LogItemStore store = new LogItemStore(new MapItemStore() {
+            @Override
+            public void put(Item item) {
+                if ("boom".equals(item.getItemName())) {
+                    throw new IllegalArgumentException("boom");
+                }
+                super.put(item);
+            }
+        }, dir, true, 0);
+        ItemRepository itemRepository = new ItemRepository(store);
+        itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when 기다리던 요청은 멈추지 않고 실패한다.
+        assertThatThrownBy(() -> itemRepository.save(new Item("boom", 10000, 10)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("boom");
+
+        //then 로그와 메모리가 어긋났으므로 이후 변경은 거절하고, 조회와 닫기는 된다.
+        assertThatThrownBy(() -> itemRepository.save(new Item("itemB", 10000, 10)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(itemRepository.findById(1L).getItemName()).isEqualTo("itemA");
+        store.close();
+    }
+
+    /**
+     * 스냅샷을 만들지 않고 종료된 상황: 로그 파일만 남긴다.
+     */
+    private void crash(LogItemStore store) throws IOException {
+        Path snapshot = dir.resolve(LogItemStore.SNAPSHOT_FILE);
+        byte[] before = Files.exists(snapshot) ? Files.readAllBytes(snapshot) : null;
+        List<Path> segmentsBefore = segments();
+        List<byte[]> contents = new ArrayList<>();
+        for (Path segment : segmentsBefore) {
+            contents.add(Files.readAllBytes(segment));
+        }
+
+        store.close();
+
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        if (before != null) {
+            Files.write(snapshot, before);
+        }
+        for (int i = 0; i < segmentsBefore.size(); i++) {
+            Files.write(segmentsBefore.get(i), contents.get(i));
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".wal"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static byte[] legacyPutRecord(long id, String name, int price, int quantity) {
+        ByteBuffer record = ByteBuffer.allocate(256);
+        record.position(8);
+        record.put(ItemLogCodec.PUT).putLong(id);
+        putLegacyItem(record, name, price, quantity);
+        int length = record.position() - 8;
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 8, length);
+        record.putInt(0, length).putInt(4, (int) crc.getValue());
+        return Arrays.copyOf(record.array(), record.position());
+    }
+
+    private static void putLegacyItem(ByteBuffer buffer, String name, int price, int quantity) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(nameBytes.length).put(nameBytes).put((byte) 1).putInt(price).put((byte) 1).putInt(quantity);
+    }
+
+    /**
+     * failNextWriteAfter 가 0 이상이면 다음 write 에서 그만큼만 쓰고 IOException 을 던진다.
+     */
+    static final class FaultyChannel extends FileChannel {
+
+        private final FileChannel channel;
+        volatile int failNextWriteAfter = -1;
+
+        FaultyChannel(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            int failAfter = failNextWriteAfter;
+            if (failAfter < 0) {
+                return channel.write(srcs, offset, length);
+            }
+            failNextWriteAfter = -1;
+            ByteBuffer first = srcs[offset].duplicate();
+            first.limit(first.position() + Math.min(failAfter, first.remaining()));
+            channel.write(first);
+            throw new IOException("디스크 오류 흉내");
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return (int) write(new ByteBuffer[]{src}, 0, 1);
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return channel.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return channel.read(dsts, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return channel.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            channel.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return channel.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            channel.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            channel.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return channel.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return channel.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return channel.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return channel.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return channel.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return channel.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return channel.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            channel.close();
+        }
+    }
+}
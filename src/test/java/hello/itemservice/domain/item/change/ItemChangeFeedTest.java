@@ -0,0 +1,161 @@
+package hello.itemservice.domain.item.change;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MapItemStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemChangeFeedTest {
+
+    MemoryItemChangeSink sink = new MemoryItemChangeSink();
+    ItemChangeFeed feed = new ItemChangeFeed(List.of(sink), 2, 1024, 16, ItemChangeFeed.Overflow.DROP);
+    ItemRepository itemRepository = new ItemRepository(new ChangeFeedItemStore(new MapItemStore(), feed));
+
+    @AfterEach
+    void afterEach() {
+        feed.close();
+    }
+
+    @Test
+    void saveAndUpdate() throws InterruptedException {
+        //given
+        Item savedItem = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        itemRepository.update(savedItem.getId(), new Item("itemB", 20000, 20));
+
+        //then
+        assertThat(sink.await(2, 5000)).isTrue();
+        assertThat(sink.getChanges())
+                .extracting("type", "id", "version", "itemName")
+                .containsExactly(
+                        tuple(ItemChange.Type.SAVE, savedItem.getId(), 1L, "itemA"),
+                        tuple(ItemChange.Type.UPDATE, savedItem.getId(), 2L, "itemB"));
+    }
+
+    @Test
+    void sameItemInOrder() throws InterruptedException {
+        //given
+        Item savedItem = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        for (int i = 0; i < 100; i++) {
+            itemRepository.update(savedItem.getId(), new Item("itemA", 10000 + i, 10));
+        }
+
+        //then
+        assertThat(sink.await(101, 5000)).isTrue();
+        assertThat(sink.getChanges()).extracting("version").isSorted();
+        assertThat(feed.getLag()).isZero();
+    }
+
+    @Test
+    void concurrentUpdatesInVersionOrder() throws InterruptedException {
+        //given
+        Item savedItem = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when 여러 스레드가 같은 상품을 수정한다.
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 50; i++) {
+                    itemRepository.update(savedItem.getId(), new Item("itemA", 10000 + i, 10));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        //then SAVE 가 먼저, 이후 UPDATE 는 version 순서대로 도착한다.
+        assertThat(sink.await(401, 5000)).isTrue();
+        assertThat(sink.getChanges().get(0).getType()).isEqualTo(ItemChange.Type.SAVE);
+        assertThat(sink.getChanges()).extracting("version").isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void closeDeliversRemaining() {
+        //when
+        for (int i = 0; i < 500; i++) {
+            itemRepository.save(new Item("item" + i, 10000, 10));
+        }
+        feed.close();
+
+        //then
+        assertThat(sink.getChanges()).hasSize(500);
+        assertThat(feed.getDeliveredCount()).isEqualTo(500);
+    }
+
+    @Test
+    void dropWhenFull() throws InterruptedException {
+        //given 첫 묶음에서 멈춰 있는 sink
+        CountDownLatch release = new CountDownLatch(1);
+        ItemChangeSink slowSink = changes -> release.await();
+        ItemChangeFeed slowFeed = new ItemChangeFeed(List.of(slowSink), 1, 4, 1, ItemChangeFeed.Overflow.DROP);
+
+        //when
+        for (long id = 1; id <= 20; id++) {
+            Item item = new Item("item" + id, 10000, 10);
+            item.setId(id);
+            slowFeed.publish(ItemChange.saved(item));
+        }
+
+        //then 버퍼(4)와 전달 중인 묶음(최대 1)을 넘는 이벤트는 버린다.
+        assertThat(slowFeed.getDroppedCount()).isGreaterThanOrEqualTo(15);
+        assertThat(slowFeed.getPublishedCount() + slowFeed.getDroppedCount()).isEqualTo(20);
+        release.countDown();
+        slowFeed.close();
+        assertThat(slowFeed.getLag()).isZero();
+    }
+
+    @Test
+    void sinkErrorDoesNotStopFeed() throws InterruptedException {
+        //given
+        MemoryItemChangeSink memorySink = new MemoryItemChangeSink();
+        ItemChangeSink failingSink = changes -> {
+            throw new IllegalStateException("sink 장애");
+        };
+        ItemChangeFeed failingFeed = new ItemChangeFeed(List.of(failingSink, memorySink), 1, 16, 16,
+                ItemChangeFeed.Overflow.DROP);
+
+        //when
+        failingFeed.publish(ItemChange.cleared());
+        failingFeed.close();
+
+        //then
+        assertThat(memorySink.getChanges()).extracting("type").containsExactly(ItemChange.Type.CLEAR);
+        assertThat(failingFeed.getSinkErrorCount()).isEqualTo(1);
+    }
+
+    @Test
+    void fileSink(@TempDir Path dir) throws Exception {
+        //given
+        Path file = dir.resolve("changes.jsonl");
+        Item item = new Item("itemA", 10000, 10);
+        item.setId(1L);
+        item.setVersion(1L);
+
+        //when
+        try (FileItemChangeSink fileSink = new FileItemChangeSink(file)) {
+            fileSink.accept(List.of(ItemChange.saved(item), ItemChange.cleared()));
+        }
+
+        //then
+        assertThat(Files.readAllLines(file, StandardCharsets.UTF_8)).containsExactly(
+                "{\"type\":\"SAVE\",\"id\":1,\"version\":1,\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}",
+                "{\"type\":\"CLEAR\"}");
+    }
+}
@@ -0,0 +1,163 @@
+package hello.itemservice.domain.item.shard;
+
+import hello.itemservice.ItemServiceApplication;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MapItemStore;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 다른 JVM 프로세스로 띄운 애플리케이션(item.shard.server.enabled=true)을 shard 하나로 쓴다. (localhost HTTP)
+ * 애플리케이션을 하나 더 띄우므로 기본 test 에서는 빠진다. 실행: ./gradlew processTest
+ */
+@Tag("process")
+class ShardedItemStoreProcessTest {
+
+    private static final long STARTUP_TIMEOUT_MILLIS = 60_000;
+    private static final String TOKEN = "process-test-token";
+
+    static Process shardProcess;
+    static String baseUrl;
+    static RemoteItemStore remote;
+
+    @BeforeAll
+    static void startShardProcess() throws Exception {
+        int port = freePort();
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        shardProcess = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                ItemServiceApplication.class.getName(),
+                "--server.port=" + port, "--item.shard.server.enabled=true", "--item.shard.token=" + TOKEN,
+                "--logging.level.root=warn")
+                .redirectErrorStream(true)
+                .redirectOutput(new File(System.getProperty("java.io.tmpdir"), "item-shard-" + port + ".log"))
+                .start();
+        baseUrl = "http://localhost:" + port + "/internal/shard/items";
+        remote = new RemoteItemStore(baseUrl, TOKEN);
+        awaitStarted();
+    }
+
+    @AfterAll
+    static void stopShardProcess() throws InterruptedException {
+        if (shardProcess != null) {
+            shardProcess.destroy();
+            if (!shardProcess.waitFor(10, TimeUnit.SECONDS)) {
+                shardProcess.destroyForcibly();
+            }
+        }
+    }
+
+    @Test
+    void localAndRemoteShards() {
+        //given shard 0, 1 은 이 프로세스, shard 2 는 다른 프로세스
+        remote.clear();
+        ShardedItemStore store = new ShardedItemStore(List.of(new MapItemStore(), new MapItemStore(), remote),
+                new BlockShardRouter(3, 4));
+        ItemRepository itemRepository = new ItemRepository(store);
+
+        //when
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Item item = new Item("item" + i, 10000, 10);
+            item.setId((long) i + 1);
+            item.setVersion(1L);
+            items.add(item);
+        }
+        store.putAll(items);
+
+        //then 블록 2, 5 (id 9 ~ 12, 21 ~ 24) 가 다른 프로세스에 저장된다.
+        assertThat(remote.findAll()).extracting("id").containsExactly(9L, 10L, 11L, 12L, 21L, 22L, 23L, 24L);
+        assertThat(itemRepository.findById(10L).getItemName()).isEqualTo("item9");
+
+        List<Item> paged = new ArrayList<>();
+        Long after = null;
+        do {
+            ItemPage page = itemRepository.findPage(after, 7);
+            paged.addAll(page.getItems());
+            after = page.getNextCursor();
+        } while (after != null);
+        assertThat(paged).containsExactlyElementsOf(items);
+
+        Item updated = itemRepository.update(22L, new Item("remoteUpdated", 20000, 20), 1L);
+        assertThat(updated.getVersion()).isEqualTo(2L);
+        assertThat(remote.get(22L).getItemName()).isEqualTo("remoteUpdated");
+        assertThat(itemRepository.update(22L, new Item("stale", 30000, 30), 1L)).isNull();
+    }
+
+    @Test
+    void saveToRemoteShardFromManyThreads() throws InterruptedException {
+        //given
+        remote.clear();
+        ShardedItemStore store = new ShardedItemStore(List.of(new MapItemStore(), remote), new BlockShardRouter(2, 8));
+        ItemRepository itemRepository = new ItemRepository(store);
+
+        //when
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 25; i++) {
+                    itemRepository.save(new Item("item", 10000, 10));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        //then
+        List<Item> all = itemRepository.findAll();
+        assertThat(all).hasSize(100);
+        assertThat(all).extracting("id").isSorted().doesNotHaveDuplicates();
+        assertThat(remote.findAll()).allMatch(item -> new BlockShardRouter(2, 8).shardOf(item.getId()) == 1);
+    }
+
+    @Test
+    void rejectWrongToken() {
+        //given
+        remote.clear();
+        RemoteItemStore stranger = new RemoteItemStore(baseUrl, "wrong-token");
+
+        //when, then
+        assertThatThrownBy(() -> stranger.findAfter(null, 1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("401");
+        assertThatThrownBy(stranger::clear).hasMessageContaining("401");
+        assertThat(remote.maxId()).isNull();
+    }
+
+    private static void awaitStarted() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        while (true) {
+            try {
+                remote.findAfter(null, 1);
+                return;
+            } catch (IllegalStateException e) {
+                if (!shardProcess.isAlive() || System.currentTimeMillis() > deadline) {
+                    throw new IllegalStateException("shard 프로세스가 시작되지 않았습니다.", e);
+                }
+                Thread.sleep(200);
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
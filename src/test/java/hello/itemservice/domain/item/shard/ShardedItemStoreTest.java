@@ -0,0 +1,258 @@
+package hello.itemservice.domain.item.shard;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemStore;
+import hello.itemservice.domain.item.MapItemStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ShardedItemStoreTest {
+
+    ShardedItemStore store = new ShardedItemStore(
+            List.of(new MapItemStore(), new MapItemStore(), new MapItemStore(), new MapItemStore()),
+            new BlockShardRouter(4, 4));
+    ItemRepository itemRepository = new ItemRepository(store);
+
+    @Test
+    void nextBlockStart() {
+        BlockShardRouter router = new BlockShardRouter(4, 4);
+
+        assertThat(router.nextBlockStart(0, 0)).isEqualTo(1);
+        assertThat(router.nextBlockStart(1, 0)).isEqualTo(5);
+        assertThat(router.nextBlockStart(0, 4)).isEqualTo(17);
+        assertThat(router.nextBlockStart(3, 20)).isEqualTo(29);
+        assertThat(router.shardOf(17)).isEqualTo(0);
+        assertThat(router.shardOf(29)).isEqualTo(3);
+    }
+
+    @Test
+    void saveInOwnBlocks() {
+        //when 한 스레드의 저장은 한 shard 의 블록을 차례로 쓴다.
+        List<Item> saved = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            saved.add(itemRepository.save(new Item("item" + i, 10000, 10)));
+        }
+
+        //then
+        assertThat(saved).extracting("id").isSorted().doesNotHaveDuplicates();
+        assertThat(itemRepository.findAll()).containsExactlyElementsOf(saved);
+        assertThat(itemRepository.findById(saved.get(9).getId())).isEqualTo(saved.get(9));
+    }
+
+    @Test
+    void scatterGatherPaging() throws InterruptedException {
+        //given 여러 스레드가 서로 다른 shard 에 저장
+        saveConcurrently(8, 50);
+
+        //when
+        List<Item> paged = new ArrayList<>();
+        Long after = null;
+        do {
+            ItemPage page = itemRepository.findPage(after, 7);
+            paged.addAll(page.getItems());
+            after = page.getNextCursor();
+        } while (after != null);
+
+        //then
+        assertThat(paged).hasSize(400);
+        assertThat(paged).extracting("id").isSorted().doesNotHaveDuplicates();
+        assertThat(paged).containsExactlyElementsOf(itemRepository.findAll());
+        assertThat(itemRepository.findAll(10, 5)).containsExactlyElementsOf(paged.subList(10, 15));
+        int used = 0;
+        for (int i = 0; i < store.shardCount(); i++) {
+            used += store.shard(i).findAll().isEmpty() ? 0 : 1;
+        }
+        assertThat(used).isGreaterThan(1);
+    }
+
+    @Test
+    void updateRoutesToShard() throws InterruptedException {
+        //given
+        saveConcurrently(4, 10);
+        Item target = itemRepository.findAll().get(25);
+
+        //when
+        Item updated = itemRepository.update(target.getId(), new Item("updated", 20000, 20), target.getVersion());
+        Item stale = itemRepository.update(target.getId(), new Item("stale", 30000, 30), target.getVersion());
+
+        //then
+        assertThat(updated.getVersion()).isEqualTo(2L);
+        assertThat(stale).isNull();
+        assertThat(itemRepository.findById(target.getId()).getItemName()).isEqualTo("updated");
+    }
+
+    @Test
+    void saveAllAndClear() {
+        //when
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(new Item("item" + i, 10000, 10));
+        }
+        itemRepository.saveAll(items);
+
+        //then
+        assertThat(items).extracting("id").isSorted().doesNotHaveDuplicates();
+        assertThat(itemRepository.findAll()).containsExactlyElementsOf(items);
+        itemRepository.clearStore();
+        assertThat(itemRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void continueAfterExistingIds() {
+        //given 이미 상품이 있는 shard
+        MapItemStore existing = new MapItemStore();
+        Item item = new Item("existing", 10000, 10);
+        item.setId(3L);
+        item.setVersion(1L);
+        existing.put(item);
+        List<ItemStore> shards = List.of(existing, new MapItemStore());
+
+        //when
+        ItemRepository repository = new ItemRepository(new ShardedItemStore(shards, new BlockShardRouter(2, 4)));
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            items.add(new Item("item" + i, 10000, 10));
+        }
+        repository.saveAll(items);
+
+        //then
+        assertThat(items).extracting("id").doesNotContain(3L);
+        assertThat(repository.findAll()).hasSize(21);
+    }
+
+    @Test
+    void createWithoutReadingShards() {
+        //given 응답하지 않는 shard
+        MapItemStore down = new MapItemStore() {
+            @Override
+            public Long maxId() {
+                throw new IllegalStateException("shard 요청 실패");
+            }
+
+            @Override
+            public List<Item> findAll() {
+                throw new IllegalStateException("shard 요청 실패");
+            }
+        };
+
+        //when
+        ShardedItemStore sharded = new ShardedItemStore(List.of(new MapItemStore(), down), new BlockShardRouter(2, 4));
+
+        //then 생성과 다른 shard 조회는 되고, 그 shard 에 물어야 하는 maxId 는 실패를 그대로 알린다.
+        assertThat(sharded.get(1L)).isNull();
+        assertThatThrownBy(() -> sharded.maxId()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shareRemoteShardBetweenInstances() {
+        //given 두 인스턴스가 같은 다른 인스턴스 shard 를 함께 쓴다.
+        SharedRemote remote = new SharedRemote();
+        ItemRepository first = new ItemRepository(new ShardedItemStore(List.of(remote), new BlockShardRouter(1, 4)));
+        ItemRepository second = new ItemRepository(new ShardedItemStore(List.of(remote), new BlockShardRouter(1, 4)));
+
+        //when 번갈아 저장
+        for (int i = 0; i < 10; i++) {
+            first.save(new Item("first" + i, 10000, 10));
+            second.save(new Item("second" + i, 10000, 10));
+        }
+
+        //then 예약한 블록이 겹치지 않아 서로의 상품을 덮어쓰지 않는다.
+        assertThat(remote.findAll()).hasSize(20);
+        assertThat(remote.findAll()).extracting("id").doesNotHaveDuplicates();
+    }
+
+    private void saveConcurrently(int threads, int perThread) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(itemRepository.save(new Item("item", 10000, 10)).getId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(ids).hasSize(threads * perThread);
+    }
+
+    /**
+     * shard 서버(ShardItemController)처럼 id 블록을 예약해 주는 다른 인스턴스 shard
+     */
+    static class SharedRemote extends RemoteItemStore {
+
+        private final MapItemStore store = new MapItemStore();
+        private long reservedUpTo;
+
+        SharedRemote() {
+            super("http://localhost:0/internal/shard/items", "test-token");
+        }
+
+        @Override
+        public synchronized Long reserveIdBlock(long start, int size) {
+            Long maxId = store.maxId();
+            long used = Math.max(reservedUpTo, maxId == null ? 0 : maxId);
+            if (start <= used) {
+                return used;
+            }
+            reservedUpTo = start + size - 1;
+            return null;
+        }
+
+        @Override
+        public void put(Item item) {
+            store.put(item);
+        }
+
+        @Override
+        public void putAll(List<Item> items) {
+            store.putAll(items);
+        }
+
+        @Override
+        public Item get(Long id) {
+            return store.get(id);
+        }
+
+        @Override
+        public List<Item> findAll() {
+            return store.findAll();
+        }
+
+        @Override
+        public Long maxId() {
+            return store.maxId();
+        }
+
+        @Override
+        public List<Item> findRange(int offset, int limit) {
+            return store.findRange(offset, limit);
+        }
+
+        @Override
+        public List<Item> findAfter(Long afterId, int limit) {
+            return store.findAfter(afterId, limit);
+        }
+
+        @Override
+        public Item update(Long id, Item updateParam, Long expectedVersion) {
+            return store.update(id, updateParam, expectedVersion);
+        }
+
+        @Override
+        public void clear() {
+            store.clear();
+        }
+    }
+}
@@ -5,6 +5,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.MessageSource;
 import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.validation.FieldError;
 
 import java.util.Locale;
 
@@ -50,4 +52,46 @@ public class MessageSourceTest {
     void enLang() {
         assertThat(ms.getMessage("hello", null, Locale.ENGLISH)).isEqualTo("hello");
     }
-}
\ No newline at end of file
+
+    @Test
+    void cachingMessageSource() {
+        CachingMessageSource cachingMessageSource = new CachingMessageSource(((CachingMessageSource) ms).getDelegate(), 100);
+        FieldError error = new FieldError("item", "price", 100, false,
+                new String[]{"range.item.price", "range.price", "range.java.lang.Integer", "range"},
+                new Object[]{1000, 1000000}, null);
+
+        String first = cachingMessageSource.getMessage(error, Locale.KOREA);
+        String second = cachingMessageSource.getMessage(error, Locale.KOREA);
+
+        assertThat(first).isEqualTo("가격은 1,000 ~ 1,000,000 까지 허용합니다.");
+        assertThat(second).isEqualTo(first);
+        assertThat(cachingMessageSource.getMissCount()).isEqualTo(1);
+        assertThat(cachingMessageSource.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void cachingMessageSourceFallbackCode() {
+        CachingMessageSource cachingMessageSource = new CachingMessageSource(((CachingMessageSource) ms).getDelegate(), 100);
+        FieldError error = new FieldError("item", "quantity", null, false,
+                new String[]{"required.item.quantity", "required.quantity", "required.java.lang.Integer", "required"},
+                null, null);
+
+        assertThat(cachingMessageSource.getMessage(error, Locale.KOREA)).isEqualTo("필수 숫자입니다.");
+        assertThat(cachingMessageSource.getMessage(error, Locale.KOREA)).isEqualTo("필수 숫자입니다.");
+    }
+
+    @Test
+    void cachingMessageSourceDefaultMessage() {
+        CachingMessageSource cachingMessageSource = new CachingMessageSource(((CachingMessageSource) ms).getDelegate(), 100);
+        DefaultMessageSourceResolvable resolvable = new DefaultMessageSourceResolvable(new String[]{"no_code"}, "기본 메시지");
+
+        assertThat(cachingMessageSource.getMessage(resolvable, Locale.KOREA)).isEqualTo("기본 메시지");
+        assertThat(cachingMessageSource.getMessage(resolvable, Locale.KOREA)).isEqualTo("기본 메시지");
+        assertThat(cachingMessageSource.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void messageSourceIsCached() {
+        assertThat(ms).isInstanceOf(CachingMessageSource.class);
+    }
+}
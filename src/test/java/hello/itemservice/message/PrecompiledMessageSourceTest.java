@@ -0,0 +1,87 @@
+package hello.itemservice.message;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * PrecompiledMessageSource 는 ResourceBundleMessageSource 와 같은 메시지를 만들어야 한다.
+ */
+class PrecompiledMessageSourceTest {
+
+    String[] basenames = {"messages", "errors"};
+    PrecompiledMessageSource ms = new PrecompiledMessageSource(basenames, true, getClass().getClassLoader());
+    ResourceBundleMessageSource expected = resourceBundleMessageSource();
+
+    @Test
+    void sameMessages() {
+        for (Locale locale : new Locale[]{Locale.KOREA, Locale.ENGLISH, Locale.FRANCE}) {
+            assertSame("hello", null, locale);
+            assertSame("hello.name", new Object[]{"Spring"}, locale);
+            assertSame("label.item.price", null, locale);
+            assertSame("range.item.price", new Object[]{1000, 1000000}, locale);
+            assertSame("totalPriceMin", new Object[]{10000, 5000}, locale);
+        }
+    }
+
+    @Test
+    void resolvable() {
+        FieldError error = new FieldError("item", "quantity", 10000, false,
+                new String[]{"max.item.quantity", "max.quantity", "max.java.lang.Integer", "max"},
+                new Object[]{9999}, null);
+        ObjectError globalError = new ObjectError("item", new String[]{"totalPriceMin.item", "totalPriceMin"},
+                new Object[]{10000, 5000}, null);
+
+        assertThat(ms.getMessage(error, Locale.KOREA)).isEqualTo(expected.getMessage(error, Locale.KOREA));
+        assertThat(ms.getMessage(globalError, Locale.KOREA)).isEqualTo(expected.getMessage(globalError, Locale.KOREA));
+    }
+
+    @Test
+    void resolvableArgument() {
+        DefaultMessageSourceResolvable field = new DefaultMessageSourceResolvable(
+                new String[]{"item.itemName", "itemName"}, "itemName");
+        FieldError error = new FieldError("item", "itemName", "", false,
+                new String[]{"NotBlank.item.itemName", "NotBlank"}, new Object[]{field}, "공백! {0}");
+
+        assertThat(ms.getMessage(error, Locale.KOREA)).isEqualTo(expected.getMessage(error, Locale.KOREA));
+    }
+
+    @Test
+    void defaultMessage() {
+        assertThat(ms.getMessage("no_code", null, "기본 메시지", Locale.KOREA)).isEqualTo("기본 메시지");
+        assertThat(ms.getMessage("no_code", new Object[]{1000}, "기본 {0}", Locale.KOREA))
+                .isEqualTo(expected.getMessage("no_code", new Object[]{1000}, "기본 {0}", Locale.KOREA));
+        assertThat(ms.getMessage("no_code", null, null, Locale.KOREA)).isNull();
+    }
+
+    @Test
+    void notFoundMessageCode() {
+        assertThatThrownBy(() -> ms.getMessage("no_code", null, Locale.KOREA))
+                .isInstanceOf(NoSuchMessageException.class);
+        assertThatThrownBy(() -> ms.getMessage(new DefaultMessageSourceResolvable("no_code"), Locale.KOREA))
+                .isInstanceOf(NoSuchMessageException.class);
+    }
+
+    @Test
+    void missingArgumentIsKept() {
+        assertSame("range.item.price", new Object[]{1000}, Locale.KOREA);
+    }
+
+    private void assertSame(String code, Object[] args, Locale locale) {
+        assertThat(ms.getMessage(code, args, locale)).isEqualTo(expected.getMessage(code, args, locale));
+    }
+
+    private ResourceBundleMessageSource resourceBundleMessageSource() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames(basenames);
+        messageSource.setDefaultEncoding("UTF-8");
+        return messageSource;
+    }
+}
@@ -0,0 +1,37 @@
+package hello.itemservice.startup;
+
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("fast-startup")
+class FastStartupProfileTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Test
+    void seededEvenWithLazyInitialization() {
+        assertThat(itemRepository.findPage(null, 10).getItems()).isNotEmpty();
+    }
+
+    @Test
+    void firstRequest() throws Exception {
+        mockMvc.perform(get("/validation/v3/items"))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeExists("items"));
+    }
+}
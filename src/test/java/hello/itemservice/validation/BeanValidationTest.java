@@ -1,6 +1,7 @@
 package hello.itemservice.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
 import org.junit.jupiter.api.Test;
 
 import javax.validation.ConstraintViolation;
@@ -21,7 +22,7 @@ public class BeanValidationTest {
         item.setPrice(1);
         item.setQuantity(10000);
 
-        Set<ConstraintViolation<Item>> violations = validator.validate(item);
+        Set<ConstraintViolation<Item>> violations = validator.validate(item, SaveCheck.class);
         for (ConstraintViolation<Item> violation : violations) {
             System.out.println("violation = " + violation);
             System.out.println("violation.getMessage() = " + violation.getMessage());
@@ -0,0 +1,139 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.validation.CompiledBeanValidator;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CompiledBeanValidator 는 SpringValidatorAdapter(Bean Validation) 와 같은 오류를 만들어야 한다.
+ */
+public class CompiledBeanValidatorTest {
+
+    Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    SpringValidatorAdapter beanValidator = new SpringValidatorAdapter(validator);
+    CompiledBeanValidator compiledValidator = CompiledBeanValidator.compile(validator, ItemSaveForm.class, ItemUpdateForm.class);
+    CompiledBeanValidator groupValidator = CompiledBeanValidator.compile(validator,
+            Map.of(Item.class, List.of(SaveCheck.class, UpdateCheck.class)));
+
+    @Test
+    void validSaveForm() {
+        ItemSaveForm form = saveForm("itemA", 10000, 10);
+
+        assertThat(compiled(form).hasErrors()).isFalse();
+        assertThat(reflective(form).hasErrors()).isFalse();
+    }
+
+    @Test
+    void invalidSaveForm() {
+        assertSameErrors(saveForm(" ", 999, 10000));
+        assertSameErrors(saveForm(null, null, null));
+        assertSameErrors(saveForm("itemA", 1000001, 9999));
+    }
+
+    @Test
+    void invalidUpdateForm() {
+        ItemUpdateForm form = new ItemUpdateForm();
+        form.setItemName("");
+        form.setPrice(10);
+        form.setQuantity(100000);
+
+        assertSameErrors(form);
+    }
+
+    @Test
+    void saveCheckGroup() {
+        assertSameGroupErrors(new Item(" ", 999, 10000), SaveCheck.class);
+        assertSameGroupErrors(new Item(null, null, null), SaveCheck.class);
+        assertSameGroupErrors(new Item("itemA", 10000, 10), SaveCheck.class);
+    }
+
+    @Test
+    void updateCheckGroup() {
+        //UpdateCheck 는 id 가 필수이고 수량 상한이 없다.
+        Item item = new Item("itemA", 10000, 10000);
+        assertSameGroupErrors(item, UpdateCheck.class);
+
+        item.setId(1L);
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        groupValidator.validate(item, bindingResult, UpdateCheck.class);
+        assertThat(bindingResult.hasErrors()).isFalse();
+    }
+
+    @Test
+    void defaultGroupHasNoConstraintsOnItem() {
+        //Item 의 제약 조건은 모두 그룹 지정: 그룹 없이 검증하면 필드 오류가 없다.
+        BindingResult bindingResult = new BeanPropertyBindingResult(new Item("", 1, 1), "item");
+        groupValidator.validate(bindingResult.getTarget(), bindingResult);
+
+        assertThat(bindingResult.hasFieldErrors()).isFalse();
+    }
+
+    private void assertSameGroupErrors(Item item, Class<?> group) {
+        BindingResult compiled = new BeanPropertyBindingResult(item, "item");
+        groupValidator.validate(item, compiled, group);
+        BindingResult reflective = new BeanPropertyBindingResult(item, "item");
+        beanValidator.validate(item, reflective, group);
+
+        assertThat(describe(compiled)).isEqualTo(describe(reflective));
+    }
+
+    private void assertSameErrors(Object form) {
+        assertThat(describe(compiled(form))).isEqualTo(describe(reflective(form)));
+    }
+
+    private BindingResult compiled(Object form) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        compiledValidator.validate(form, bindingResult);
+        return bindingResult;
+    }
+
+    private BindingResult reflective(Object form) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        beanValidator.validate(form, bindingResult);
+        return bindingResult;
+    }
+
+    /**
+     * 오류 순서는 구현마다 다르므로 정렬해서 비교한다.
+     */
+    private List<String> describe(BindingResult bindingResult) {
+        return bindingResult.getFieldErrors().stream()
+                .map(this::describe)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private String describe(FieldError error) {
+        Object[] arguments = error.getArguments();
+        String args = Arrays.stream(arguments == null ? new Object[0] : arguments)
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        return error.getField() + "|" + String.join(",", error.getCodes()) + "|" + args
+                + "|" + error.getRejectedValue() + "|" + error.getDefaultMessage();
+    }
+
+    private ItemSaveForm saveForm(String itemName, Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+}
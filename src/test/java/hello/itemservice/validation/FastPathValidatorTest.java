@@ -0,0 +1,115 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.CompiledBeanValidator;
+import hello.itemservice.web.validation.FastPathValidator;
+import hello.itemservice.web.validation.ItemValidator;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.ObjectError;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * FastPathValidator 는 통과한 입력에는 Errors 를 건드리지 않고, 나머지는 원래 Validator 와 같은 오류를 만들어야 한다.
+ */
+class FastPathValidatorTest {
+
+    Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    ItemValidator itemValidator = new ItemValidator();
+    CompiledBeanValidator compiledValidator = CompiledBeanValidator.compile(validator, ItemSaveForm.class, ItemUpdateForm.class);
+    FastPathValidator fastPathValidator = new FastPathValidator(itemValidator, compiledValidator);
+
+    @Test
+    void validInputDoesNotTouchErrors() {
+        //given
+        Errors errors = mock(Errors.class);
+
+        //when
+        fastPathValidator.validate(new Item("itemA", 10000, 10), errors);
+
+        //then
+        verify(errors).hasErrors();
+        verifyNoMoreInteractions(errors);
+    }
+
+    @Test
+    void sameErrorsAsItemValidator() {
+        assertSameErrors(new Item("", 999, 10000), itemValidator);
+        assertSameErrors(new Item(null, null, null), itemValidator);
+        assertSameErrors(new Item("itemA", 100, 10), itemValidator);
+        assertSameErrors(new Item("itemA", 500000, 5000), itemValidator); //int 로 곱하면 넘쳐서 음수가 되는 값
+        assertSameErrors(new Item("\u0000", 10000, 10), itemValidator);
+    }
+
+    @Test
+    void totalPriceWithoutOverflow() {
+        //given 최대 가격 * 최대 수량은 int 범위를 넘는다.
+        Item item = new Item("itemA", 1000000, 9999);
+
+        //when
+        BindingResult bindingResult = validate(item, itemValidator);
+
+        //then
+        assertThat(FastPathValidator.passes(item)).isTrue();
+        assertThat(bindingResult.hasErrors()).isFalse();
+    }
+
+    @Test
+    void sameErrorsAsFormValidator() {
+        ItemSaveForm saveForm = new ItemSaveForm();
+        saveForm.setItemName(" ");
+        saveForm.setPrice(999);
+        saveForm.setQuantity(10000);
+        assertSameErrors(saveForm, compiledValidator);
+
+        ItemUpdateForm updateForm = new ItemUpdateForm();
+        updateForm.setItemName("itemA");
+        updateForm.setPrice(10000);
+        updateForm.setQuantity(10);
+        assertSameErrors(updateForm, compiledValidator); //id 누락
+    }
+
+    @Test
+    void updateFormWithoutQuantityLimit() {
+        //given ItemUpdateForm 은 수량 상한이 없다: 빠른 확인도 폼 애노테이션을 읽으므로 통과
+        ItemUpdateForm updateForm = new ItemUpdateForm();
+        updateForm.setId(1L);
+        updateForm.setItemName("itemA");
+        updateForm.setPrice(10000);
+        updateForm.setQuantity(100000);
+
+        //when
+        BindingResult bindingResult = validate(updateForm, fastPathValidator);
+
+        //then
+        assertThat(FastPathValidator.passes(updateForm)).isTrue();
+        assertThat(bindingResult.hasErrors()).isFalse();
+    }
+
+    private void assertSameErrors(Object target, org.springframework.validation.Validator original) {
+        assertThat(describe(validate(target, fastPathValidator))).isEqualTo(describe(validate(target, original)));
+    }
+
+    private BindingResult validate(Object target, org.springframework.validation.Validator validator) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(target, "item");
+        validator.validate(target, bindingResult);
+        return bindingResult;
+    }
+
+    private List<String> describe(BindingResult bindingResult) {
+        return bindingResult.getAllErrors().stream()
+                .map(ObjectError::toString)
+                .collect(Collectors.toList());
+    }
+}
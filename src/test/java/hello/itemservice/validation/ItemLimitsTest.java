@@ -0,0 +1,40 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.ItemLimits;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemLimitsTest {
+
+    @Test
+    void readFromAnnotations() {
+        //when
+        ItemLimits limits = ItemLimits.of(Item.class);
+
+        //then
+        assertThat(limits.getPriceMin()).isEqualTo(1000);
+        assertThat(limits.getPriceMax()).isEqualTo(1000000);
+        assertThat(limits.getQuantityMax()).isEqualTo(9999);
+        assertThat(limits.getTotalPriceRule().getMin()).isEqualTo(10000);
+        assertThat(ItemLimits.of(ItemSaveForm.class).getQuantityMax()).isEqualTo(9999);
+    }
+
+    @Test
+    void noQuantityLimitWithoutAnnotation() {
+        ItemLimits limits = ItemLimits.of(ItemUpdateForm.class);
+
+        assertThat(limits.getQuantityMax()).isEqualTo(Long.MAX_VALUE);
+        assertThat(limits.quantityInRange(Integer.MAX_VALUE)).isTrue();
+        assertThat(limits.priceInRange(999)).isFalse();
+    }
+
+    @Test
+    void withoutTotalPriceMin() {
+        assertThatThrownBy(() -> ItemLimits.of(String.class))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
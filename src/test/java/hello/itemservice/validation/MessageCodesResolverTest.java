@@ -1,5 +1,6 @@
 package hello.itemservice.validation;
 
+import hello.itemservice.message.CachingMessageCodesResolver;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.validation.DefaultMessageCodesResolver;
@@ -27,4 +28,41 @@ public class MessageCodesResolverTest {
                 "required"
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void cachingMessageCodesResolver() {
+        CachingMessageCodesResolver cachingResolver = new CachingMessageCodesResolver(codesResolver, 100);
+
+        String[] first = cachingResolver.resolveMessageCodes("required", "item", "itemName", String.class);
+        String[] second = cachingResolver.resolveMessageCodes("required", "item", "itemName", String.class);
+
+        assertThat(first).containsExactly(codesResolver.resolveMessageCodes("required", "item", "itemName", String.class));
+        assertThat(second).containsExactly(first);
+        assertThat(cachingResolver.getMissCount()).isEqualTo(1);
+        assertThat(cachingResolver.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void cachingMessageCodesResolverKey() {
+        CachingMessageCodesResolver cachingResolver = new CachingMessageCodesResolver(codesResolver, 100);
+
+        assertThat(cachingResolver.resolveMessageCodes("required", "item")).containsExactly("required.item", "required");
+        assertThat(cachingResolver.resolveMessageCodes("required", "item", "itemName", String.class))
+                .startsWith("required.item.itemName");
+        assertThat(cachingResolver.resolveMessageCodes("required", "item", "price", Integer.class))
+                .contains("required.java.lang.Integer");
+        assertThat(cachingResolver.getMissCount()).isEqualTo(3);
+    }
+
+    @Test
+    void cachingMessageCodesResolverMaxSize() {
+        CachingMessageCodesResolver cachingResolver = new CachingMessageCodesResolver(codesResolver, 1);
+
+        cachingResolver.resolveMessageCodes("required", "item");
+        cachingResolver.resolveMessageCodes("range", "item");
+        cachingResolver.resolveMessageCodes("range", "item");
+
+        assertThat(cachingResolver.size()).isEqualTo(1);
+        assertThat(cachingResolver.getMissCount()).isEqualTo(3);
+    }
+}
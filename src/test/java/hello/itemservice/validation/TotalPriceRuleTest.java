@@ -0,0 +1,114 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.CompiledBeanValidator;
+import hello.itemservice.web.validation.TotalPriceRule;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.ObjectError;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TotalPriceRuleTest {
+
+    Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    CompiledBeanValidator compiledValidator = CompiledBeanValidator.compile(validator, ItemSaveForm.class, ItemUpdateForm.class);
+    CompiledBeanValidator beanValidationFields = CompiledBeanValidator.withBeanValidation(validator, ItemSaveForm.class, ItemUpdateForm.class);
+
+    @Test
+    void totalWithoutOverflow() {
+        assertThat(TotalPriceRule.total(1000000, 9999)).isEqualTo(9_999_000_000L);
+        assertThat(TotalPriceRule.total(Long.MAX_VALUE, 2)).isEqualTo(Long.MAX_VALUE);
+        assertThat(TotalPriceRule.total(Long.MAX_VALUE, -2)).isEqualTo(Long.MIN_VALUE);
+    }
+
+    @Test
+    void violation() {
+        TotalPriceRule rule = TotalPriceRule.of(Item.class);
+
+        assertThat(rule.violation(new Item("itemA", 1000, 1))).isEqualTo(1000L);
+        assertThat(rule.violation(new Item("itemA", 10000, 1))).isNull();
+        assertThat(rule.violation(new Item("itemA", 1000000, 9999))).isNull();
+        assertThat(rule.violation(new Item("itemA", null, 1))).isNull();
+    }
+
+    @Test
+    void ruleRequiresAnnotation() {
+        assertThatThrownBy(() -> TotalPriceRule.of(String.class))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void globalError() {
+        //when
+        BindingResult bindingResult = validate(saveForm("itemA", 1000, 1), compiledValidator);
+
+        //then
+        ObjectError error = bindingResult.getGlobalError();
+        assertThat(bindingResult.getErrorCount()).isEqualTo(1);
+        assertThat(error.getCode()).isEqualTo("totalPriceMin");
+        assertThat(error.getArguments()).containsExactly(10000L, 1000L);
+    }
+
+    @Test
+    void skipGlobalErrorWhenFieldFailed() {
+        //when
+        BindingResult bindingResult = validate(saveForm("itemA", 100, 1), compiledValidator);
+
+        //then
+        assertThat(bindingResult.hasFieldErrors("price")).isTrue();
+        assertThat(bindingResult.hasGlobalErrors()).isFalse();
+    }
+
+    @Test
+    void maxPriceAndQuantity() {
+        BindingResult bindingResult = validate(saveForm("itemA", 1000000, 9999), compiledValidator);
+
+        assertThat(bindingResult.hasErrors()).isFalse();
+    }
+
+    @Test
+    void sameErrorsWithBeanValidationFields() {
+        assertSameErrors(saveForm("itemA", 1000, 1));
+        assertSameErrors(saveForm("itemA", 100, 1));
+        assertSameErrors(saveForm(null, null, 10000));
+        assertSameErrors(saveForm("itemA", 1000000, 9999));
+    }
+
+    private void assertSameErrors(Object form) {
+        assertThat(describe(validate(form, compiledValidator)))
+                .isEqualTo(describe(validate(form, beanValidationFields)));
+    }
+
+    private BindingResult validate(Object target, org.springframework.validation.Validator validator) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(target, "item");
+        validator.validate(target, bindingResult);
+        return bindingResult;
+    }
+
+    /**
+     * 오류 순서는 구현마다 다르므로 코드만 정렬해서 비교한다.
+     */
+    private List<String> describe(BindingResult bindingResult) {
+        return bindingResult.getAllErrors().stream()
+                .map(ObjectError::getCode)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private ItemSaveForm saveForm(String itemName, Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+}
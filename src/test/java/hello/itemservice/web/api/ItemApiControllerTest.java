@@ -0,0 +1,132 @@
+package hello.itemservice.web.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Locale;
+
+import static org.hamcrest.Matchers.hasItems;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemApiControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void addItem() throws Exception {
+        mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemName\":\"itemC\",\"price\":10000,\"quantity\":10}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").isNumber())
+                .andExpect(jsonPath("$.itemName").value("itemC"));
+    }
+
+    @Test
+    void addItemFieldErrors() throws Exception {
+        mockMvc.perform(post("/api/items")
+                        .locale(Locale.KOREA)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemName\":\"\",\"price\":10,\"quantity\":10000}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.length()").value(3))
+                .andExpect(jsonPath("$.errors[?(@.field == 'price')].code").value("Range"))
+                .andExpect(jsonPath("$.errors[?(@.field == 'price')].args[1]").value(1000000))
+                .andExpect(jsonPath("$.errors[?(@.field == 'quantity')].code").value("Max"));
+    }
+
+    @Test
+    void addItemGlobalError() throws Exception {
+        mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemName\":\"itemC\",\"price\":1000,\"quantity\":1}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].field").doesNotExist())
+                .andExpect(jsonPath("$.errors[0].code").value("totalPriceMin"))
+                .andExpect(jsonPath("$.errors[0].args[1]").value(1000));
+    }
+
+    @Test
+    void addItemTypeMismatch() throws Exception {
+        mockMvc.perform(post("/api/items")
+                        .locale(Locale.KOREA)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemName\":\"itemC\",\"price\":\"abc\",\"quantity\":10}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.objectName").value("itemSaveForm"))
+                .andExpect(jsonPath("$.errors.length()").value(1))
+                .andExpect(jsonPath("$.errors[0].field").value("price"))
+                .andExpect(jsonPath("$.errors[0].code").value("typeMismatch"))
+                .andExpect(jsonPath("$.errors[0].message").value("숫자만 허용합니다."));
+    }
+
+    @Test
+    void addItemMalformedJson() throws Exception {
+        mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemName\":"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].field").doesNotExist())
+                .andExpect(jsonPath("$.errors[0].code").value("invalidBody"));
+    }
+
+    @Test
+    void editItemVersionConflict() throws Exception {
+        mockMvc.perform(put("/api/items/{itemId}", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":1,\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10,\"version\":999}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errors[0].code").value("versionConflict"));
+    }
+
+    @Test
+    void itemNotFound() throws Exception {
+        mockMvc.perform(get("/api/items/{itemId}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void bulkImportCsv() throws Exception {
+        String csv = "itemName,price,quantity\n"
+                + "itemD,10000,10\n"
+                + "\"item, E\",20000,20\n"
+                + ",100,10\n"
+                + "itemF,abc,10\n"
+                + "itemG,10000\n";
+
+        mockMvc.perform(post("/api/items/bulk")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.saved").value(2))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.errors[?(@.row == 3)].errors[*].code").value(hasItems("NotBlank", "Range")))
+                .andExpect(jsonPath("$.errors[?(@.row == 4)].errors[0].code").value("typeMismatch"))
+                .andExpect(jsonPath("$.errors[?(@.row == 5)].errors[0].code").value("invalidFormat"));
+    }
+
+    @Test
+    void bulkImportJsonLines() throws Exception {
+        String jsonLines = "{\"itemName\":\"itemH\",\"price\":10000,\"quantity\":10}\n"
+                + "{\"itemName\":\"itemI\",\"price\":1000,\"quantity\":1}\n"
+                + "{broken\n";
+
+        mockMvc.perform(post("/api/items/bulk")
+                        .contentType("application/x-ndjson")
+                        .content(jsonLines))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.saved").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].errors[0].code").value("totalPriceMin"))
+                .andExpect(jsonPath("$.errors[1].errors[0].code").value("invalidFormat"));
+    }
+}
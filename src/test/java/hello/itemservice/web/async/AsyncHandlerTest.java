@@ -0,0 +1,80 @@
+package hello.itemservice.web.async;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "handler.async.enabled=true")
+@AutoConfigureMockMvc
+class AsyncHandlerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Test
+    void itemsRenderedAsync() throws Exception {
+        //when
+        MvcResult started = mockMvc.perform(get("/validation/v3/items"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(view().name("validation/v3/items"))
+                .andReturn();
+        assertThat(result.getResponse().getContentAsString()).contains("itemA");
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotNull();
+    }
+
+    @Test
+    void addItemRedirectAsync() throws Exception {
+        //when
+        MvcResult started = mockMvc.perform(post("/validation/v2/items/add")
+                        .param("itemName", "asyncItem")
+                        .param("price", "10000")
+                        .param("quantity", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        String redirectedUrl = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().is3xxRedirection())
+                .andReturn().getResponse().getRedirectedUrl();
+        assertThat(redirectedUrl).startsWith("/validation/v2/items/").endsWith("status=true");
+
+        //작업 스레드에서 쓴 저장소 시간도 요청 단계 시간에 들어간다.
+        String handler = "ValidationItemControllerV2#addItemV2";
+        assertThat(registry.get("item.request.phase").tag("phase", "repository").tag("handler", handler).timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void validationErrorAsync() throws Exception {
+        //when
+        MvcResult started = mockMvc.perform(post("/validation/v3/items/add")
+                        .param("itemName", "")
+                        .param("price", "10000")
+                        .param("quantity", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(view().name("validation/v3/addForm"))
+                .andExpect(model().attributeHasFieldErrors("item", "itemName"));
+    }
+}
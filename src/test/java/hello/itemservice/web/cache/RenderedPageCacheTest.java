@@ -0,0 +1,153 @@
+package hello.itemservice.web.cache;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.i18n.AcceptHeaderLocaleResolver;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RenderedPageCacheTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    RenderedPageCacheFilter filter;
+
+    @Test
+    void notModifiedUntilItemChanges() throws Exception {
+        //given
+        Item item = itemRepository.save(new Item("cacheItem", 10000, 10));
+        String url = "/validation/v3/items/" + item.getId();
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+
+        //when
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        itemRepository.update(item.getId(), new Item("cacheItemUpdated", 20000, 10));
+
+        //then
+        MvcResult changed = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(changed.getResponse().getContentAsString()).contains("cacheItemUpdated");
+    }
+
+    @Test
+    void cachedListReplacedAfterSave() throws Exception {
+        //given
+        String first = mockMvc.perform(get("/validation/v2/items"))
+                .andReturn().getResponse().getContentAsString();
+        long hits = filter.getHitCount();
+
+        //when
+        String cached = mockMvc.perform(get("/validation/v2/items"))
+                .andReturn().getResponse().getContentAsString();
+        itemRepository.save(new Item("listCacheItem", 10000, 10));
+        String afterSave = mockMvc.perform(get("/validation/v2/items"))
+                .andReturn().getResponse().getContentAsString();
+
+        //then
+        assertThat(filter.getHitCount()).isEqualTo(hits + 1);
+        assertThat(cached).isEqualTo(first);
+        assertThat(afterSave).contains("listCacheItem");
+    }
+
+    @Test
+    void searchListNotCached() throws Exception {
+        //given
+        mockMvc.perform(get("/validation/v2/items?itemName=searchCache")).andExpect(status().isOk());
+        long hits = filter.getHitCount();
+        int size = filter.size();
+
+        //when
+        MvcResult result = mockMvc.perform(get("/validation/v2/items?itemName=searchCache"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then
+        assertThat(filter.getHitCount()).isEqualTo(hits);
+        assertThat(filter.size()).isEqualTo(size);
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotNull();
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() throws Exception {
+        //given 최대 2 개만 담는 캐시
+        RenderedPageCacheFilter small = new RenderedPageCacheFilter(
+                itemRepository, new AcceptHeaderLocaleResolver(), 2, 1024 * 1024);
+        Item item1 = itemRepository.save(new Item("lru1", 10000, 10));
+        Item item2 = itemRepository.save(new Item("lru2", 10000, 10));
+        Item item3 = itemRepository.save(new Item("lru3", 10000, 10));
+        render(small, item1);
+        render(small, item2);
+        render(small, item1);
+
+        //when item2 가 가장 오래 쓰지 않은 화면
+        render(small, item3);
+        long hits = small.getHitCount();
+        render(small, item1);
+        render(small, item2);
+
+        //then
+        assertThat(small.size()).isEqualTo(2);
+        assertThat(small.getHitCount()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    void evictOverByteLimit() throws Exception {
+        //given 화면 하나 크기만큼만 담는 캐시
+        Item item1 = itemRepository.save(new Item("bytes1", 10000, 10));
+        Item item2 = itemRepository.save(new Item("bytes2", 10000, 10));
+        RenderedPageCacheFilter small = new RenderedPageCacheFilter(
+                itemRepository, new AcceptHeaderLocaleResolver(), 100, PAGE.length());
+
+        //when
+        render(small, item1);
+        render(small, item2);
+
+        //then
+        assertThat(small.size()).isEqualTo(1);
+        assertThat(small.byteSize()).isEqualTo(PAGE.length());
+    }
+
+    private static final String PAGE = "<html>item</html>";
+
+    private static void render(RenderedPageCacheFilter filter, Item item) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/validation/v3/items/" + item.getId());
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType("text/html;charset=UTF-8");
+                resp.getWriter().write(PAGE);
+            }
+        });
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+    }
+}
@@ -0,0 +1,118 @@
+package hello.itemservice.web.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RequestMetricsTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Test
+    void validationErrorCounters() throws Exception {
+        //given
+        double before = count("required", "itemName");
+
+        //when
+        mockMvc.perform(post("/validation/v2/items/add")
+                        .param("itemName", "")
+                        .param("price", "100")
+                        .param("quantity", "1"))
+                .andExpect(status().isOk());
+
+        //then
+        assertThat(count("required", "itemName")).isEqualTo(before + 1);
+        assertThat(count("range", "price")).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void globalErrorCounter() throws Exception {
+        //given 가격, 수량 검증을 통과해야 글로벌 검증을 한다.
+        double before = count("totalPriceMin", "global");
+
+        //when
+        mockMvc.perform(post("/validation/v2/items/add")
+                        .param("itemName", "itemA")
+                        .param("price", "1000")
+                        .param("quantity", "1"))
+                .andExpect(status().isOk());
+
+        //then
+        assertThat(count("totalPriceMin", "global")).isEqualTo(before + 1);
+    }
+
+    @Test
+    void v1ErrorCounters() throws Exception {
+        //given V1 은 BindingResult 대신 Map 에 오류를 모은다.
+        double before = count("max", "quantity");
+
+        //when
+        mockMvc.perform(post("/validation/v1/items/add")
+                        .param("itemName", "")
+                        .param("price", "100")
+                        .param("quantity", "10000"))
+                .andExpect(status().isOk());
+
+        //then
+        assertThat(count("max", "quantity")).isEqualTo(before + 1);
+        assertThat(count("required", "itemName")).isGreaterThanOrEqualTo(1);
+        assertThat(count("range", "price")).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void typeMismatchCounter() throws Exception {
+        mockMvc.perform(post("/validation/v3/items/add")
+                        .param("itemName", "itemA")
+                        .param("price", "abc")
+                        .param("quantity", "10"))
+                .andExpect(status().isOk());
+
+        assertThat(count("typeMismatch", "price")).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void phaseTimers() throws Exception {
+        mockMvc.perform(post("/validation/v3/items/add")
+                        .param("itemName", "itemA")
+                        .param("price", "10000")
+                        .param("quantity", "10"))
+                .andExpect(status().is3xxRedirection());
+
+        String handler = "ValidationItemControllerV3#addItem";
+        assertThat(phase("binding", handler).count()).isGreaterThanOrEqualTo(1);
+        assertThat(phase("validation", handler).count()).isGreaterThanOrEqualTo(1);
+        assertThat(phase("repository", handler).count()).isGreaterThanOrEqualTo(1);
+        assertThat(registry.get("item.repository").tag("op", "save").timer().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void viewTimer() throws Exception {
+        mockMvc.perform(get("/validation/v3/items"))
+                .andExpect(status().isOk());
+
+        assertThat(phase("view", "ValidationItemControllerV3#items").count()).isGreaterThanOrEqualTo(1);
+    }
+
+    private double count(String code, String field) {
+        var counter = registry.find("item.validation.errors").tag("code", code).tag("field", field).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private Timer phase(String phase, String handler) {
+        return registry.get("item.request.phase").tag("phase", phase).tag("handler", handler).timer();
+    }
+}
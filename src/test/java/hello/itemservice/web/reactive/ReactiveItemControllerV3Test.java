@@ -0,0 +1,93 @@
+package hello.itemservice.web.reactive;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReactiveItemControllerV3Test {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Test
+    void streamJsonLines() throws Exception {
+        //given 한 번에 읽는 개수보다 많은 상품
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ReactiveItemControllerV3.BATCH_SIZE * 2 + 1; i++) {
+            items.add(new Item("streamItem" + i, 10000, 10));
+        }
+        itemRepository.saveAll(items);
+
+        //when
+        MvcResult result = mockMvc.perform(get("/reactive/v3/items/stream").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        //then
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(itemRepository.findAll().size());
+        assertThat(lines[lines.length - 1]).contains("streamItem" + (items.size() - 1));
+    }
+
+    @Test
+    void itemsHtml() throws Exception {
+        mockMvc.perform(get("/reactive/v3/items"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("itemA")));
+    }
+
+    @Test
+    void addItemValidationFail() throws Exception {
+        //when
+        MvcResult started = mockMvc.perform(post("/reactive/v3/items/add")
+                        .param("itemName", "")
+                        .param("price", "100")
+                        .param("quantity", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(view().name("reactive/v3/addForm"))
+                .andExpect(model().attributeHasFieldErrorCode("item", "itemName", "NotBlank"))
+                .andExpect(model().attributeHasFieldErrorCode("item", "price", "Range"));
+    }
+
+    @Test
+    void addItem() throws Exception {
+        //when
+        MvcResult started = mockMvc.perform(post("/reactive/v3/items/add")
+                        .param("itemName", "reactiveItem")
+                        .param("price", "10000")
+                        .param("quantity", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        String redirectedUrl = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().is3xxRedirection())
+                .andReturn().getResponse().getRedirectedUrl();
+        assertThat(redirectedUrl).startsWith("/reactive/v3/items/").endsWith("status=true");
+        assertThat(itemRepository.findByItemNamePrefix("reactiveItem", 10)).hasSize(1);
+    }
+}
@@ -0,0 +1,107 @@
+package hello.itemservice.web.shard;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.shard.RemoteItemStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"item.shard.server.enabled=true", "item.shard.token=test-token"})
+@AutoConfigureMockMvc
+class ShardItemControllerTest {
+
+    private static final String ITEMS = "[{\"id\":1000,\"version\":3,\"itemName\":\"shardItem\",\"price\":10000,\"quantity\":10}]";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Test
+    void rejectWithoutToken() throws Exception {
+        mockMvc.perform(delete("/internal/shard/items"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/internal/shard/items")
+                        .header(RemoteItemStore.TOKEN_HEADER, "wrong-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ITEMS.replace("1000", "2000")))
+                .andExpect(status().isUnauthorized());
+        assertThat(itemRepository.findById(2000L)).isNull();
+    }
+
+    @Test
+    void putThroughRepository() throws Exception {
+        //given
+        long storeVersion = itemRepository.getStoreVersion();
+
+        //when
+        mockMvc.perform(post("/internal/shard/items")
+                        .header(RemoteItemStore.TOKEN_HEADER, "test-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ITEMS))
+                .andExpect(status().isOk());
+
+        //then id, version 은 그대로 두고, 이 인스턴스의 변경 횟수(목록 화면 캐시)가 바뀐다.
+        assertThat(itemRepository.findById(1000L).getVersion()).isEqualTo(3L);
+        assertThat(itemRepository.getStoreVersion()).isGreaterThan(storeVersion);
+        mockMvc.perform(get("/internal/shard/items/max-id").header(RemoteItemStore.TOKEN_HEADER, "test-token"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("1000"));
+    }
+
+    @Test
+    void rejectOverwrite() throws Exception {
+        //given
+        String items = "[{\"id\":300,\"version\":1,\"itemName\":\"shardItem\",\"price\":10000,\"quantity\":10}]";
+        mockMvc.perform(post("/internal/shard/items")
+                        .header(RemoteItemStore.TOKEN_HEADER, "test-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(items))
+                .andExpect(status().isOk());
+
+        //when, then 같은 id 를 다시 저장하면 덮어쓰지 않는다.
+        mockMvc.perform(post("/internal/shard/items")
+                        .header(RemoteItemStore.TOKEN_HEADER, "test-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(items.replace("shardItem", "overwritten")))
+                .andExpect(status().isConflict());
+        assertThat(itemRepository.findById(300L).getItemName()).isEqualTo("shardItem");
+    }
+
+    @Test
+    void reserveIdBlocks() throws Exception {
+        //given
+        mockMvc.perform(post("/internal/shard/items/id-block?start=5001&size=100")
+                        .header(RemoteItemStore.TOKEN_HEADER, "test-token"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("5100"));
+
+        //when, then 예약된 블록과 겹치면 409 와 지금까지 내어 준 가장 큰 id
+        mockMvc.perform(post("/internal/shard/items/id-block?start=5050&size=100")
+                        .header(RemoteItemStore.TOKEN_HEADER, "test-token"))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("5100"));
+        mockMvc.perform(post("/internal/shard/items/id-block?start=5101&size=100")
+                        .header(RemoteItemStore.TOKEN_HEADER, "test-token"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void rejectLocalCreate() {
+        assertThatThrownBy(() -> itemRepository.save(new Item("local", 10000, 10)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> itemRepository.saveAll(List.of(new Item("local", 10000, 10))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,49 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ValidationItemControllerV3Test {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Test
+    void allItemsStreamAndList() throws Exception {
+        //given 한 번에 읽는 개수보다 많은 상품
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ItemRepository.MAX_PAGE_SIZE * 2 + 1; i++) {
+            items.add(new Item("allItem" + i, 10000, 10));
+        }
+        itemRepository.saveAll(items);
+
+        //when
+        String stream = mockMvc.perform(get("/validation/v3/items/all"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String list = mockMvc.perform(get("/validation/v3/items/all").param("stream", "false"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        //then
+        assertThat(stream).contains("allItem0", "allItem" + (items.size() - 1));
+        assertThat(stream).isEqualTo(list);
+    }
+}
@@ -0,0 +1,76 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.validation.BindingResult;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ValidationItemGroupControllerV3Test {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Test
+    void addItemSaveCheck() throws Exception {
+        mockMvc.perform(post("/validation/v3/groups/items/add")
+                        .param("itemName", "")
+                        .param("price", "100")
+                        .param("quantity", "10000"))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeHasFieldErrorCode("item", "itemName", "NotBlank"))
+                .andExpect(model().attributeHasFieldErrorCode("item", "price", "Range"))
+                .andExpect(model().attributeHasFieldErrorCode("item", "quantity", "Max"));
+    }
+
+    @Test
+    void addItemGlobalError() throws Exception {
+        MvcResult result = mockMvc.perform(post("/validation/v3/groups/items/add")
+                        .param("itemName", "groupItem")
+                        .param("price", "1000")
+                        .param("quantity", "1"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        BindingResult bindingResult = (BindingResult) result.getModelAndView().getModel()
+                .get(BindingResult.MODEL_KEY_PREFIX + "item");
+        assertThat(bindingResult.getGlobalError().getCode()).isEqualTo("totalPriceMin");
+    }
+
+    @Test
+    void editItemUpdateCheck() throws Exception {
+        //given
+        Item savedItem = itemRepository.save(new Item("groupItem", 10000, 10));
+
+        //when 수정은 수량 상한이 없고 id 가 필수
+        mockMvc.perform(post("/validation/v3/groups/items/{itemId}/edit", savedItem.getId())
+                        .param("itemName", "groupItem")
+                        .param("price", "10000")
+                        .param("quantity", "10000"))
+                .andExpect(model().attributeHasFieldErrorCode("item", "id", "NotNull"));
+
+        mockMvc.perform(post("/validation/v3/groups/items/{itemId}/edit", savedItem.getId())
+                        .param("id", String.valueOf(savedItem.getId()))
+                        .param("itemName", "groupItem")
+                        .param("price", "10000")
+                        .param("quantity", "10000")
+                        .param("version", "1"))
+                .andExpect(status().is3xxRedirection());
+
+        //then
+        assertThat(itemRepository.findById(savedItem.getId()).getQuantity()).isEqualTo(10000);
+    }
+}